@@ -0,0 +1,214 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit.benchmarks;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.jboss.weld.junit5.WeldJunit5Extension;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExecutableInvoker;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.TestInstances;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+/**
+ * A minimal {@link ExtensionContext} of a single test method, so that the callbacks of {@link WeldJunit5Extension} can be
+ * invoked outside of the JUnit engine. It is not thread-safe and supports only what the extension needs for parameter
+ * resolution.
+ */
+final class BenchmarkExtensionContext implements ExtensionContext {
+
+    private final Class<?> testClass;
+    private final Object testInstance;
+    private final Method testMethod;
+    private final Map<Namespace, Store> stores = new HashMap<>();
+
+    BenchmarkExtensionContext(Object testInstance, Method testMethod) {
+        this.testClass = testInstance.getClass();
+        this.testInstance = testInstance;
+        this.testMethod = testMethod;
+    }
+
+    @Override
+    public Optional<ExtensionContext> getParent() {
+        return Optional.empty();
+    }
+
+    @Override
+    public ExtensionContext getRoot() {
+        return this;
+    }
+
+    @Override
+    public String getUniqueId() {
+        return "[engine:benchmark]/[class:" + testClass.getName() + "]/[method:" + testMethod.getName() + "()]";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return testMethod.getName() + "()";
+    }
+
+    @Override
+    public Set<String> getTags() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Optional<AnnotatedElement> getElement() {
+        return Optional.of(testMethod);
+    }
+
+    @Override
+    public Optional<Class<?>> getTestClass() {
+        return Optional.of(testClass);
+    }
+
+    @Override
+    public Optional<Lifecycle> getTestInstanceLifecycle() {
+        return Optional.of(Lifecycle.PER_METHOD);
+    }
+
+    @Override
+    public Optional<Object> getTestInstance() {
+        return Optional.of(testInstance);
+    }
+
+    @Override
+    public Optional<TestInstances> getTestInstances() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Method> getTestMethod() {
+        return Optional.of(testMethod);
+    }
+
+    @Override
+    public Optional<Throwable> getExecutionException() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<String> getConfigurationParameter(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public <T> Optional<T> getConfigurationParameter(String key, Function<String, T> transformer) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void publishReportEntry(Map<String, String> map) {
+    }
+
+    @Override
+    public Store getStore(Namespace namespace) {
+        return stores.computeIfAbsent(namespace, key -> new MapStore());
+    }
+
+    @Override
+    public ExecutionMode getExecutionMode() {
+        return ExecutionMode.SAME_THREAD;
+    }
+
+    @Override
+    public ExecutableInvoker getExecutableInvoker() {
+        return new ReflectionExecutableInvoker();
+    }
+
+    /**
+     * There are no parameter resolvers outside of the engine, so only executables without parameters can be invoked.
+     */
+    private static final class ReflectionExecutableInvoker implements ExecutableInvoker {
+
+        @Override
+        public Object invoke(Method method, Object target) {
+            checkParameters(method, 0);
+            return ReflectionSupport.invokeMethod(method, target);
+        }
+
+        @Override
+        public <T> T invoke(Constructor<T> constructor, Object outerInstance) {
+            // the outer instance is the implicit first parameter of the constructor of an inner class
+            Object[] arguments = outerInstance != null ? new Object[] { outerInstance } : new Object[0];
+            checkParameters(constructor, arguments.length);
+            return ReflectionSupport.newInstance(constructor.getDeclaringClass(), arguments);
+        }
+
+        private static void checkParameters(Executable executable, int arguments) {
+            if (executable.getParameterCount() > arguments) {
+                throw new ParameterResolutionException("No ParameterResolver registered for the parameters of " + executable);
+            }
+        }
+
+    }
+
+    private static final class MapStore implements Store {
+
+        private final Map<Object, Object> values = new HashMap<>();
+
+        @Override
+        public Object get(Object key) {
+            return values.get(key);
+        }
+
+        @Override
+        public <V> V get(Object key, Class<V> requiredType) {
+            return requiredType.cast(values.get(key));
+        }
+
+        @Override
+        public <K, V> Object getOrComputeIfAbsent(K key, Function<K, V> defaultCreator) {
+            return values.computeIfAbsent(key, k -> defaultCreator.apply(key));
+        }
+
+        @Override
+        public <K, V> V getOrComputeIfAbsent(K key, Function<K, V> defaultCreator, Class<V> requiredType) {
+            return requiredType.cast(getOrComputeIfAbsent(key, defaultCreator));
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return values.remove(key);
+        }
+
+        @Override
+        public <V> V remove(Object key, Class<V> requiredType) {
+            return requiredType.cast(values.remove(key));
+        }
+
+    }
+
+}
@@ -0,0 +1,338 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes a class file with fields, methods and annotations, just enough to generate bean classes, annotation types and
+ * interceptors at runtime. The class files target Java 11 and no stack map frames are written, so method bodies must not
+ * branch.
+ */
+final class ClassFileWriter {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_PRIVATE = 0x0002;
+    static final int ACC_SUPER = 0x0020;
+    static final int ACC_INTERFACE = 0x0200;
+    static final int ACC_ABSTRACT = 0x0400;
+    static final int ACC_ANNOTATION = 0x2000;
+
+    private static final int MAJOR_VERSION = 55;
+
+    private final ByteArrayOutputStream constants = new ByteArrayOutputStream();
+    private final Map<String, Integer> constantIndexes = new HashMap<>();
+    private int constantCount = 1;
+
+    private final ByteArrayOutputStream fields = new ByteArrayOutputStream();
+    private int fieldCount;
+
+    private final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+    private int methodCount;
+
+    private final int access;
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+    private Annotation[] annotations = new Annotation[0];
+
+    /**
+     *
+     * @param access
+     * @param name the internal name, e.g. {@code org/acme/Foo}
+     * @param superName the internal name of the superclass
+     * @param interfaceNames the internal names of the implemented interfaces
+     */
+    ClassFileWriter(int access, String name, String superName, String... interfaceNames) {
+        this.access = access;
+        this.thisClass = classRef(name);
+        this.superClass = classRef(superName);
+        this.interfaces = new int[interfaceNames.length];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaces[i] = classRef(interfaceNames[i]);
+        }
+    }
+
+    void annotate(Annotation... annotations) {
+        this.annotations = annotations;
+    }
+
+    void addField(int access, String name, String descriptor, Annotation... annotations) {
+        write(fields, out -> {
+            out.writeShort(access);
+            out.writeShort(utf8(name));
+            out.writeShort(utf8(descriptor));
+            writeAttributes(out, null, annotations);
+        });
+        fieldCount++;
+    }
+
+    /**
+     *
+     * @param access
+     * @param name
+     * @param descriptor
+     * @param maxStack
+     * @param maxLocals
+     * @param code the bytecode or {@code null} for an abstract method
+     * @param annotations
+     */
+    void addMethod(int access, String name, String descriptor, int maxStack, int maxLocals, byte[] code,
+            Annotation... annotations) {
+        write(methods, out -> {
+            out.writeShort(access);
+            out.writeShort(utf8(name));
+            out.writeShort(utf8(descriptor));
+            writeAttributes(out, code != null ? codeAttribute(maxStack, maxLocals, code) : null, annotations);
+        });
+        methodCount++;
+    }
+
+    /**
+     * Adds a public constructor without parameters invoking the one of {@link Object}.
+     */
+    void addDefaultConstructor() {
+        int objectInit = methodRef("java/lang/Object", "<init>", "()V");
+        addMethod(ACC_PUBLIC, "<init>", "()V", 1, 1, new byte[] {
+                0x2a, // aload_0
+                (byte) 0xb7, (byte) (objectInit >> 8), (byte) objectInit, // invokespecial Object.<init>
+                (byte) 0xb1 // return
+        });
+    }
+
+    /**
+     * Adds a method without parameters returning a new instance of the given class, which must have a public constructor
+     * without parameters.
+     *
+     * @param access
+     * @param name
+     * @param type the internal name of the returned class
+     * @param annotations
+     */
+    void addFactoryMethod(int access, String name, String type, Annotation... annotations) {
+        int typeIndex = classRef(type);
+        int typeInit = methodRef(type, "<init>", "()V");
+        addMethod(access, name, "()L" + type + ';', 2, 1, new byte[] {
+                (byte) 0xbb, (byte) (typeIndex >> 8), (byte) typeIndex, // new
+                0x59, // dup
+                (byte) 0xb7, (byte) (typeInit >> 8), (byte) typeInit, // invokespecial <init>
+                (byte) 0xb0 // areturn
+        }, annotations);
+    }
+
+    int utf8(String value) {
+        return constant("U" + value, out -> {
+            out.writeByte(1);
+            out.writeUTF(value);
+        });
+    }
+
+    int classRef(String internalName) {
+        int name = utf8(internalName);
+        return constant("C" + internalName, out -> {
+            out.writeByte(7);
+            out.writeShort(name);
+        });
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+        int ownerIndex = classRef(owner);
+        int nameAndType = nameAndType(name, descriptor);
+        return constant("M" + owner + '.' + name + descriptor, out -> {
+            out.writeByte(10);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndType);
+        });
+    }
+
+    int interfaceMethodRef(String owner, String name, String descriptor) {
+        int ownerIndex = classRef(owner);
+        int nameAndType = nameAndType(name, descriptor);
+        return constant("I" + owner + '.' + name + descriptor, out -> {
+            out.writeByte(11);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndType);
+        });
+    }
+
+    int integer(int value) {
+        return constant("i" + value, out -> {
+            out.writeByte(3);
+            out.writeInt(value);
+        });
+    }
+
+    byte[] toByteArray() {
+        ByteArrayOutputStream classAttributes = new ByteArrayOutputStream();
+        // adds the constants of the attributes before the constant pool is written
+        write(classAttributes, out -> writeAttributes(out, null, annotations));
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        write(result, out -> {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(MAJOR_VERSION);
+            out.writeShort(constantCount);
+            constants.writeTo(out);
+            out.writeShort(access);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+            for (int index : interfaces) {
+                out.writeShort(index);
+            }
+            out.writeShort(fieldCount);
+            fields.writeTo(out);
+            out.writeShort(methodCount);
+            methods.writeTo(out);
+            classAttributes.writeTo(out);
+        });
+        return result.toByteArray();
+    }
+
+    private int nameAndType(String name, String descriptor) {
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        return constant("N" + name + ':' + descriptor, out -> {
+            out.writeByte(12);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+        });
+    }
+
+    private int constant(String key, Content entry) {
+        Integer index = constantIndexes.get(key);
+        if (index == null) {
+            write(constants, entry);
+            index = constantCount++;
+            constantIndexes.put(key, index);
+        }
+        return index;
+    }
+
+    private byte[] codeAttribute(int maxStack, int maxLocals, byte[] code) {
+        ByteArrayOutputStream attribute = new ByteArrayOutputStream();
+        write(attribute, out -> {
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.length);
+            out.write(code);
+            // no exception table and no attributes
+            out.writeShort(0);
+            out.writeShort(0);
+        });
+        return attribute.toByteArray();
+    }
+
+    private void writeAttributes(DataOutputStream out, byte[] code, Annotation[] annotations) throws IOException {
+        out.writeShort((code != null ? 1 : 0) + (annotations.length > 0 ? 1 : 0));
+        if (code != null) {
+            out.writeShort(utf8("Code"));
+            out.writeInt(code.length);
+            out.write(code);
+        }
+        if (annotations.length > 0) {
+            ByteArrayOutputStream attribute = new ByteArrayOutputStream();
+            write(attribute, annotationsOut -> {
+                annotationsOut.writeShort(annotations.length);
+                for (Annotation annotation : annotations) {
+                    annotation.write(this, annotationsOut);
+                }
+            });
+            out.writeShort(utf8("RuntimeVisibleAnnotations"));
+            out.writeInt(attribute.size());
+            attribute.writeTo(out);
+        }
+    }
+
+    private static void write(ByteArrayOutputStream target, Content content) {
+        try {
+            content.write(new DataOutputStream(target));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * An annotation with at most one element, which is either an enum constant or an int.
+     */
+    static final class Annotation {
+
+        private final String descriptor;
+        private final String elementName;
+        private final String enumDescriptor;
+        private final String enumConstant;
+        private final Integer intValue;
+
+        private Annotation(String descriptor, String elementName, String enumDescriptor, String enumConstant,
+                Integer intValue) {
+            this.descriptor = descriptor;
+            this.elementName = elementName;
+            this.enumDescriptor = enumDescriptor;
+            this.enumConstant = enumConstant;
+            this.intValue = intValue;
+        }
+
+        /**
+         *
+         * @param descriptor e.g. {@code Ljakarta/enterprise/context/Dependent;}
+         * @return an annotation without elements
+         */
+        static Annotation of(String descriptor) {
+            return new Annotation(descriptor, null, null, null, null);
+        }
+
+        static Annotation of(String descriptor, String elementName, String enumDescriptor, String enumConstant) {
+            return new Annotation(descriptor, elementName, enumDescriptor, enumConstant, null);
+        }
+
+        static Annotation of(String descriptor, String elementName, int value) {
+            return new Annotation(descriptor, elementName, null, null, value);
+        }
+
+        private void write(ClassFileWriter writer, DataOutputStream out) throws IOException {
+            out.writeShort(writer.utf8(descriptor));
+            if (elementName == null) {
+                out.writeShort(0);
+                return;
+            }
+            out.writeShort(1);
+            out.writeShort(writer.utf8(elementName));
+            if (intValue != null) {
+                out.writeByte('I');
+                out.writeShort(writer.integer(intValue));
+            } else {
+                out.writeByte('e');
+                out.writeShort(writer.utf8(enumDescriptor));
+                out.writeShort(writer.utf8(enumConstant));
+            }
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface Content {
+
+        void write(DataOutputStream out) throws IOException;
+
+    }
+
+}
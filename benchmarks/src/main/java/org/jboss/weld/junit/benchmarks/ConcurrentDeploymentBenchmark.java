@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.junit.AdaptiveWeld;
+import org.jboss.weld.junit5.BenchmarkSupport;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the boot of deployments with sequential and concurrent deployment, to find the number of bean classes from which
+ * on {@link AdaptiveWeld#CONCURRENT_DEPLOYMENT_THRESHOLD} pays off on a given machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentDeploymentBenchmark {
+
+    @Param({ "100", "1000", "3000" })
+    public int beans;
+
+    @Param({ "false", "true" })
+    public boolean concurrent;
+
+    private Class<?>[] beanClasses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        beanClasses = SyntheticDeployment.builder().beans(beans).build().getBeanClasses().toArray(new Class<?>[0]);
+        if (concurrent) {
+            System.setProperty(AdaptiveWeld.CONCURRENT_DEPLOYMENT_THRESHOLD, "1");
+        } else {
+            System.clearProperty(AdaptiveWeld.CONCURRENT_DEPLOYMENT_THRESHOLD);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.clearProperty(AdaptiveWeld.CONCURRENT_DEPLOYMENT_THRESHOLD);
+    }
+
+    @Benchmark
+    public void bootAndShutdown() {
+        WeldInitiator initiator = WeldInitiator.of(beanClasses);
+        BenchmarkSupport.initWeld(initiator, this);
+        BenchmarkSupport.shutdownWeld(initiator);
+    }
+
+}
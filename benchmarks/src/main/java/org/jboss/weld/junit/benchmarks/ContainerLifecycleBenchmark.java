@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.junit5.BenchmarkSupport;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Boots and shuts down a container of {@code WeldInitiator.of(beans)} the way each of the extensions does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerLifecycleBenchmark {
+
+    public enum Framework {
+        JUNIT4,
+        JUNIT5,
+        SPOCK
+    }
+
+    private static final Statement EMPTY_STATEMENT = new Statement() {
+        @Override
+        public void evaluate() {
+        }
+    };
+
+    @Param({ "JUNIT4", "JUNIT5", "SPOCK" })
+    public Framework framework;
+
+    @Param({ "1", "10", "100", "1000" })
+    public int beans;
+
+    private Class<?>[] beanClasses;
+
+    private Description description;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        beanClasses = SyntheticDeployment.builder().beans(beans).build().getBeanClasses().toArray(new Class<?>[0]);
+        description = Description.createTestDescription(ContainerLifecycleBenchmark.class, "bootAndShutdown");
+    }
+
+    @Benchmark
+    public void bootAndShutdown() throws Throwable {
+        switch (framework) {
+            case JUNIT4:
+                org.jboss.weld.junit4.WeldInitiator.of(beanClasses).apply(EMPTY_STATEMENT, description).evaluate();
+                break;
+            case JUNIT5:
+                org.jboss.weld.junit5.WeldInitiator junit5Initiator = org.jboss.weld.junit5.WeldInitiator.of(beanClasses);
+                BenchmarkSupport.initWeld(junit5Initiator, this);
+                BenchmarkSupport.shutdownWeld(junit5Initiator);
+                break;
+            case SPOCK:
+                org.jboss.weld.spock.WeldInitiator spockInitiator = org.jboss.weld.spock.WeldInitiator.of(beanClasses);
+                spockInitiator.initWeld(this);
+                spockInitiator.shutdownWeld();
+                break;
+            default:
+                throw new IllegalStateException("Unknown framework: " + framework);
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.junit5.BenchmarkSupport;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Injects a test instance non-contextually and releases it again, the instance injects a tree of {@code @Dependent} beans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectNonContextualBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int beans;
+
+    private WeldInitiator initiator;
+
+    private Object testInstance;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        SyntheticDeployment deployment = SyntheticDeployment.builder().beans(beans).build();
+        initiator = WeldInitiator.of(deployment.getBeanClasses().toArray(new Class<?>[0]));
+        BenchmarkSupport.initWeld(initiator, this);
+        testInstance = deployment.getTestClass().getConstructor().newInstance();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkSupport.shutdownWeld(initiator);
+    }
+
+    @Benchmark
+    public void injectNonContextual(Blackhole blackhole) throws Exception {
+        try (AutoCloseable releaser = initiator.injectNonContextual(testInstance)) {
+            blackhole.consume(releaser);
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.inject.literal.NamedLiteral;
+import jakarta.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.junit.MockBean;
+import org.jboss.weld.junit5.BenchmarkSupport;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Boots and shuts down a container with a number of {@link MockBean}s, which are registered by the {@code WeldCDIExtension}.
+ * Compare with {@code mockBeans=0} to get the cost of the registration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockBeanBenchmark {
+
+    @Param({ "0", "10", "100" })
+    public int mockBeans;
+
+    private Class<?>[] beanClasses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        beanClasses = SyntheticDeployment.builder().beans(10).build().getBeanClasses().toArray(new Class<?>[0]);
+    }
+
+    @Benchmark
+    public void bootAndShutdown() {
+        Bean<?>[] beans = new Bean<?>[mockBeans];
+        for (int i = 0; i < mockBeans; i++) {
+            beans[i] = MockBean.builder()
+                    .types(String.class)
+                    .qualifiers(NamedLiteral.of("mock" + i))
+                    .creating("mock" + i)
+                    .build();
+        }
+        WeldInitiator initiator = WeldInitiator.from(beanClasses).addBeans(beans).build();
+        BenchmarkSupport.initWeld(initiator, this);
+        BenchmarkSupport.shutdownWeld(initiator);
+    }
+
+}
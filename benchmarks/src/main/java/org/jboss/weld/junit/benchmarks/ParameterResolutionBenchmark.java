@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Named;
+
+import org.jboss.weld.junit5.BenchmarkSupport;
+import org.jboss.weld.junit5.ExtensionContextUtils;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldJunit5Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolves a parameter of a test method through {@link WeldJunit5Extension}, i.e. {@code supportsParameter} followed by
+ * {@code resolveParameter} as done by the JUnit engine for each invocation of a test method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterResolutionBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean qualified;
+
+    private final WeldJunit5Extension extension = new WeldJunit5Extension();
+
+    private WeldInitiator initiator;
+
+    private ExtensionContext extensionContext;
+
+    private ParameterContext parameterContext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        initiator = WeldInitiator.of(ResolvedBean.class, NamedBean.class);
+        Method testMethod = ParameterResolutionBenchmark.class.getMethod("testMethod", ResolvedBean.class,
+                NamedBean.class);
+        extensionContext = new BenchmarkExtensionContext(this, testMethod);
+        ExtensionContextUtils.setContainerToStore(extensionContext, BenchmarkSupport.initWeld(initiator, this));
+        int index = qualified ? 1 : 0;
+        parameterContext = new BenchmarkParameterContext(testMethod.getParameters()[index], index, this);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkSupport.shutdownWeld(initiator);
+    }
+
+    @Benchmark
+    public Object resolveParameter() {
+        if (!extension.supportsParameter(parameterContext, extensionContext)) {
+            throw new IllegalStateException("Parameter not supported: " + parameterContext.getParameter());
+        }
+        return extension.resolveParameter(parameterContext, extensionContext);
+    }
+
+    public void testMethod(ResolvedBean resolvedBean, @Named("named") NamedBean namedBean) {
+    }
+
+    @ApplicationScoped
+    public static class ResolvedBean {
+    }
+
+    @Named("named")
+    @ApplicationScoped
+    public static class NamedBean {
+    }
+
+}
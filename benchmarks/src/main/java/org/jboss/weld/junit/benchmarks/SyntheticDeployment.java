@@ -0,0 +1,315 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit.benchmarks;
+
+import static org.jboss.weld.junit.benchmarks.ClassFileWriter.ACC_ABSTRACT;
+import static org.jboss.weld.junit.benchmarks.ClassFileWriter.ACC_ANNOTATION;
+import static org.jboss.weld.junit.benchmarks.ClassFileWriter.ACC_INTERFACE;
+import static org.jboss.weld.junit.benchmarks.ClassFileWriter.ACC_PUBLIC;
+import static org.jboss.weld.junit.benchmarks.ClassFileWriter.ACC_SUPER;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.context.Dependent;
+
+/**
+ * A deployment of bean classes generated at runtime, to measure how the extensions scale with the size of a deployment.
+ *
+ * <p>
+ * The beans form a tree rooted at the first bean: bean {@code i} injects the beans {@code i * fanOut + 1} to
+ * {@code i * fanOut + fanOut} through {@code @Inject} fields. Optionally, the beans are distributed round-robin over a
+ * number of generated qualifiers, interceptor bindings and the given scopes, and each bean declares a producer method of a
+ * type of its own, which is injected next to the bean itself. Each bean has a business method {@code ping()}.
+ * </p>
+ *
+ * <p>
+ * The classes are defined in this package and never unloaded, a deployment of a given shape is generated once per JVM.
+ * {@link #getBeanClasses()} can be passed to {@code WeldInitiator.of(...)} and {@link #getTestClass()} to the class
+ * scanning of the automagic extensions.
+ * </p>
+ */
+public final class SyntheticDeployment {
+
+    private static final String PACKAGE = SyntheticDeployment.class.getPackageName().replace('.', '/') + '/';
+    private static final String OBJECT = "java/lang/Object";
+    private static final String INVOCATION_CONTEXT = "jakarta/interceptor/InvocationContext";
+
+    private static final ClassFileWriter.Annotation INJECT = ClassFileWriter.Annotation.of("Ljakarta/inject/Inject;");
+    private static final ClassFileWriter.Annotation PRODUCES = ClassFileWriter.Annotation
+            .of("Ljakarta/enterprise/inject/Produces;");
+    private static final ClassFileWriter.Annotation QUALIFIER = ClassFileWriter.Annotation.of("Ljakarta/inject/Qualifier;");
+    private static final ClassFileWriter.Annotation INTERCEPTOR_BINDING = ClassFileWriter.Annotation
+            .of("Ljakarta/interceptor/InterceptorBinding;");
+    private static final ClassFileWriter.Annotation INTERCEPTOR = ClassFileWriter.Annotation
+            .of("Ljakarta/interceptor/Interceptor;");
+    private static final ClassFileWriter.Annotation AROUND_INVOKE = ClassFileWriter.Annotation
+            .of("Ljakarta/interceptor/AroundInvoke;");
+    private static final ClassFileWriter.Annotation RUNTIME_RETENTION = ClassFileWriter.Annotation.of(
+            "Ljava/lang/annotation/Retention;", "value", "Ljava/lang/annotation/RetentionPolicy;", "RUNTIME");
+
+    private static final Map<String, SyntheticDeployment> DEPLOYMENTS = new ConcurrentHashMap<>();
+    private static final AtomicInteger DEPLOYMENT_COUNTER = new AtomicInteger();
+
+    private final List<Class<?>> beanClasses;
+    private final List<Class<?>> interceptorClasses;
+    private final Class<?> testClass;
+
+    private SyntheticDeployment(List<Class<?>> beanClasses, List<Class<?>> interceptorClasses, Class<?> testClass) {
+        this.beanClasses = beanClasses;
+        this.interceptorClasses = interceptorClasses;
+        this.testClass = testClass;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     *
+     * @return the bean classes, the root bean first, followed by the interceptors
+     */
+    public List<Class<?>> getBeanClasses() {
+        return beanClasses;
+    }
+
+    /**
+     *
+     * @return the interceptor classes, they are enabled through {@code @Priority}
+     */
+    public List<Class<?>> getInterceptorClasses() {
+        return interceptorClasses;
+    }
+
+    /**
+     *
+     * @return a class which is not a bean itself and injects the root bean, e.g. a test class
+     */
+    public Class<?> getTestClass() {
+        return testClass;
+    }
+
+    public static final class Builder {
+
+        private int beans = 10;
+        private int fanOut = 2;
+        private int qualifiers;
+        private int interceptors;
+        private boolean producers;
+        private List<Class<? extends Annotation>> scopes = List.of(Dependent.class);
+
+        private Builder() {
+        }
+
+        /**
+         *
+         * @param beans the number of beans, at least 1
+         * @return self
+         */
+        public Builder beans(int beans) {
+            this.beans = beans;
+            return this;
+        }
+
+        /**
+         *
+         * @param fanOut the number of beans injected by each bean
+         * @return self
+         */
+        public Builder fanOut(int fanOut) {
+            this.fanOut = fanOut;
+            return this;
+        }
+
+        /**
+         *
+         * @param qualifiers the number of qualifiers to distribute the beans over, {@code 0} for none
+         * @return self
+         */
+        public Builder qualifiers(int qualifiers) {
+            this.qualifiers = qualifiers;
+            return this;
+        }
+
+        /**
+         *
+         * @param interceptors the number of interceptors to distribute the beans over, {@code 0} for none
+         * @return self
+         */
+        public Builder interceptors(int interceptors) {
+            this.interceptors = interceptors;
+            return this;
+        }
+
+        /**
+         *
+         * @param producers whether each bean declares a producer method
+         * @return self
+         */
+        public Builder producers(boolean producers) {
+            this.producers = producers;
+            return this;
+        }
+
+        /**
+         * Normal scoped beans are proxied, so their fields are never public.
+         *
+         * @param scopes the scopes to distribute the beans over
+         * @return self
+         */
+        @SafeVarargs
+        public final Builder scopes(Class<? extends Annotation>... scopes) {
+            this.scopes = List.of(scopes);
+            return this;
+        }
+
+        /**
+         *
+         * @return the deployment of this shape, generated on first use
+         */
+        public SyntheticDeployment build() {
+            if (beans < 1 || fanOut < 0 || qualifiers < 0 || interceptors < 0 || scopes.isEmpty()) {
+                throw new IllegalArgumentException("Invalid deployment shape: " + this);
+            }
+            return DEPLOYMENTS.computeIfAbsent(toString(), shape -> generate(this));
+        }
+
+        @Override
+        public String toString() {
+            return "beans=" + beans + ", fanOut=" + fanOut + ", qualifiers=" + qualifiers + ", interceptors="
+                    + interceptors + ", producers=" + producers + ", scopes="
+                    + scopes.stream().map(Class::getName).collect(Collectors.joining("|"));
+        }
+
+    }
+
+    private static SyntheticDeployment generate(Builder shape) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        String prefix = PACKAGE + "Synthetic" + DEPLOYMENT_COUNTER.incrementAndGet() + '_';
+
+        String[] qualifiers = new String[shape.qualifiers];
+        for (int k = 0; k < qualifiers.length; k++) {
+            qualifiers[k] = prefix + "Qualifier" + k;
+            define(lookup, annotationType(qualifiers[k], QUALIFIER));
+        }
+
+        String[] bindings = new String[shape.interceptors];
+        List<Class<?>> interceptorClasses = new ArrayList<>(bindings.length);
+        for (int k = 0; k < bindings.length; k++) {
+            bindings[k] = prefix + "Binding" + k;
+            define(lookup, annotationType(bindings[k], INTERCEPTOR_BINDING));
+            interceptorClasses.add(define(lookup, interceptor(prefix + "Interceptor" + k, bindings[k], k)));
+        }
+
+        if (shape.producers) {
+            for (int i = 0; i < shape.beans; i++) {
+                ClassFileWriter product = new ClassFileWriter(ACC_PUBLIC | ACC_SUPER, prefix + "Product" + i, OBJECT);
+                product.addDefaultConstructor();
+                define(lookup, product);
+            }
+        }
+
+        List<Class<?>> beanClasses = new ArrayList<>(shape.beans + interceptorClasses.size());
+        for (int i = 0; i < shape.beans; i++) {
+            List<ClassFileWriter.Annotation> annotations = new ArrayList<>();
+            annotations.add(ClassFileWriter.Annotation.of(descriptor(shape.scopes.get(i % shape.scopes.size()))));
+            if (qualifiers.length > 0) {
+                annotations.add(qualifier(qualifiers, i));
+            }
+            if (bindings.length > 0) {
+                annotations.add(ClassFileWriter.Annotation.of('L' + bindings[i % bindings.length] + ';'));
+            }
+            ClassFileWriter bean = new ClassFileWriter(ACC_PUBLIC | ACC_SUPER, prefix + "Bean" + i, OBJECT);
+            bean.annotate(annotations.toArray(new ClassFileWriter.Annotation[0]));
+            for (int child = i * shape.fanOut + 1; child <= i * shape.fanOut + shape.fanOut && child < shape.beans; child++) {
+                addInjectionPoints(bean, shape, prefix, qualifiers, child);
+            }
+            if (shape.producers) {
+                bean.addFactoryMethod(ACC_PUBLIC, "produce", prefix + "Product" + i, PRODUCES);
+            }
+            bean.addMethod(ACC_PUBLIC, "ping", "()Ljava/lang/Object;", 1, 1, new byte[] {
+                    0x2a, // aload_0
+                    (byte) 0xb0 // areturn
+            });
+            bean.addDefaultConstructor();
+            beanClasses.add(define(lookup, bean));
+        }
+        beanClasses.addAll(interceptorClasses);
+
+        ClassFileWriter test = new ClassFileWriter(ACC_PUBLIC | ACC_SUPER, prefix + "Test", OBJECT);
+        addInjectionPoints(test, shape, prefix, qualifiers, 0);
+        test.addDefaultConstructor();
+        return new SyntheticDeployment(Collections.unmodifiableList(beanClasses),
+                Collections.unmodifiableList(interceptorClasses), define(lookup, test));
+    }
+
+    private static void addInjectionPoints(ClassFileWriter writer, Builder shape, String prefix, String[] qualifiers,
+            int bean) {
+        ClassFileWriter.Annotation[] annotations = qualifiers.length > 0
+                ? new ClassFileWriter.Annotation[] { INJECT, qualifier(qualifiers, bean) }
+                : new ClassFileWriter.Annotation[] { INJECT };
+        writer.addField(0, "bean" + bean, "L" + prefix + "Bean" + bean + ';', annotations);
+        if (shape.producers) {
+            writer.addField(0, "product" + bean, "L" + prefix + "Product" + bean + ';', INJECT);
+        }
+    }
+
+    private static ClassFileWriter.Annotation qualifier(String[] qualifiers, int bean) {
+        return ClassFileWriter.Annotation.of('L' + qualifiers[bean % qualifiers.length] + ';');
+    }
+
+    private static ClassFileWriter annotationType(String name, ClassFileWriter.Annotation metaAnnotation) {
+        ClassFileWriter writer = new ClassFileWriter(ACC_PUBLIC | ACC_INTERFACE | ACC_ABSTRACT | ACC_ANNOTATION, name,
+                OBJECT, "java/lang/annotation/Annotation");
+        writer.annotate(metaAnnotation, RUNTIME_RETENTION);
+        return writer;
+    }
+
+    private static ClassFileWriter interceptor(String name, String binding, int index) {
+        ClassFileWriter writer = new ClassFileWriter(ACC_PUBLIC | ACC_SUPER, name, OBJECT);
+        writer.annotate(INTERCEPTOR, ClassFileWriter.Annotation.of('L' + binding + ';'),
+                ClassFileWriter.Annotation.of("Ljakarta/annotation/Priority;", "value", 1000 + index));
+        int proceed = writer.interfaceMethodRef(INVOCATION_CONTEXT, "proceed", "()Ljava/lang/Object;");
+        writer.addMethod(ACC_PUBLIC, "intercept", "(L" + INVOCATION_CONTEXT + ";)Ljava/lang/Object;", 1, 2, new byte[] {
+                0x2b, // aload_1
+                (byte) 0xb9, (byte) (proceed >> 8), (byte) proceed, 1, 0, // invokeinterface InvocationContext.proceed
+                (byte) 0xb0 // areturn
+        }, AROUND_INVOKE);
+        writer.addDefaultConstructor();
+        return writer;
+    }
+
+    private static String descriptor(Class<?> type) {
+        return 'L' + type.getName().replace('.', '/') + ';';
+    }
+
+    private static Class<?> define(MethodHandles.Lookup lookup, ClassFileWriter writer) {
+        try {
+            return lookup.defineClass(writer.toByteArray());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
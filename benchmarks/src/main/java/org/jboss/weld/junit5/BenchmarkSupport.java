@@ -0,0 +1,38 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5;
+
+import org.jboss.weld.environment.se.WeldContainer;
+
+/**
+ * Exposes the package-private container lifecycle of {@link WeldInitiator} to the benchmarks, which drive it the same way
+ * {@link WeldJunit5Extension} does.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    public static WeldContainer initWeld(WeldInitiator initiator, Object testInstance) {
+        return initiator.initWeld(testInstance);
+    }
+
+    public static void shutdownWeld(WeldInitiator initiator) {
+        initiator.shutdownWeld();
+    }
+
+}
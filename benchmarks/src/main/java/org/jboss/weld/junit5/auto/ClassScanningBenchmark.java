@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.auto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.junit.ClassGraphScanner;
+import org.jboss.weld.junit.ScanResult;
+import org.jboss.weld.junit.benchmarks.SyntheticDeployment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scans a synthetic test class injecting a tree of {@code @Dependent} beans the way {@link WeldJunit5AutoExtension} does.
+ * Compares sequential scanning with parallel scanning from the first class on, see
+ * {@link ClassGraphScanner#PARALLEL_SCANNING_THRESHOLD}. The on-disk class scanning cache is not enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassScanningBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int classes;
+
+    @Param({ "false", "true" })
+    public boolean parallel;
+
+    private List<Class<?>> testClasses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        testClasses = List.of(SyntheticDeployment.builder().beans(classes).fanOut(4).build().getTestClass());
+        System.setProperty(ClassGraphScanner.PARALLEL_SCANNING_THRESHOLD, parallel ? "1" : "0");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.clearProperty(ClassGraphScanner.PARALLEL_SCANNING_THRESHOLD);
+    }
+
+    @Benchmark
+    public ScanResult scan() {
+        return ClassScanning.scanForRequiredBeanClasses(testClasses, new Weld(), false, null);
+    }
+
+}
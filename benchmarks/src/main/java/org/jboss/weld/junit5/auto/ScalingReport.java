@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.auto;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.RequestScoped;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.junit.benchmarks.SyntheticDeployment;
+import org.jboss.weld.junit5.BenchmarkSupport;
+import org.jboss.weld.junit5.WeldInitiator;
+
+/**
+ * Prints the scaling curves of the JUnit 5 extension as CSV: the class scanning time of {@link WeldJunit5AutoExtension},
+ * the boot time of {@code WeldInitiator.of(...)} and the heap retained by a running container, for synthetic deployments
+ * of 10 to 10,000 beans. Times are the median of the given number of runs, in milliseconds.
+ *
+ * <p>
+ * Two shapes are measured, {@code plain} {@code @Dependent} beans and {@code mixed} beans with qualifiers, producers,
+ * interceptors and normal scopes. A time growing faster than the number of beans points to superlinear behavior.
+ * </p>
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.jboss.weld.junit5.auto.ScalingReport [runs]
+ * </pre>
+ */
+public final class ScalingReport {
+
+    private static final int[] SIZES = { 10, 100, 1_000, 10_000 };
+
+    private static final int DEFAULT_RUNS = 5;
+
+    private ScalingReport() {
+    }
+
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        System.out.println("shape,beans,scanMillis,bootMillis,retainedHeapKiB");
+        for (int size : SIZES) {
+            report("plain", size, runs, SyntheticDeployment.builder().beans(size).build());
+            report("mixed", size, runs, SyntheticDeployment.builder()
+                    .beans(size)
+                    .qualifiers(8)
+                    .producers(true)
+                    .interceptors(4)
+                    .scopes(Dependent.class, ApplicationScoped.class, RequestScoped.class)
+                    .build());
+        }
+    }
+
+    private static void report(String shape, int size, int runs, SyntheticDeployment deployment) {
+        List<Class<?>> testClasses = List.of(deployment.getTestClass());
+        Class<?>[] beanClasses = deployment.getBeanClasses().toArray(new Class<?>[0]);
+        // The first run of each shape warms up the code paths and is not measured
+        scan(testClasses);
+        boot(beanClasses).run();
+
+        double scanMillis = median(runs, run -> time(() -> scan(testClasses)));
+        double bootMillis = median(runs, run -> bootMillis(beanClasses));
+        double retainedKiB = median(runs, run -> retainedHeap(beanClasses) / 1024.0);
+        System.out.printf("%s,%d,%.3f,%.3f,%.1f%n", shape, size, scanMillis, bootMillis, retainedKiB);
+    }
+
+    private static void scan(List<Class<?>> testClasses) {
+        ClassScanning.scanForRequiredBeanClasses(testClasses, new Weld(), false, null);
+    }
+
+    /**
+     *
+     * @return the shutdown of the booted container
+     */
+    private static Runnable boot(Class<?>[] beanClasses) {
+        WeldInitiator initiator = WeldInitiator.of(beanClasses);
+        BenchmarkSupport.initWeld(initiator, new Object());
+        return () -> BenchmarkSupport.shutdownWeld(initiator);
+    }
+
+    private static double bootMillis(Class<?>[] beanClasses) {
+        long start = System.nanoTime();
+        Runnable shutdown = boot(beanClasses);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        shutdown.run();
+        return millis;
+    }
+
+    private static long retainedHeap(Class<?>[] beanClasses) {
+        long before = usedHeapAfterGc();
+        Runnable shutdown = boot(beanClasses);
+        long after = usedHeapAfterGc();
+        shutdown.run();
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static double time(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private static double median(int runs, IntToDoubleFunction measurement) {
+        double[] values = new double[runs];
+        for (int run = 0; run < runs; run++) {
+            values[run] = measurement.applyAsDouble(run);
+        }
+        Arrays.sort(values);
+        return runs % 2 == 1 ? values[runs / 2] : (values[runs / 2 - 1] + values[runs / 2]) / 2;
+    }
+
+}
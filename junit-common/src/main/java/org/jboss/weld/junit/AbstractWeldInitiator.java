@@ -27,12 +27,17 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Function;
 
 import jakarta.annotation.Resource;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.context.NormalScope;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.control.RequestContextController;
 import jakarta.enterprise.context.spi.CreationalContext;
 import jakarta.enterprise.event.Event;
 import jakarta.enterprise.inject.Instance;
@@ -48,6 +53,7 @@ import org.jboss.weld.environment.ContainerInstance;
 import org.jboss.weld.environment.se.Weld;
 import org.jboss.weld.environment.se.WeldContainer;
 import org.jboss.weld.inject.WeldInstance;
+import org.jboss.weld.junit.ContainerProfile.Phase;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -61,13 +67,14 @@ public abstract class AbstractWeldInitiator implements Instance<Object>, Contain
      * The returned {@link Weld} instance has:
      * <ul>
      * <li>automatic discovery disabled</li>
-     * <li>concurrent deployment disabled</li>
+     * <li>concurrent deployment disabled, unless the deployment exceeds the
+     * {@link AdaptiveWeld#CONCURRENT_DEPLOYMENT_THRESHOLD}</li>
      * </ul>
      *
      * @return a new {@link Weld} instance suitable for testing
      */
     public static Weld createWeld() {
-        return new Weld().disableDiscovery().property(ConfigurationKey.CONCURRENT_DEPLOYMENT.get(), false);
+        return new AdaptiveWeld().disableDiscovery().property(ConfigurationKey.CONCURRENT_DEPLOYMENT.get(), false);
     }
 
     protected final Weld weld;
@@ -90,6 +97,12 @@ public abstract class AbstractWeldInitiator implements Instance<Object>, Contain
 
     protected volatile WeldContainer container;
 
+    private volatile ContainerProfile profile;
+
+    private volatile String testId;
+
+    private volatile InjectionTargets injectionTargets;
+
     protected AbstractWeldInitiator(Weld weld, List<Object> instancesToInject,
             Set<Class<? extends Annotation>> scopesToActivate, Set<Bean<?>> beans,
             Map<String, Object> resources, Function<InjectionPoint, Object> ejbFactory,
@@ -278,6 +291,37 @@ public abstract class AbstractWeldInitiator implements Instance<Object>, Contain
         return container;
     }
 
+    /**
+     * Wraps the given executor service so that each task runs with the contexts of the scopes to activate that are active on
+     * the thread which submitted the task, i.e. the task shares the contextual instances of the submitting test. The
+     * instances are still destroyed by the test once it finished, so the tasks should complete before.
+     *
+     * @param executorService
+     * @return the context-aware executor service, shutting it down shuts down the given executor service
+     * @see AbstractBuilder#activate(Class...)
+     */
+    public ExecutorService contextAwareExecutor(ExecutorService executorService) {
+        return getContextPropagation().wrap(executorService);
+    }
+
+    /**
+     * Wraps the given thread factory so that each new thread runs with the contexts of the scopes to activate that are active
+     * on the thread which created it. This is a natural fit for a thread per task, e.g. a virtual thread factory, whereas the
+     * tasks of a thread pool are better served by {@link #contextAwareExecutor(ExecutorService)}, as pooled threads would
+     * keep the contexts of the thread which happened to create them.
+     *
+     * @param threadFactory
+     * @return the context-aware thread factory
+     * @see AbstractBuilder#activate(Class...)
+     */
+    public ThreadFactory contextAwareThreadFactory(ThreadFactory threadFactory) {
+        return getContextPropagation().wrap(threadFactory);
+    }
+
+    private ContextPropagation getContextPropagation() {
+        return new ContextPropagation(extension != null ? extension.getContexts() : Collections.emptyList());
+    }
+
     private void checkContainer() {
         if (container == null || !container.isRunning()) {
             throw new IllegalStateException("Weld container is not running");
@@ -308,6 +352,45 @@ public abstract class AbstractWeldInitiator implements Instance<Object>, Contain
         return beans != null && !beans.isEmpty();
     }
 
+    /**
+     * The injection targets are only created once per class and container, as many instances of the same class may be
+     * injected into, e.g. the test instances of the methods of a test class served by a single container.
+     */
+    private InjectionTarget<Object> getInjectionTarget(Class<?> clazz) {
+        WeldContainer current = container;
+        InjectionTargets targets = injectionTargets;
+        if (targets == null || targets.container != current) {
+            targets = new InjectionTargets(current);
+            injectionTargets = targets;
+        }
+        return targets.get(clazz);
+    }
+
+    /**
+     * The injection targets of a single container.
+     */
+    private static final class InjectionTargets {
+
+        private final WeldContainer container;
+
+        private final Map<Class<?>, InjectionTarget<Object>> targets = new ConcurrentHashMap<>();
+
+        private InjectionTargets(WeldContainer container) {
+            this.container = container;
+        }
+
+        @SuppressWarnings("unchecked")
+        private InjectionTarget<Object> get(Class<?> clazz) {
+            return targets.computeIfAbsent(clazz, key -> {
+                BeanManager beanManager = container.getBeanManager();
+                return (InjectionTarget<Object>) beanManager
+                        .getInjectionTargetFactory(beanManager.createAnnotatedType(key))
+                        .createInjectionTarget(null);
+            });
+        }
+
+    }
+
     protected class ToInject {
 
         private final Object instance;
@@ -319,13 +402,8 @@ public abstract class AbstractWeldInitiator implements Instance<Object>, Contain
         }
 
         void inject() {
-            BeanManager beanManager = container.getBeanManager();
-            CreationalContext<Object> ctx = beanManager.createCreationalContext(null);
-            @SuppressWarnings("unchecked")
-            InjectionTarget<Object> injectionTarget = (InjectionTarget<Object>) beanManager
-                    .getInjectionTargetFactory(beanManager.createAnnotatedType(instance.getClass()))
-                    .createInjectionTarget(null);
-            injectionTarget.inject(instance, ctx);
+            CreationalContext<Object> ctx = container.getBeanManager().createCreationalContext(null);
+            getInjectionTarget(instance.getClass()).inject(instance, ctx);
             creationalContext = ctx;
         }
 
@@ -535,6 +613,18 @@ public abstract class AbstractWeldInitiator implements Instance<Object>, Contain
     }
 
     protected WeldContainer initWeldContainer(Weld weld) {
+        bootWeldContainer(weld);
+        resumeWeldContainer();
+        return container;
+    }
+
+    /**
+     * Boots the container without activating any context or injecting any instance. This is the first half of
+     * {@link #initWeldContainer(Weld)}; unlike the second half, it may be invoked on another thread than the test itself.
+     *
+     * @param weld
+     */
+    protected void bootWeldContainer(Weld weld) {
         // Register mock injection services if needed
         if (!resources.isEmpty()) {
             weld.addServices(new MockResourceInjectionServices(resources));
@@ -546,24 +636,192 @@ public abstract class AbstractWeldInitiator implements Instance<Object>, Contain
             weld.addServices(new MockJpaInjectionServices(persistenceUnitFactory, persistenceContextFactory));
         }
         // Init the container
-        container = weld.initialize();
+        String testId = this.testId;
+        container = ContainerProfile.call(profile, Phase.BOOT, () -> ContainerEvents.boot(testId, weld::initialize));
+    }
+
+    /**
+     * Activates the contexts and injects the instances to inject into an already running container. This is the second half
+     * of {@link #initWeldContainer(Weld)} and allows a container to serve another test after
+     * {@link #suspendWeldContainer()}.
+     */
+    protected void resumeWeldContainer() {
+        checkContainer();
+        String testId = this.testId;
         if (extension != null) {
-            extension.activateContexts();
+            ContainerProfile.run(profile, Phase.CONTEXT_ACTIVATION,
+                    () -> ContainerEvents.activateContexts(testId, container, extension::activateContexts));
         }
-        injectInstances();
-        return container;
+        ContainerProfile.run(profile, Phase.INJECTION,
+                () -> ContainerEvents.injectInstances(testId, container, this::injectInstances));
     }
 
-    protected void shutdownWeldContainer() {
+    /**
+     * Activates the scopes to activate on the current thread for a single test invocation, so that concurrent test methods
+     * served by a single running container each get contextual instances of their own. A context already active on the
+     * current thread is suspended until the returned deactivation is run.
+     *
+     * @return the deactivation of the contexts, which must be run on the same thread once the invocation finished
+     */
+    protected Runnable activateContextsForInvocation() {
+        checkContainer();
+        if (extension == null) {
+            return () -> {
+            };
+        }
+        return extension.activateContextsForInvocation();
+    }
+
+    /**
+     * Activates the contexts on the current thread for one of many concurrent invocations of a test method, i.e. the scopes
+     * to activate as by {@link #activateContextsForInvocation()} and, unless {@link RequestScoped} is one of them, the
+     * built-in request context.
+     *
+     * @return the deactivation of the contexts, which must be run on the same thread once the invocation finished
+     * @see ConcurrentInvoker
+     */
+    protected Runnable activateContextsForConcurrentInvocation() {
+        Runnable deactivation = activateContextsForInvocation();
+        if (scopesToActivate != null && scopesToActivate.contains(RequestScoped.class)) {
+            return deactivation;
+        }
+        Handle<RequestContextController> handle = container.select(RequestContextController.class).getHandle();
         try {
-            if (extension != null) {
-                extension.deactivateContexts();
+            if (!handle.get().activate()) {
+                // the request context was already active on the current thread
+                handle.destroy();
+                return deactivation;
+            }
+        } catch (RuntimeException e) {
+            handle.destroy();
+            deactivation.run();
+            throw e;
+        }
+        return () -> {
+            try {
+                handle.get().deactivate();
+                handle.destroy();
+            } finally {
+                deactivation.run();
+            }
+        };
+    }
+
+    /**
+     * Deactivates the contexts and releases the injected instances, i.e. destroys the {@link Dependent} beans created for
+     * them, but keeps the container running. This is the first half of {@link #shutdownWeldContainer()}.
+     */
+    protected void suspendWeldContainer() {
+        ContainerProfile.run(profile, Phase.CONTEXT_DEACTIVATION, () -> {
+            try {
+                if (extension != null) {
+                    extension.deactivateContexts();
+                }
+            } finally {
+                releaseInstances();
             }
-            releaseInstances();
+        });
+    }
+
+    protected void shutdownWeldContainer() {
+        try {
+            suspendWeldContainer();
         } finally {
+            injectionTargets = null;
+            if (container != null && container.isRunning()) {
+                String testId = this.testId;
+                ContainerProfile.run(profile, Phase.SHUTDOWN,
+                        () -> ContainerEvents.shutdown(testId, container, container::shutdown));
+            }
+        }
+    }
+
+    /**
+     * Sets the profile the following phases of the container lifecycle are recorded to, see {@link ContainerProfiler}. An
+     * initiator serving several tests one after another, e.g. a cached one, gets the profile of each test set in turn.
+     *
+     * @param profile may be {@code null} to stop profiling
+     */
+    protected void setContainerProfile(ContainerProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     *
+     * @return the current profile or {@code null}
+     */
+    protected ContainerProfile getContainerProfile() {
+        return profile;
+    }
+
+    /**
+     * Sets the id of the test the following steps of the container lifecycle are performed for, it is recorded by the
+     * {@link ContainerEvents}.
+     *
+     * @param testId may be {@code null} if the container does not serve a particular test
+     */
+    protected void setCurrentTestId(String testId) {
+        this.testId = testId;
+    }
+
+    /**
+     *
+     * @return the id of the current test or {@code null}
+     */
+    protected String getCurrentTestId() {
+        return testId;
+    }
+
+    /**
+     * Deactivates the contexts and releases the injected instances on the current thread like
+     * {@link #shutdownWeldContainer()} but shuts down the container itself in the background.
+     *
+     * @param owner the test which used the container, used to report failures
+     * @return the pending shutdown or {@code null} if the container is not running
+     * @see AsyncContainerShutdown
+     */
+    protected AsyncContainerShutdown.PendingShutdown shutdownWeldContainerAsync(String owner) {
+        injectionTargets = null;
+        try {
+            suspendWeldContainer();
+        } catch (RuntimeException e) {
             if (container != null && container.isRunning()) {
                 container.shutdown();
             }
+            throw e;
+        }
+        if (container != null && container.isRunning()) {
+            return AsyncContainerShutdown.getInstance().submit(owner, container);
+        }
+        return null;
+    }
+
+    /**
+     * Records the configuration gathered by the builder, i.e. the scopes to activate, the added beans, the bound resources and
+     * the EJB/JPA factories. Instances registered through {@link AbstractBuilder#inject(Object)} are specific to a test and
+     * thus make the fingerprint not reusable.
+     *
+     * @param fingerprint
+     */
+    protected void addConfigurationTo(DeploymentFingerprint fingerprint) {
+        if (!instancesToInject.isEmpty()) {
+            fingerprint.markNotReusable();
+        }
+        if (scopesToActivate != null) {
+            for (Class<? extends Annotation> scope : scopesToActivate) {
+                fingerprint.add(DeploymentFingerprint.SCOPE, scope);
+            }
+        }
+        if (beans != null) {
+            for (Bean<?> bean : beans) {
+                fingerprint.addBean(bean);
+            }
+        }
+        for (Map.Entry<String, Object> resource : resources.entrySet()) {
+            fingerprint.addResource(resource.getKey(), resource.getValue());
         }
+        fingerprint.addFactory("ejb", ejbFactory);
+        fingerprint.addFactory("persistenceUnit", persistenceUnitFactory);
+        fingerprint.addFactory("persistenceContext", persistenceContextFactory);
     }
 }
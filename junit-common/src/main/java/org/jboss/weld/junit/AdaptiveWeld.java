@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * A {@link Weld} instance which switches to concurrent deployment once the deployment holds at least
+ * {@value #CONCURRENT_DEPLOYMENT_THRESHOLD} bean classes. Only the bean classes added to this instance are counted, the
+ * classes of added packages and discovered bean archives are only known once the container is booted.
+ * </p>
+ *
+ * <p>
+ * Concurrent deployment is run on the executor configured by {@link ConfigurationKey#EXECUTOR_THREAD_POOL_TYPE}, which is
+ * the common {@link java.util.concurrent.ForkJoinPool} in Weld SE by default, so that containers booted at the same time
+ * share one global pool instead of each creating its own. The preloader thread pool, which Weld creates per container, is
+ * sized by the number of containers being booted at the same time.
+ * </p>
+ *
+ * @see AbstractWeldInitiator#createWeld()
+ */
+public class AdaptiveWeld extends Weld {
+
+    /**
+     * By default, concurrent deployment is disabled for all test deployments. Set this system property to a positive number
+     * to enable concurrent deployment for deployments with at least that many bean classes.
+     */
+    public static final String CONCURRENT_DEPLOYMENT_THRESHOLD = "org.jboss.weld.junit.concurrentDeploymentThreshold";
+
+    private static final Logger LOGGER = Logger.getLogger(AdaptiveWeld.class.getName());
+
+    private static final String COMMON_THREAD_POOL_TYPE = "COMMON";
+
+    // the number of containers being booted at the moment, across all threads
+    private static final AtomicInteger BOOTING = new AtomicInteger();
+
+    /**
+     *
+     * @return the threshold or {@code 0} if concurrent deployment should never be enabled
+     */
+    public static int getConcurrentDeploymentThreshold() {
+        String value = System.getProperty(CONCURRENT_DEPLOYMENT_THRESHOLD, "");
+        if (value.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Ignoring invalid value of " + CONCURRENT_DEPLOYMENT_THRESHOLD + ": " + value);
+            return 0;
+        }
+    }
+
+    @Override
+    public WeldContainer initialize() {
+        BOOTING.incrementAndGet();
+        try {
+            int threshold = getConcurrentDeploymentThreshold();
+            if (threshold > 0 && beanClasses.size() >= threshold) {
+                enableConcurrentDeployment();
+            }
+            return super.initialize();
+        } finally {
+            BOOTING.decrementAndGet();
+        }
+    }
+
+    /**
+     * A test deployment may consist of extensions only, e.g. an instance-independent deployment of a test class which
+     * adds no bean classes, so the synthetic bean archive is always created instead of failing on a missing
+     * {@code beans.xml}.
+     */
+    @Override
+    protected boolean isSyntheticBeanArchiveRequired() {
+        return true;
+    }
+
+    // Weld SE builds the ExternalConfiguration of the deployment from its properties, so they have to be set before
+    // the container is initialized
+    private void enableConcurrentDeployment() {
+        property(ConfigurationKey.CONCURRENT_DEPLOYMENT.get(), true);
+        property(ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE.get(),
+                getPropertyValue(ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE.get(), COMMON_THREAD_POOL_TYPE));
+        // leave one core to the test itself and share the rest among all containers being booted
+        int preloaderThreads = Math.max(1, (Runtime.getRuntime().availableProcessors() - 1) / Math.max(1, BOOTING.get()));
+        property(ConfigurationKey.PRELOADER_THREAD_POOL_SIZE.get(), preloaderThreads);
+    }
+
+}
@@ -0,0 +1,268 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.weld.environment.se.WeldContainer;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * Shuts down finished containers on a background thread so that the next test does not have to wait for all contextual
+ * instances to be destroyed. The number of shutdowns in flight is capped, a test finishing while the cap is reached waits
+ * until a slot is available. Each extension awaits the shutdowns it submitted at a suitable point in time and reports
+ * failures for the test which owned the container, all remaining shutdowns are awaited when the JVM exits.
+ * </p>
+ *
+ * @see #ASYNC_SHUTDOWN
+ * @see #MAX_IN_FLIGHT_SHUTDOWNS
+ */
+public final class AsyncContainerShutdown {
+
+    /**
+     * Global system property enabling the asynchronous shutdown of containers.
+     */
+    public static final String ASYNC_SHUTDOWN = "org.jboss.weld.junit.asyncShutdown";
+
+    /**
+     * Global system property limiting the number of containers being shut down at the same time, defaults to the number of
+     * available processors.
+     */
+    public static final String MAX_IN_FLIGHT_SHUTDOWNS = "org.jboss.weld.junit.asyncShutdown.maxInFlight";
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncContainerShutdown.class.getName());
+
+    private static volatile AsyncContainerShutdown instance;
+
+    private final ExecutorService executor;
+
+    private final Semaphore inFlight;
+
+    private final Set<PendingShutdown> pendingShutdowns = ConcurrentHashMap.newKeySet();
+
+    private AsyncContainerShutdown(int maxInFlight) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "weld-testing-shutdown-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     *
+     * @return <code>true</code> if containers should be shut down asynchronously, <code>false</code> otherwise
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(ASYNC_SHUTDOWN, "false"));
+    }
+
+    static AsyncContainerShutdown getInstance() {
+        AsyncContainerShutdown result = instance;
+        if (result == null) {
+            synchronized (AsyncContainerShutdown.class) {
+                result = instance;
+                if (result == null) {
+                    int maxInFlight = Integer.getInteger(MAX_IN_FLIGHT_SHUTDOWNS, Runtime.getRuntime().availableProcessors());
+                    result = new AsyncContainerShutdown(Math.max(1, maxInFlight));
+                    Runtime.getRuntime().addShutdownHook(new Thread(AsyncContainerShutdown::awaitAllQuietly,
+                            "weld-testing-shutdown-drain"));
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Submits the shutdown of the given container, blocks while the maximum number of shutdowns is in flight.
+     *
+     * @param owner the test which used the container, used to report failures
+     * @param container
+     * @return the pending shutdown
+     */
+    PendingShutdown submit(String owner, WeldContainer container) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // shut down synchronously rather than leaking the container
+            container.shutdown();
+            return new PendingShutdown(owner, CompletableFuture.completedFuture(null));
+        }
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        CompletableFuture<Void> future;
+        try {
+            future = CompletableFuture.runAsync(() -> {
+                Thread thread = Thread.currentThread();
+                ClassLoader originalClassLoader = thread.getContextClassLoader();
+                thread.setContextClassLoader(contextClassLoader);
+                try {
+                    ContainerEvents.shutdown(owner, container, container::shutdown);
+                } finally {
+                    thread.setContextClassLoader(originalClassLoader);
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        PendingShutdown pendingShutdown = new PendingShutdown(owner, future);
+        pendingShutdowns.add(pendingShutdown);
+        future.whenComplete((result, failure) -> {
+            inFlight.release();
+            if (failure == null) {
+                pendingShutdowns.remove(pendingShutdown);
+            }
+        });
+        return pendingShutdown;
+    }
+
+    /**
+     * Waits for the given shutdowns to finish.
+     *
+     * @param shutdowns
+     * @throws IllegalStateException if any of the shutdowns failed, further failures are added as suppressed exceptions
+     */
+    public static void await(Collection<PendingShutdown> shutdowns) {
+        IllegalStateException failure = null;
+        for (PendingShutdown shutdown : shutdowns) {
+            try {
+                shutdown.await();
+            } catch (IllegalStateException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Waits for all shutdowns submitted so far to finish, including the failed ones which were not awaited yet.
+     *
+     * @throws IllegalStateException if any of the shutdowns failed
+     */
+    public static void awaitAll() {
+        AsyncContainerShutdown current = instance;
+        if (current != null) {
+            await(new ArrayList<>(current.pendingShutdowns));
+        }
+    }
+
+    private static void awaitAllQuietly() {
+        try {
+            awaitAll();
+        } catch (IllegalStateException e) {
+            LOGGER.log(Level.WARNING, "Unable to shut down Weld container", e);
+        }
+    }
+
+    /**
+     * A container shutdown running in the background.
+     */
+    public static final class PendingShutdown {
+
+        private final String owner;
+
+        private final CompletableFuture<Void> future;
+
+        private PendingShutdown(String owner, CompletableFuture<Void> future) {
+            this.owner = owner;
+            this.future = future;
+        }
+
+        /**
+         *
+         * @return the test which used the container
+         */
+        public String getOwner() {
+            return owner;
+        }
+
+        /**
+         * Waits for the shutdown to finish.
+         *
+         * @throws IllegalStateException if the shutdown failed
+         */
+        public void await() {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the Weld container of " + owner
+                        + " to shut down", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Unable to shut down the Weld container of " + owner, e.getCause());
+            } finally {
+                if (future.isDone() && instance != null) {
+                    instance.pendingShutdowns.remove(this);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Collects the shutdowns submitted on behalf of a test class or specification, may be used by multiple threads.
+     */
+    public static final class PendingShutdowns {
+
+        private final List<PendingShutdown> shutdowns = new ArrayList<>();
+
+        public synchronized void add(PendingShutdown shutdown) {
+            if (shutdown != null) {
+                shutdowns.add(shutdown);
+            }
+        }
+
+        /**
+         * Waits for all collected shutdowns to finish.
+         *
+         * @throws IllegalStateException if any of the shutdowns failed
+         */
+        public void await() {
+            List<PendingShutdown> toAwait;
+            synchronized (this) {
+                toAwait = new ArrayList<>(shutdowns);
+                shutdowns.clear();
+            }
+            AsyncContainerShutdown.await(toAwait);
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * The result of the measurement iterations of a {@link BenchmarkRunner}. All latencies are in nanoseconds.
+ * </p>
+ */
+public final class BenchmarkResult {
+
+    /**
+     * The prefix of the keys of {@link #toReportEntries()}.
+     */
+    public static final String REPORT_ENTRY_PREFIX = "weld.benchmark.";
+
+    private final int threads;
+
+    private final int iterations;
+
+    private final int operationsPerIteration;
+
+    private final long wallNanos;
+
+    private final long[] sortedLatencies;
+
+    private final double meanLatency;
+
+    private final long allocatedBytes;
+
+    BenchmarkResult(int threads, int iterations, int operationsPerIteration, long wallNanos, long[][] latencies,
+            long allocatedBytes) {
+        this.threads = threads;
+        this.iterations = iterations;
+        this.operationsPerIteration = operationsPerIteration;
+        this.wallNanos = wallNanos;
+        this.sortedLatencies = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        this.meanLatency = Arrays.stream(sortedLatencies).average().orElse(0);
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     *
+     * @return the total number of measured operations of all threads
+     */
+    public long getOperations() {
+        return sortedLatencies.length;
+    }
+
+    /**
+     *
+     * @return the measured operations of all threads per second of wall-clock time
+     */
+    public double getOperationsPerSecond() {
+        return wallNanos == 0 ? 0 : getOperations() * (double) TimeUnit.SECONDS.toNanos(1) / wallNanos;
+    }
+
+    public double getMeanLatency() {
+        return meanLatency;
+    }
+
+    /**
+     *
+     * @param percentile between {@code 0} exclusive and {@code 100} inclusive
+     * @return the latency which the given percentage of the operations did not exceed
+     */
+    public long getLatencyPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile out of range: " + percentile);
+        }
+        int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)];
+    }
+
+    public long getMaxLatency() {
+        return sortedLatencies[sortedLatencies.length - 1];
+    }
+
+    /**
+     *
+     * @return the bytes allocated per operation or {@code -1} if the allocations are not tracked by the JVM
+     */
+    public double getAllocatedBytesPerOperation() {
+        return allocatedBytes < 0 ? -1 : (double) allocatedBytes / getOperations();
+    }
+
+    /**
+     *
+     * @return the result as key-value pairs, each key prefixed with {@value #REPORT_ENTRY_PREFIX}
+     */
+    public Map<String, String> toReportEntries() {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put(REPORT_ENTRY_PREFIX + "threads", String.valueOf(threads));
+        entries.put(REPORT_ENTRY_PREFIX + "iterations", String.valueOf(iterations));
+        entries.put(REPORT_ENTRY_PREFIX + "operationsPerIteration", String.valueOf(operationsPerIteration));
+        entries.put(REPORT_ENTRY_PREFIX + "opsPerSecond", format(getOperationsPerSecond()));
+        entries.put(REPORT_ENTRY_PREFIX + "meanNanos", format(meanLatency));
+        entries.put(REPORT_ENTRY_PREFIX + "p50Nanos", String.valueOf(getLatencyPercentile(50)));
+        entries.put(REPORT_ENTRY_PREFIX + "p90Nanos", String.valueOf(getLatencyPercentile(90)));
+        entries.put(REPORT_ENTRY_PREFIX + "p99Nanos", String.valueOf(getLatencyPercentile(99)));
+        entries.put(REPORT_ENTRY_PREFIX + "maxNanos", String.valueOf(getMaxLatency()));
+        entries.put(REPORT_ENTRY_PREFIX + "allocatedBytesPerOp",
+                allocatedBytes < 0 ? "n/a" : format(getAllocatedBytesPerOperation()));
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "BenchmarkResult[", "]");
+        toReportEntries().forEach((key, value) -> joiner.add(key.substring(REPORT_ENTRY_PREFIX.length()) + "=" + value));
+        return joiner.toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.junit.ConcurrentInvoker.Invocation;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * Measures a test method body within a running container, JMH-style but without leaving the test suite. The body is invoked
+ * a fixed number of times per iteration on each of the benchmark threads; the warmup iterations are discarded and the
+ * measurement iterations yield a {@link BenchmarkResult}.
+ * </p>
+ *
+ * <p>
+ * The benchmark threads are platform threads created by the test thread for each iteration, so that the allocations can be
+ * tracked through {@link com.sun.management.ThreadMXBean}. They either share the contexts active on the test thread or, if
+ * {@code activateContexts} is set, get fresh contexts for each iteration, see
+ * {@link AbstractWeldInitiator#activateContextsForConcurrentInvocation()}. The context activation is not measured.
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+    private static final java.lang.management.ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final int warmupIterations;
+
+    private final int iterations;
+
+    private final int operations;
+
+    private final int threads;
+
+    private final boolean activateContexts;
+
+    /**
+     *
+     * @param warmupIterations the number of iterations which are not measured
+     * @param iterations the number of measured iterations
+     * @param operations the number of invocations per iteration and thread
+     * @param threads the number of threads invoking the body concurrently
+     * @param activateContexts whether to activate fresh contexts for each iteration on each thread
+     * @throws IllegalArgumentException if any of the numbers is out of range
+     */
+    public BenchmarkRunner(int warmupIterations, int iterations, int operations, int threads, boolean activateContexts) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("The number of warmup iterations must not be negative: " + warmupIterations);
+        }
+        if (iterations < 1 || operations < 1 || threads < 1) {
+            throw new IllegalArgumentException("The number of iterations, operations and threads must be positive: "
+                    + iterations + ", " + operations + ", " + threads);
+        }
+        if ((long) iterations * operations > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many measured operations per thread: " + iterations + " * " + operations);
+        }
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.operations = operations;
+        this.threads = threads;
+        this.activateContexts = activateContexts;
+    }
+
+    /**
+     *
+     * @param initiator the initiator of the running container, may be {@code null}
+     * @param name the name of the benchmarked test, used to name the threads
+     * @param operation the body to measure
+     * @return the result of the measurement iterations
+     * @throws Throwable the failure of the first failed invocation, with the failures of other threads suppressed
+     */
+    public BenchmarkResult run(AbstractWeldInitiator initiator, String name, Invocation operation) throws Throwable {
+        ThreadFactory threadFactory = newThreadFactory("weld-benchmark-" + name);
+        if (initiator != null && !activateContexts) {
+            threadFactory = initiator.contextAwareThreadFactory(threadFactory);
+        }
+        long[][] latencies = new long[threads][iterations * operations];
+        long wallNanos = 0;
+        long allocatedBytes = 0;
+        for (int iteration = 0; iteration < warmupIterations + iterations; iteration++) {
+            int measured = iteration - warmupIterations;
+            long[] begins = new long[threads];
+            long[] ends = new long[threads];
+            long[] allocations = new long[threads];
+            runIteration(threadFactory, initiator, thread -> {
+                long[] threadLatencies = latencies[thread];
+                int offset = measured * operations;
+                long allocated = getAllocatedBytes();
+                long begin = System.nanoTime();
+                long start = begin;
+                for (int i = 0; i < operations; i++) {
+                    operation.invoke();
+                    long end = System.nanoTime();
+                    if (measured >= 0) {
+                        threadLatencies[offset + i] = end - start;
+                    }
+                    start = end;
+                }
+                ends[thread] = start;
+                begins[thread] = begin;
+                long allocatedAfter = getAllocatedBytes();
+                allocations[thread] = (allocated < 0 || allocatedAfter < 0) ? -1 : allocatedAfter - allocated;
+            });
+            if (measured >= 0) {
+                wallNanos += Arrays.stream(ends).max().getAsLong() - Arrays.stream(begins).min().getAsLong();
+                for (long allocation : allocations) {
+                    allocatedBytes = (allocatedBytes < 0 || allocation < 0) ? -1 : allocatedBytes + allocation;
+                }
+            }
+        }
+        return new BenchmarkResult(threads, iterations, operations, wallNanos, latencies, allocatedBytes);
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+
+        void run(int thread) throws Throwable;
+
+    }
+
+    private void runIteration(ThreadFactory threadFactory, AbstractWeldInitiator initiator, ThreadBody body)
+            throws Throwable {
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> benchmarkThreads = new ArrayList<>(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                Thread thread = threadFactory.newThread(() -> {
+                    try {
+                        start.await();
+                        Runnable deactivation = (initiator != null && activateContexts)
+                                ? initiator.activateContextsForConcurrentInvocation()
+                                : () -> {
+                                };
+                        try {
+                            body.run(index);
+                        } finally {
+                            deactivation.run();
+                        }
+                    } catch (Throwable t) {
+                        failures.add(t);
+                    }
+                });
+                benchmarkThreads.add(thread);
+                thread.start();
+            }
+        } finally {
+            start.countDown();
+        }
+        try {
+            for (Thread thread : benchmarkThreads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            benchmarkThreads.forEach(Thread::interrupt);
+            throw e;
+        }
+        Iterator<Throwable> iterator = failures.iterator();
+        if (iterator.hasNext()) {
+            Throwable failure = iterator.next();
+            iterator.forEachRemaining(failure::addSuppressed);
+            throw failure;
+        }
+    }
+
+    /**
+     *
+     * @return the bytes allocated by the current thread so far or {@code -1} if the JVM does not track them
+     */
+    private static long getAllocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+            if (threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+                return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static ThreadFactory newThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
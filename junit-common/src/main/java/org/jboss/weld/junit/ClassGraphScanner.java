@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * Walks the graph of classes reachable from the test classes for the <b>automagic</b> class scanning. Each class is passed to
+ * a {@link Visitor} which records the contributions of the class and the classes it references. The classes are processed in
+ * breadth-first order and a class is skipped once it was scanned or excluded from the deployment.
+ * </p>
+ *
+ * <p>
+ * If {@link #PARALLEL_SCANNING_THRESHOLD} is set and the number of discovered classes reaches it, all classes reachable from
+ * the remaining ones are visited on a {@link ForkJoinPool} first. The graph is then still walked sequentially in the same
+ * order, only using the precomputed contributions, so that the result is exactly the same as for sequential scanning.
+ * </p>
+ */
+public final class ClassGraphScanner {
+
+    /**
+     * Global system property enabling the parallel class scanning once the given number of classes was discovered.
+     */
+    public static final String PARALLEL_SCANNING_THRESHOLD = "org.jboss.weld.junit.parallelScanningThreshold";
+
+    private ClassGraphScanner() {
+    }
+
+    /**
+     * Visits a single class.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+
+        /**
+         * Implementations must not depend on any state but the visited class as they may be invoked concurrently and for
+         * classes which are skipped afterwards.
+         *
+         * @param clazz the visited class
+         * @param contributions records the contributions of the class to the deployment
+         * @param classesToProcess accepts the classes referenced by the visited class
+         */
+        void visit(Class<?> clazz, ScanResult contributions, Consumer<Class<?>> classesToProcess);
+
+    }
+
+    /**
+     *
+     * @param testClasses
+     * @param visitor
+     * @return the merged contributions of all visited classes
+     */
+    public static ScanResult scan(Collection<Class<?>> testClasses, Visitor visitor) {
+        Queue<Class<?>> classesToProcess = new ArrayDeque<>(testClasses);
+        ScanResult result = new ScanResult();
+        int threshold = Integer.getInteger(PARALLEL_SCANNING_THRESHOLD, 0);
+        Map<Class<?>, VisitedClass> visitedClasses = null;
+
+        Class<?> currClass;
+        while ((currClass = classesToProcess.poll()) != null) {
+            if (result.isScanned(currClass) || result.isExcluded(currClass) || isIgnored(currClass)) {
+                continue;
+            }
+            if (visitedClasses == null && threshold > 0
+                    && result.getScannedClasses().size() + classesToProcess.size() + 1 >= threshold) {
+                List<Class<?>> remaining = new ArrayList<>(classesToProcess);
+                remaining.add(currClass);
+                visitedClasses = visitInParallel(remaining, visitor);
+            }
+            result.addScannedClass(currClass);
+
+            VisitedClass visited = visitedClasses != null ? visitedClasses.get(currClass) : null;
+            if (visited == null) {
+                visited = new VisitedClass(currClass, visitor);
+            }
+            result.merge(visited.contributions);
+            classesToProcess.addAll(visited.references);
+        }
+        return result;
+    }
+
+    private static boolean isIgnored(Class<?> clazz) {
+        return clazz.isPrimitive() || clazz.isSynthetic() || clazz.getName().startsWith("java")
+                || clazz.getName().startsWith("sun");
+    }
+
+    private static Map<Class<?>, VisitedClass> visitInParallel(List<Class<?>> roots, Visitor visitor) {
+        Map<Class<?>, VisitedClass> visitedClasses = new ConcurrentHashMap<>();
+        Set<Class<?>> discovered = ConcurrentHashMap.newKeySet();
+        List<VisitTask> tasks = new ArrayList<>();
+        for (Class<?> root : roots) {
+            if (!isIgnored(root) && discovered.add(root)) {
+                tasks.add(new VisitTask(root, visitor, discovered, visitedClasses));
+            }
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        return visitedClasses;
+    }
+
+    private static final class VisitedClass {
+
+        private final ScanResult contributions = new ScanResult();
+
+        private final List<Class<?>> references = new ArrayList<>();
+
+        VisitedClass(Class<?> clazz, Visitor visitor) {
+            visitor.visit(clazz, contributions, references::add);
+        }
+
+    }
+
+    private static final class VisitTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Class<?> clazz;
+
+        private final transient Visitor visitor;
+
+        private final transient Set<Class<?>> discovered;
+
+        private final transient Map<Class<?>, VisitedClass> visitedClasses;
+
+        VisitTask(Class<?> clazz, Visitor visitor, Set<Class<?>> discovered, Map<Class<?>, VisitedClass> visitedClasses) {
+            this.clazz = clazz;
+            this.visitor = visitor;
+            this.discovered = discovered;
+            this.visitedClasses = visitedClasses;
+        }
+
+        @Override
+        protected void compute() {
+            VisitedClass visited;
+            try {
+                visited = new VisitedClass(clazz, visitor);
+            } catch (RuntimeException | LinkageError e) {
+                // the class might be skipped by the sequential walk anyway, if not it fails there
+                return;
+            }
+            visitedClasses.put(clazz, visited);
+            List<VisitTask> subtasks = new ArrayList<>();
+            for (Class<?> reference : visited.references) {
+                if (!isIgnored(reference) && discovered.add(reference)) {
+                    subtasks.add(new VisitTask(reference, visitor, discovered, visitedClasses));
+                }
+            }
+            invokeAll(subtasks);
+        }
+
+    }
+
+}
@@ -0,0 +1,271 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jboss.jandex.IndexReader;
+import org.jboss.weld.environment.se.Weld;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * Resolves the classes of a package from an index of the classpath which is built once per JVM, instead of letting Weld SE
+ * scan the directories and jars containing the package on every container boot. The names of all classes of a classpath
+ * entry are collected the first time a package of that entry is requested. A prebuilt Jandex index
+ * ({@code META-INF/jandex.idx}) of a jar is used instead of listing its entries if Jandex is present on the classpath.
+ * </p>
+ *
+ * <p>
+ * Whenever a package cannot be resolved, e.g. because its classes are not loaded from a directory or a jar, the package is
+ * added to Weld as usual.
+ * </p>
+ */
+public final class ClassIndex {
+
+    /**
+     * By default, Weld SE scans the packages on every container boot. Set this system property to {@code true} to resolve
+     * the classes of packages added to a test deployment through the per-JVM class index.
+     */
+    public static final String CLASS_INDEX = "org.jboss.weld.junit.classIndex";
+
+    private static final Logger LOGGER = Logger.getLogger(ClassIndex.class.getName());
+
+    private static final String JANDEX_INDEX = "META-INF/jandex.idx";
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private static final boolean JANDEX_AVAILABLE = isClassAvailable("org.jboss.jandex.IndexReader");
+
+    // binary names of all classes of a classpath entry, keyed by the URI of the entry
+    private static final Map<String, SortedSet<String>> ENTRIES = new ConcurrentHashMap<>();
+
+    private ClassIndex() {
+    }
+
+    /**
+     *
+     * @return <code>true</code> if packages should be resolved through the class index, <code>false</code> otherwise
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(CLASS_INDEX, "false"));
+    }
+
+    /**
+     * Adds all classes of the package of the given class to the deployment. This is equivalent to
+     * {@link Weld#addPackage(boolean, Class)}, except that the classes are resolved through the class index if it is
+     * enabled.
+     *
+     * @param weld
+     * @param recursively
+     * @param packageClass
+     * @return the given {@link Weld} instance
+     */
+    public static Weld addPackage(Weld weld, boolean recursively, Class<?> packageClass) {
+        List<Class<?>> classes = isEnabled() ? getPackageClasses(recursively, packageClass) : null;
+        if (classes == null) {
+            return weld.addPackage(recursively, packageClass);
+        }
+        return weld.addBeanClasses(classes.toArray(new Class<?>[0]));
+    }
+
+    /**
+     *
+     * @param recursively
+     * @param packageClass
+     * @return the classes of the package of the given class or {@code null} if the package cannot be resolved through the
+     *         index
+     */
+    static List<Class<?>> getPackageClasses(boolean recursively, Class<?> packageClass) {
+        String packageName = packageClass.getPackageName();
+        ClassLoader classLoader = packageClass.getClassLoader();
+        if (packageName.isEmpty() || classLoader == null) {
+            return null;
+        }
+        Set<String> entries = new LinkedHashSet<>();
+        try {
+            CodeSource codeSource = packageClass.getProtectionDomain().getCodeSource();
+            if (codeSource != null && codeSource.getLocation() != null) {
+                entries.add(toEntry(codeSource.getLocation().toURI()));
+            }
+            Enumeration<URL> resources = classLoader.getResources(packageName.replace('.', '/'));
+            while (resources.hasMoreElements()) {
+                String entry = getEntry(resources.nextElement(), packageName);
+                if (entry == null) {
+                    return null;
+                }
+                entries.add(entry);
+            }
+        } catch (IOException | URISyntaxException | SecurityException e) {
+            LOGGER.log(Level.FINE, "Unable to resolve package " + packageName + " through the class index", e);
+            return null;
+        }
+
+        Set<Class<?>> result = new LinkedHashSet<>();
+        for (String entry : entries) {
+            SortedSet<String> classNames = getClassNames(entry);
+            if (classNames == null) {
+                return null;
+            }
+            for (String className : classNames) {
+                if (isInPackage(className, packageName, recursively)) {
+                    try {
+                        result.add(Class.forName(className, false, classLoader));
+                    } catch (ClassNotFoundException | LinkageError e) {
+                        // Weld SE ignores classes which cannot be loaded as well
+                        LOGGER.log(Level.FINE, "Unable to load class " + className, e);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private static boolean isInPackage(String className, String packageName, boolean recursively) {
+        if (!className.startsWith(packageName) || className.length() <= packageName.length()
+                || className.charAt(packageName.length()) != '.') {
+            return false;
+        }
+        return recursively || className.indexOf('.', packageName.length() + 1) == -1;
+    }
+
+    /**
+     *
+     * @param resource the URL of the package directory
+     * @param packageName
+     * @return the URI of the classpath entry containing the package or {@code null} if it cannot be determined
+     */
+    private static String getEntry(URL resource, String packageName) throws IOException, URISyntaxException {
+        if ("file".equals(resource.getProtocol())) {
+            Path root = Paths.get(resource.toURI());
+            for (int i = packageName.split("\\.").length; i > 0; i--) {
+                root = root.getParent();
+            }
+            return toEntry(root.toUri());
+        }
+        if ("jar".equals(resource.getProtocol())) {
+            return toEntry(((JarURLConnection) resource.openConnection()).getJarFileURL().toURI());
+        }
+        return null;
+    }
+
+    private static String toEntry(URI uri) {
+        // the same file may be denoted by different URIs, e.g. file:/foo and file:///foo
+        return "file".equals(uri.getScheme()) ? Paths.get(uri).toUri().toString() : uri.toString();
+    }
+
+    private static SortedSet<String> getClassNames(String entry) {
+        SortedSet<String> classNames = ENTRIES.get(entry);
+        if (classNames == null) {
+            try {
+                classNames = Collections.unmodifiableSortedSet(indexEntry(Paths.get(URI.create(entry))));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.FINE, "Unable to index classpath entry " + entry, e);
+                return null;
+            }
+            // entries are immutable during a test run, it does not matter which thread indexed an entry first
+            ENTRIES.putIfAbsent(entry, classNames);
+        }
+        return classNames;
+    }
+
+    private static SortedSet<String> indexEntry(Path entry) throws IOException {
+        SortedSet<String> classNames = new TreeSet<>();
+        if (Files.isDirectory(entry)) {
+            try (Stream<Path> files = Files.walk(entry)) {
+                for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                    String path = entry.relativize(file).toString();
+                    addClassName(classNames, path.replace(file.getFileSystem().getSeparator(), "/"));
+                }
+            }
+            return classNames;
+        }
+        try (JarFile jar = new JarFile(entry.toFile())) {
+            JarEntry jandexIndex = JANDEX_AVAILABLE ? jar.getJarEntry(JANDEX_INDEX) : null;
+            if (jandexIndex != null) {
+                try (InputStream in = jar.getInputStream(jandexIndex)) {
+                    classNames.addAll(JandexSupport.readClassNames(in));
+                    return classNames;
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.FINE, "Ignoring invalid Jandex index of " + entry, e);
+                    classNames.clear();
+                }
+            }
+            Enumeration<JarEntry> jarEntries = jar.entries();
+            while (jarEntries.hasMoreElements()) {
+                addClassName(classNames, jarEntries.nextElement().getName());
+            }
+        }
+        return classNames;
+    }
+
+    private static void addClassName(Set<String> classNames, String path) {
+        if (path.endsWith(CLASS_SUFFIX) && !path.startsWith("META-INF/") && !path.endsWith("module-info.class")
+                && !path.endsWith("package-info.class")) {
+            classNames.add(path.substring(0, path.length() - CLASS_SUFFIX.length()).replace('/', '.'));
+        }
+    }
+
+    private static boolean isClassAvailable(String className) {
+        try {
+            Class.forName(className, false, ClassIndex.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Isolates the optional Jandex dependency.
+     */
+    private static final class JandexSupport {
+
+        static List<String> readClassNames(InputStream in) throws IOException {
+            return new IndexReader(in).read().getKnownClasses().stream()
+                    .map(classInfo -> classInfo.name().toString())
+                    .collect(Collectors.toList());
+        }
+
+    }
+
+}
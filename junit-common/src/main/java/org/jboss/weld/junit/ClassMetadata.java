@@ -0,0 +1,439 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * Reflective metadata of a single class used by the <b>automagic</b> class scanning. The declared fields, methods,
+ * constructors and annotations of each level of the class hierarchy are visited exactly once and classified by all
+ * annotations which are present on them, either directly or as meta-annotations. The result is memoized in a
+ * {@link ClassValue}, so every class is only inspected once per class loader no matter how many tests reference it.
+ * </p>
+ *
+ * <p>
+ * The lookups follow the semantics of the JUnit Platform {@code AnnotationSupport} which was used before:
+ * </p>
+ * <ul>
+ * <li>fields are searched top-down in the superclasses and interfaces,</li>
+ * <li>methods are searched bottom-up in the superclasses and the default methods of interfaces and methods overridden in
+ * a subclass are skipped,</li>
+ * <li>class annotations are searched on the class, its interfaces and, for {@link Inherited} annotations, its
+ * superclasses and repeatable annotations are returned top-down.</li>
+ * </ul>
+ */
+public final class ClassMetadata {
+
+    private static final ClassValue<ClassMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    /**
+     * All annotation types which are present on an annotation of the given type, including the type itself and the
+     * elements of a repeatable container.
+     */
+    private static final ClassValue<Set<Class<? extends Annotation>>> META_ANNOTATIONS = new ClassValue<>() {
+        @Override
+        protected Set<Class<? extends Annotation>> computeValue(Class<?> type) {
+            Set<Class<? extends Annotation>> result = new HashSet<>();
+            Deque<Class<? extends Annotation>> toProcess = new ArrayDeque<>();
+            toProcess.add(type.asSubclass(Annotation.class));
+            while (!toProcess.isEmpty()) {
+                Class<? extends Annotation> current = toProcess.poll();
+                if (!result.add(current) || isJavaLangAnnotation(current)) {
+                    continue;
+                }
+                Class<? extends Annotation> element = getRepeatableElement(current);
+                if (element != null) {
+                    toProcess.add(element);
+                }
+                for (Annotation meta : current.getDeclaredAnnotations()) {
+                    toProcess.add(meta.annotationType());
+                }
+            }
+            return Collections.unmodifiableSet(result);
+        }
+    };
+
+    private final Class<?> type;
+
+    private final List<Field> fields;
+
+    private final List<Method> methods;
+
+    private final Map<Class<? extends Annotation>, List<Field>> fieldsByAnnotation;
+
+    private final Map<Class<? extends Annotation>, List<Method>> methodsByAnnotation;
+
+    private final Map<Class<? extends Annotation>, List<Field>> declaredFieldsByAnnotation;
+
+    private final Map<Class<? extends Annotation>, List<Method>> declaredMethodsByAnnotation;
+
+    private final Map<Class<? extends Annotation>, List<Constructor<?>>> declaredConstructorsByAnnotation;
+
+    private final Map<Class<? extends Annotation>, Set<Annotation>> annotations;
+
+    private ClassMetadata(Class<?> type) {
+        this.type = type;
+        Class<?> superclass = type.getSuperclass();
+        ClassMetadata superMetadata = superclass != null && superclass != Object.class ? of(superclass) : null;
+        List<ClassMetadata> interfaceMetadata = new ArrayList<>();
+        for (Class<?> ifc : type.getInterfaces()) {
+            if (ifc != Annotation.class) {
+                interfaceMetadata.add(of(ifc));
+            }
+        }
+
+        Field[] declaredFields = type.getDeclaredFields();
+        Method[] declaredMethods = type.getDeclaredMethods();
+        this.declaredFieldsByAnnotation = classify(Arrays.asList(declaredFields));
+        this.declaredMethodsByAnnotation = classify(Arrays.asList(declaredMethods));
+        this.declaredConstructorsByAnnotation = classify(Arrays.asList(type.getDeclaredConstructors()));
+
+        // fields - top-down
+        List<Field> allFields = new ArrayList<>();
+        if (superMetadata != null) {
+            allFields.addAll(superMetadata.fields);
+        }
+        for (ClassMetadata ifc : interfaceMetadata) {
+            allFields.addAll(ifc.fields);
+        }
+        for (Field field : declaredFields) {
+            if (!field.isSynthetic()) {
+                allFields.add(field);
+            }
+        }
+        this.fields = Collections.unmodifiableList(allFields);
+        this.fieldsByAnnotation = classify(fields);
+
+        // methods - bottom-up, skip methods overridden by local methods
+        List<Method> localMethods = new ArrayList<>();
+        Set<Signature> localSignatures = new HashSet<>();
+        for (Method method : declaredMethods) {
+            if (!method.isSynthetic()) {
+                localMethods.add(method);
+                localSignatures.add(new Signature(method));
+            }
+        }
+        Set<Method> allMethods = new LinkedHashSet<>(localMethods);
+        if (superMetadata != null) {
+            addNotShadowed(superMetadata.methods, localSignatures, false, allMethods);
+        }
+        for (ClassMetadata ifc : interfaceMetadata) {
+            // only default and static methods of interfaces are relevant
+            addNotShadowed(ifc.methods, localSignatures, true, allMethods);
+        }
+        this.methods = Collections.unmodifiableList(new ArrayList<>(allMethods));
+        this.methodsByAnnotation = classify(methods);
+
+        // class annotations - top-down
+        Map<Class<? extends Annotation>, Set<Annotation>> allAnnotations = new LinkedHashMap<>();
+        if (superMetadata != null) {
+            superMetadata.annotations.forEach((annotationType, found) -> {
+                if (isInherited(annotationType)) {
+                    allAnnotations.computeIfAbsent(annotationType, key -> new LinkedHashSet<>()).addAll(found);
+                }
+            });
+        }
+        for (ClassMetadata ifc : interfaceMetadata) {
+            ifc.annotations.forEach((annotationType, found) -> allAnnotations
+                    .computeIfAbsent(annotationType, key -> new LinkedHashSet<>()).addAll(found));
+        }
+        Set<Annotation> visited = new HashSet<>();
+        collectAnnotations(type.getDeclaredAnnotations(), allAnnotations, visited);
+        collectAnnotations(type.getAnnotations(), allAnnotations, visited);
+        this.annotations = allAnnotations;
+    }
+
+    /**
+     *
+     * @param clazz
+     * @return the memoized metadata of the given class
+     */
+    public static ClassMetadata of(Class<?> clazz) {
+        return METADATA.get(clazz);
+    }
+
+    /**
+     *
+     * @param element a field, method, constructor or parameter
+     * @param annotationType
+     * @return <code>true</code> if the annotation is present on the given element, either directly or as a
+     *         meta-annotation, <code>false</code> otherwise
+     */
+    public static boolean isAnnotated(AnnotatedElement element, Class<? extends Annotation> annotationType) {
+        for (Annotation annotation : element.getDeclaredAnnotations()) {
+            if (META_ANNOTATIONS.get(annotation.annotationType()).contains(annotationType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     *
+     * @param annotationType
+     * @return all fields of the class hierarchy annotated with the given annotation type, top-down
+     */
+    public List<Field> getFields(Class<? extends Annotation> annotationType) {
+        return fieldsByAnnotation.getOrDefault(annotationType, Collections.emptyList());
+    }
+
+    /**
+     *
+     * @param annotationType
+     * @return the fields declared by the class itself which are annotated with the given annotation type
+     */
+    public List<Field> getDeclaredFields(Class<? extends Annotation> annotationType) {
+        return declaredFieldsByAnnotation.getOrDefault(annotationType, Collections.emptyList());
+    }
+
+    /**
+     *
+     * @return all methods of the class hierarchy except for overridden ones, bottom-up
+     */
+    public List<Method> getMethods() {
+        return methods;
+    }
+
+    /**
+     *
+     * @param annotationType
+     * @return all methods of the class hierarchy annotated with the given annotation type except for overridden ones,
+     *         bottom-up
+     */
+    public List<Method> getMethods(Class<? extends Annotation> annotationType) {
+        return methodsByAnnotation.getOrDefault(annotationType, Collections.emptyList());
+    }
+
+    /**
+     *
+     * @param annotationType
+     * @return the methods declared by the class itself which are annotated with the given annotation type
+     */
+    public List<Method> getDeclaredMethods(Class<? extends Annotation> annotationType) {
+        return declaredMethodsByAnnotation.getOrDefault(annotationType, Collections.emptyList());
+    }
+
+    /**
+     *
+     * @param annotationType
+     * @return the first constructor annotated with the given annotation type, searching the class and then its superclasses
+     */
+    public Optional<Constructor<?>> findFirstConstructor(Class<? extends Annotation> annotationType) {
+        List<Constructor<?>> found = declaredConstructorsByAnnotation.get(annotationType);
+        if (found != null) {
+            return Optional.of(found.get(0));
+        }
+        Class<?> superclass = type.getSuperclass();
+        return superclass != null ? of(superclass).findFirstConstructor(annotationType) : Optional.empty();
+    }
+
+    /**
+     *
+     * @param annotationType
+     * @return <code>true</code> if the annotation is present on the class, <code>false</code> otherwise
+     */
+    public boolean isAnnotated(Class<? extends Annotation> annotationType) {
+        return annotations.containsKey(annotationType);
+    }
+
+    /**
+     *
+     * @param annotationType
+     * @return the annotation present on the class, the one closest to the class wins
+     */
+    public <A extends Annotation> Optional<A> findAnnotation(Class<A> annotationType) {
+        A direct = type.getDeclaredAnnotation(annotationType);
+        if (direct != null) {
+            return Optional.of(direct);
+        }
+        Set<Annotation> found = annotations.get(annotationType);
+        if (found == null) {
+            return Optional.empty();
+        }
+        Annotation last = null;
+        for (Annotation annotation : found) {
+            last = annotation;
+        }
+        return Optional.of(annotationType.cast(last));
+    }
+
+    /**
+     *
+     * @param annotationType
+     * @return all annotations of the given repeatable type present on the class, top-down
+     */
+    public <A extends Annotation> List<A> getRepeatableAnnotations(Class<A> annotationType) {
+        Set<Annotation> found = annotations.get(annotationType);
+        if (found == null) {
+            return Collections.emptyList();
+        }
+        List<A> result = new ArrayList<>(found.size());
+        for (Annotation annotation : found) {
+            result.add(annotationType.cast(annotation));
+        }
+        return result;
+    }
+
+    private static void addNotShadowed(List<Method> candidates, Set<Signature> localSignatures, boolean skipAbstract,
+            Set<Method> result) {
+        for (Method candidate : candidates) {
+            if (skipAbstract && Modifier.isAbstract(candidate.getModifiers())) {
+                continue;
+            }
+            if (!localSignatures.contains(new Signature(candidate))) {
+                result.add(candidate);
+            }
+        }
+    }
+
+    private static <E extends AnnotatedElement> Map<Class<? extends Annotation>, List<E>> classify(List<E> elements) {
+        Map<Class<? extends Annotation>, List<E>> result = new HashMap<>();
+        for (E element : elements) {
+            Annotation[] declared = element.getDeclaredAnnotations();
+            if (declared.length == 0) {
+                continue;
+            }
+            Set<Class<? extends Annotation>> present = new HashSet<>();
+            for (Annotation annotation : declared) {
+                present.addAll(META_ANNOTATIONS.get(annotation.annotationType()));
+            }
+            for (Class<? extends Annotation> annotationType : present) {
+                result.computeIfAbsent(annotationType, key -> new ArrayList<>()).add(element);
+            }
+        }
+        return result;
+    }
+
+    private static void collectAnnotations(Annotation[] candidates, Map<Class<? extends Annotation>, Set<Annotation>> result,
+            Set<Annotation> visited) {
+        for (Annotation candidate : candidates) {
+            Class<? extends Annotation> candidateType = candidate.annotationType();
+            result.computeIfAbsent(candidateType, key -> new LinkedHashSet<>()).add(candidate);
+            if (isJavaLangAnnotation(candidateType)) {
+                continue;
+            }
+            Class<? extends Annotation> element = getRepeatableElement(candidateType);
+            if (element != null) {
+                try {
+                    Method value = candidateType.getDeclaredMethod("value");
+                    // containers are often not public, e.g. nested in the repeatable annotation
+                    value.setAccessible(true);
+                    Annotation[] contained = (Annotation[]) value.invoke(candidate);
+                    Set<Annotation> found = result.computeIfAbsent(element, key -> new LinkedHashSet<>());
+                    found.addAll(Arrays.asList(contained));
+                    collectAnnotations(contained, result, visited);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Unable to read repeatable annotations of " + candidate, e);
+                }
+            } else if (visited.add(candidate)) {
+                collectAnnotations(candidateType.getDeclaredAnnotations(), result, visited);
+            }
+        }
+    }
+
+    private static boolean isInherited(Class<? extends Annotation> annotationType) {
+        return annotationType.isAnnotationPresent(Inherited.class);
+    }
+
+    private static boolean isJavaLangAnnotation(Class<? extends Annotation> annotationType) {
+        return annotationType.getName().startsWith("java.lang.annotation");
+    }
+
+    /**
+     *
+     * @param annotationType
+     * @return the repeatable annotation type if the given type is its container, {@code null} otherwise
+     */
+    private static Class<? extends Annotation> getRepeatableElement(Class<? extends Annotation> annotationType) {
+        try {
+            Class<?> valueType = annotationType.getMethod("value").getReturnType();
+            if (valueType.isArray() && valueType.getComponentType().isAnnotation()) {
+                Class<? extends Annotation> element = valueType.getComponentType().asSubclass(Annotation.class);
+                Repeatable repeatable = element.getAnnotation(Repeatable.class);
+                if (repeatable != null && repeatable.value() == annotationType) {
+                    return element;
+                }
+            }
+        } catch (NoSuchMethodException e) {
+            // not a container
+        }
+        return null;
+    }
+
+    private static final class Signature {
+
+        private final String name;
+
+        private final Class<?>[] parameterTypes;
+
+        Signature(Method method) {
+            this.name = method.getName();
+            this.parameterTypes = method.getParameterTypes();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) obj;
+            return name.equals(other.name) && Arrays.equals(parameterTypes, other.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + Arrays.hashCode(parameterTypes);
+        }
+
+    }
+
+}
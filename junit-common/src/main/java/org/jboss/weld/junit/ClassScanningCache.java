@@ -0,0 +1,253 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * Persists {@link ScanResult}s to disk so that other JVMs, e.g. further Surefire forks or the next build, can skip the
+ * class scanning of a test class. An entry is keyed by the scanner, the test classes and the explicit injection flag and it
+ * holds the content hash of the class file of every scanned class and its supertypes. The entry is only used if none of
+ * these class files changed, otherwise the test classes are scanned again and the entry is replaced.
+ * </p>
+ *
+ * <p>
+ * Entries are written to a temporary file first and then moved in place, so that forks running in parallel never read a
+ * partially written entry. Any I/O problem only results in scanning the classes again.
+ * </p>
+ *
+ * @see #CLASS_SCANNING_CACHE
+ * @see #CLASS_SCANNING_CACHE_DIR
+ */
+public final class ClassScanningCache {
+
+    /**
+     * Global system property enabling the on-disk cache of class scanning results.
+     */
+    public static final String CLASS_SCANNING_CACHE = "org.jboss.weld.junit.classScanningCache";
+
+    /**
+     * Global system property overriding the directory of the class scanning cache, defaults to
+     * {@code target/weld-testing-cache}.
+     */
+    public static final String CLASS_SCANNING_CACHE_DIR = "org.jboss.weld.junit.classScanningCache.dir";
+
+    private static final Logger LOGGER = Logger.getLogger(ClassScanningCache.class.getName());
+
+    private static final String DEFAULT_DIR = "target/weld-testing-cache";
+
+    private static final String KEY = "key";
+    // shared with the entries of the ScanIndex
+    static final String HASH_PREFIX = "hash.";
+
+    private ClassScanningCache() {
+    }
+
+    /**
+     *
+     * @return <code>true</code> if class scanning results should be cached on disk, <code>false</code> otherwise
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(CLASS_SCANNING_CACHE, "false"));
+    }
+
+    /**
+     * Returns the cached result for the given test classes if the cache is enabled and none of the scanned class files
+     * changed since the result was stored. Otherwise the given scanner is invoked and its result is stored.
+     *
+     * @param scanner identifies the integration, e.g. {@code junit5}
+     * @param testClasses
+     * @param explicitInjection
+     * @param scan performs the actual class scanning
+     * @return the scan result
+     */
+    public static ScanResult getOrScan(String scanner, List<Class<?>> testClasses, boolean explicitInjection,
+            Supplier<ScanResult> scan) {
+        if (!isEnabled() || testClasses.isEmpty()) {
+            return scan.get();
+        }
+        String key = scanner + '|' + explicitInjection + '|'
+                + testClasses.stream().map(Class::getName).collect(Collectors.joining(","));
+        Path entry = getDirectory().resolve(toHex(digest(key.getBytes(StandardCharsets.UTF_8))) + ".properties");
+        ClassLoader classLoader = testClasses.get(0).getClassLoader();
+
+        ScanResult cached = load(entry, key, classLoader);
+        if (cached != null) {
+            return cached;
+        }
+        ScanResult result = scan.get();
+        store(entry, key, result);
+        return result;
+    }
+
+    private static Path getDirectory() {
+        String dir = System.getProperty(CLASS_SCANNING_CACHE_DIR, "");
+        return Paths.get(dir.isEmpty() ? DEFAULT_DIR : dir);
+    }
+
+    private static ScanResult load(Path entry, String key, ClassLoader classLoader) {
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(entry)) {
+            properties.load(in);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Unable to read class scanning cache entry " + entry, e);
+            return null;
+        }
+        if (!key.equals(properties.getProperty(KEY))) {
+            return null;
+        }
+        try {
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith(HASH_PREFIX)) {
+                    Class<?> clazz = Class.forName(name.substring(HASH_PREFIX.length()), false, classLoader);
+                    if (!properties.getProperty(name).equals(hashClassFile(clazz))) {
+                        return null;
+                    }
+                }
+            }
+            return ScanResult.fromProperties(properties, classLoader);
+        } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+            // a class was removed or renamed, or the entry is corrupted
+            LOGGER.log(Level.FINE, "Discarding class scanning cache entry " + entry, e);
+            return null;
+        }
+    }
+
+    private static void store(Path entry, String key, ScanResult result) {
+        Map<String, String> hashes = new TreeMap<>();
+        for (Class<?> scannedClass : result.getScannedClasses()) {
+            for (Class<?> type : getTypeClosure(scannedClass)) {
+                String hash = hashClassFile(type);
+                if (hash == null) {
+                    // the class file is not accessible, e.g. a class defined at runtime
+                    return;
+                }
+                hashes.put(HASH_PREFIX + type.getName(), hash);
+            }
+        }
+        Properties properties = result.toProperties();
+        properties.setProperty(KEY, key);
+        properties.putAll(hashes);
+
+        Path tmp = null;
+        try {
+            Files.createDirectories(entry.getParent());
+            tmp = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, null);
+            }
+            try {
+                Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Unable to write class scanning cache entry " + entry, e);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // nothing we can do
+                }
+            }
+        }
+    }
+
+    /**
+     * The members inspected by the scanners include inherited ones, so the cache entry depends on all supertypes too.
+     */
+    static List<Class<?>> getTypeClosure(Class<?> clazz) {
+        List<Class<?>> result = new ArrayList<>();
+        List<Class<?>> toProcess = new ArrayList<>();
+        toProcess.add(clazz);
+        while (!toProcess.isEmpty()) {
+            Class<?> current = toProcess.remove(0);
+            if (current == null || current.isPrimitive() || current.isArray() || result.contains(current)
+                    || current.getName().startsWith("java")) {
+                continue;
+            }
+            result.add(current);
+            toProcess.add(current.getSuperclass());
+            toProcess.addAll(List.of(current.getInterfaces()));
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @param clazz
+     * @return the hex encoded SHA-256 hash of the class file or {@code null} if it cannot be read
+     */
+    static String hashClassFile(Class<?> clazz) {
+        String resourceName = clazz.getName().replace('.', '/') + ".class";
+        ClassLoader classLoader = clazz.getClassLoader();
+        URL resource = classLoader != null ? classLoader.getResource(resourceName)
+                : ClassLoader.getSystemResource(resourceName);
+        if (resource == null) {
+            return null;
+        }
+        try (InputStream in = resource.openStream()) {
+            return toHex(digest(in.readAllBytes()));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] digest(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+}
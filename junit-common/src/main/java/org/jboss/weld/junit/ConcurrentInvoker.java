@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * Runs a test method body a number of times concurrently, each invocation on a thread of its own and with contexts of its
+ * own. Virtual threads are used if the runtime supports them, i.e. on Java 21 and later, platform threads otherwise. The
+ * virtual threads are created reflectively so that the library itself can still be used on Java 11.
+ * </p>
+ */
+public final class ConcurrentInvoker {
+
+    /**
+     * The body of a test method.
+     */
+    @FunctionalInterface
+    public interface Invocation {
+
+        void invoke() throws Throwable;
+
+    }
+
+    private ConcurrentInvoker() {
+    }
+
+    /**
+     * Runs the given invocation on the given number of threads at once and waits for all of them to complete.
+     *
+     * @param invocations the number of concurrent invocations
+     * @param name the name of the invoked test, used to name the threads
+     * @param contextActivation activates the contexts on the current thread and returns their deactivation
+     * @param invocation
+     * @throws Throwable the failure of the first failed invocation, with the failures of other invocations suppressed
+     */
+    public static void invoke(int invocations, String name, Supplier<Runnable> contextActivation, Invocation invocation)
+            throws Throwable {
+        if (invocations < 1) {
+            throw new IllegalArgumentException("The number of concurrent invocations must be positive: " + invocations);
+        }
+        ThreadFactory threadFactory = newThreadFactory("weld-concurrent-" + name);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>(invocations);
+        try {
+            for (int i = 0; i < invocations; i++) {
+                Thread thread = threadFactory.newThread(() -> {
+                    try {
+                        // let all the invocations start at once, to maximize contention
+                        start.await();
+                        Runnable deactivation = contextActivation.get();
+                        try {
+                            invocation.invoke();
+                        } finally {
+                            deactivation.run();
+                        }
+                    } catch (Throwable t) {
+                        failures.add(t);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+        } finally {
+            start.countDown();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            threads.forEach(Thread::interrupt);
+            throw e;
+        }
+        Iterator<Throwable> iterator = failures.iterator();
+        if (iterator.hasNext()) {
+            Throwable failure = iterator.next();
+            iterator.forEachRemaining(failure::addSuppressed);
+            throw failure;
+        }
+    }
+
+    private static ThreadFactory newThreadFactory(String name) {
+        ThreadFactory threadFactory = newVirtualThreadFactory(name);
+        if (threadFactory != null) {
+            return threadFactory;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ThreadFactory newVirtualThreadFactory(String name) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            // virtual threads are not available (or still a preview feature) on this runtime
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.lang.reflect.Type;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.inject.Any;
+
+import org.jboss.weld.environment.se.WeldContainer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * Emits JDK Flight Recorder events for the steps of the container lifecycle so that the work Weld does for a test can be
+ * correlated with GC, allocation and lock events of the same recording, e.g. one started with
+ * {@code -XX:StartFlightRecording}. Each event carries the id of the test, the id of the container and the number of beans
+ * of the deployment.
+ * </p>
+ *
+ * <p>
+ * Unless a recording with these events enabled is running, only the begin and end of each step are observed which the JIT
+ * compiler removes entirely; the bean count and the other details are only computed if an event is recorded. On a runtime
+ * without the {@code jdk.jfr} module the actions are just invoked.
+ * </p>
+ */
+public final class ContainerEvents {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private ContainerEvents() {
+    }
+
+    /**
+     *
+     * @param testId
+     * @param boot boots the container
+     * @return the booted container
+     */
+    public static WeldContainer boot(String testId, Supplier<WeldContainer> boot) {
+        return AVAILABLE ? Recorder.boot(testId, boot) : boot.get();
+    }
+
+    /**
+     *
+     * @param testId may be {@code null} if the container is not shut down on behalf of a particular test
+     * @param container
+     * @param shutdown shuts down the container
+     */
+    public static void shutdown(String testId, WeldContainer container, Runnable shutdown) {
+        if (AVAILABLE) {
+            Recorder.shutdown(testId, container, shutdown);
+        } else {
+            shutdown.run();
+        }
+    }
+
+    /**
+     *
+     * @param testId
+     * @param container
+     * @param activation activates the contexts
+     */
+    public static void activateContexts(String testId, WeldContainer container, Runnable activation) {
+        if (AVAILABLE) {
+            Recorder.activateContexts(testId, container, activation);
+        } else {
+            activation.run();
+        }
+    }
+
+    /**
+     *
+     * @param testId
+     * @param container
+     * @param injection injects the test instances
+     */
+    public static void injectInstances(String testId, WeldContainer container, Runnable injection) {
+        if (AVAILABLE) {
+            Recorder.injectInstances(testId, container, injection);
+        } else {
+            injection.run();
+        }
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param testId
+     * @param container
+     * @param parameterType
+     * @param resolution resolves the parameter
+     * @return the resolved parameter
+     */
+    public static <T> T resolveParameter(String testId, WeldContainer container, Type parameterType,
+            Supplier<T> resolution) {
+        return AVAILABLE ? Recorder.resolveParameter(testId, container, parameterType, resolution) : resolution.get();
+    }
+
+    /**
+     * The bean count of a class scan is the number of bean classes found, there is no container yet.
+     *
+     * @param testId
+     * @param scan scans the test classes
+     * @return the result of the scan
+     */
+    public static ScanResult scanClasses(String testId, Supplier<ScanResult> scan) {
+        return AVAILABLE ? Recorder.scanClasses(testId, scan) : scan.get();
+    }
+
+    // Only loaded if the jdk.jfr module is present
+    private static final class Recorder {
+
+        static WeldContainer boot(String testId, Supplier<WeldContainer> boot) {
+            WeldContainerBoot event = new WeldContainerBoot();
+            event.begin();
+            WeldContainer container = null;
+            try {
+                container = boot.get();
+                return container;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.describe(testId, container);
+                    event.commit();
+                }
+            }
+        }
+
+        static void shutdown(String testId, WeldContainer container, Runnable shutdown) {
+            record(new WeldContainerShutdown(), testId, container, shutdown);
+        }
+
+        static void activateContexts(String testId, WeldContainer container, Runnable activation) {
+            record(new ContextActivation(), testId, container, activation);
+        }
+
+        static void injectInstances(String testId, WeldContainer container, Runnable injection) {
+            record(new TestInstanceInjection(), testId, container, injection);
+        }
+
+        private static void record(ContainerEvent event, String testId, WeldContainer container, Runnable action) {
+            // the container may not be running anymore once the action is done
+            if (event.isEnabled()) {
+                event.describe(testId, container);
+            }
+            event.begin();
+            try {
+                action.run();
+            } finally {
+                event.commit();
+            }
+        }
+
+        static <T> T resolveParameter(String testId, WeldContainer container, Type parameterType, Supplier<T> resolution) {
+            ParameterResolution event = new ParameterResolution();
+            event.begin();
+            try {
+                return resolution.get();
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.describe(testId, container);
+                    event.parameterType = parameterType.getTypeName();
+                    event.commit();
+                }
+            }
+        }
+
+        static ScanResult scanClasses(String testId, Supplier<ScanResult> scan) {
+            ClassScan event = new ClassScan();
+            event.begin();
+            ScanResult result = null;
+            try {
+                result = scan.get();
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.testId = testId;
+                    if (result != null) {
+                        event.beanCount = result.getBeanClasses().size();
+                        event.scannedClassCount = result.getScannedClasses().size();
+                    }
+                    event.commit();
+                }
+            }
+        }
+
+    }
+
+    @Category({ "Weld", "Testing" })
+    abstract static class ContainerEvent extends Event {
+
+        @Label("Test Id")
+        String testId;
+
+        @Label("Container Id")
+        String containerId;
+
+        @Label("Bean Count")
+        @Description("The number of beans of the deployment, -1 if the container is not running")
+        int beanCount = -1;
+
+        void describe(String testId, WeldContainer container) {
+            this.testId = testId;
+            if (container != null) {
+                containerId = container.getId();
+                if (container.isRunning()) {
+                    beanCount = container.getBeanManager().getBeans(Object.class, Any.Literal.INSTANCE).size();
+                }
+            }
+        }
+
+    }
+
+    @Name("org.jboss.weld.junit.WeldContainerBoot")
+    @Label("Weld Container Boot")
+    static final class WeldContainerBoot extends ContainerEvent {
+    }
+
+    @Name("org.jboss.weld.junit.WeldContainerShutdown")
+    @Label("Weld Container Shutdown")
+    static final class WeldContainerShutdown extends ContainerEvent {
+    }
+
+    @Name("org.jboss.weld.junit.ContextActivation")
+    @Label("Context Activation")
+    @Description("Activation of the scopes to activate, only recorded if there are any")
+    static final class ContextActivation extends ContainerEvent {
+    }
+
+    @Name("org.jboss.weld.junit.TestInstanceInjection")
+    @Label("Test Instance Injection")
+    static final class TestInstanceInjection extends ContainerEvent {
+    }
+
+    @Name("org.jboss.weld.junit.ParameterResolution")
+    @Label("Parameter Resolution")
+    static final class ParameterResolution extends ContainerEvent {
+
+        @Label("Parameter Type")
+        String parameterType;
+
+    }
+
+    @Name("org.jboss.weld.junit.ClassScan")
+    @Label("Class Scan")
+    @Description("The bean count is the number of bean classes found by the scan")
+    static final class ClassScan extends ContainerEvent {
+
+        @Label("Scanned Class Count")
+        int scannedClassCount;
+
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * The time spent in each phase of the container lifecycle of a single test, see {@link ContainerProfiler}. Phases may be
+ * recorded from several threads and a phase may be recorded more than once, e.g. if a test method is retried, in which case
+ * the durations add up.
+ * </p>
+ */
+public final class ContainerProfile {
+
+    public enum Phase {
+
+        CLASS_SCANNING("classScanning"),
+        ENRICHMENT("enrichment"),
+        BOOT("boot"),
+        CONTEXT_ACTIVATION("contextActivation"),
+        INJECTION("injection"),
+        TEST("test"),
+        CONTEXT_DEACTIVATION("contextDeactivation"),
+        SHUTDOWN("shutdown");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+    }
+
+    private final String name;
+
+    private final long[] durations = new long[Phase.values().length];
+
+    private final long[] starts = new long[Phase.values().length];
+
+    public ContainerProfile(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Runs the given action and records its duration, even if it fails.
+     *
+     * @param profile may be {@code null} if profiling is disabled
+     * @param phase
+     * @param action
+     */
+    public static void run(ContainerProfile profile, Phase phase, Runnable action) {
+        if (profile == null) {
+            action.run();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            profile.add(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Invokes the given action and records its duration, even if it fails.
+     *
+     * @param <T>
+     * @param profile may be {@code null} if profiling is disabled
+     * @param phase
+     * @param action
+     * @return the result of the action
+     */
+    public static <T> T call(ContainerProfile profile, Phase phase, Supplier<T> action) {
+        if (profile == null) {
+            return action.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            profile.add(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     *
+     * @return the test this profile belongs to
+     */
+    public String getName() {
+        return name;
+    }
+
+    public synchronized void add(Phase phase, long nanos) {
+        durations[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * Starts timing a phase which does not fit into a single method call, e.g. the test itself which runs between two
+     * callbacks.
+     *
+     * @param phase
+     * @see #stop(Phase)
+     */
+    public synchronized void start(Phase phase) {
+        starts[phase.ordinal()] = System.nanoTime();
+    }
+
+    /**
+     * Records the duration since the phase was started, does nothing if it was not started.
+     *
+     * @param phase
+     */
+    public synchronized void stop(Phase phase) {
+        long start = starts[phase.ordinal()];
+        if (start != 0) {
+            add(phase, System.nanoTime() - start);
+            starts[phase.ordinal()] = 0;
+        }
+    }
+
+    /**
+     *
+     * @param phase
+     * @return the recorded duration in nanoseconds
+     */
+    public synchronized long getDuration(Phase phase) {
+        return durations[phase.ordinal()];
+    }
+
+    /**
+     *
+     * @return the sum of all recorded durations in nanoseconds
+     */
+    public synchronized long getTotal() {
+        long total = 0;
+        for (long duration : durations) {
+            total += duration;
+        }
+        return total;
+    }
+
+    /**
+     *
+     * @return the sum of all recorded durations except for the test itself in nanoseconds
+     */
+    public synchronized long getOverhead() {
+        return getTotal() - getDuration(Phase.TEST);
+    }
+
+    /**
+     * The recorded phases in milliseconds, e.g. {@code boot=120.500ms, injection=0.310ms, test=4.000ms, total=124.810ms}.
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            long duration = durations[phase.ordinal()];
+            if (duration > 0) {
+                builder.append(phase.getLabel()).append('=').append(formatMillis(duration)).append(", ");
+            }
+        }
+        return builder.append("total=").append(formatMillis(getTotal())).toString();
+    }
+
+    static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000.0);
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * Collects a {@link ContainerProfile} for every test if the system property {@value #PROFILER} is set to {@code true}. Each
+ * integration reports the profile of a finished test in its own way, e.g. as a JUnit 5 report entry, and all profiles are
+ * aggregated into a summary of the most expensive deployments which is logged once the test suite, or at the latest the
+ * JVM, finishes.
+ * </p>
+ */
+public final class ContainerProfiler {
+
+    /**
+     * By default, no profiles are collected. Set this system property to {@code true} to time the phases of the container
+     * lifecycle of each test.
+     */
+    public static final String PROFILER = "org.jboss.weld.junit.profiler";
+
+    /**
+     * The number of deployments listed in the summary, {@value #DEFAULT_SUMMARY_SIZE} by default.
+     */
+    public static final String PROFILER_SUMMARY_SIZE = "org.jboss.weld.junit.profiler.summarySize";
+
+    static final int DEFAULT_SUMMARY_SIZE = 10;
+
+    private static final Logger LOGGER = Logger.getLogger(ContainerProfiler.class.getName());
+
+    private static final Queue<ContainerProfile> FINISHED = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicBoolean SHUTDOWN_HOOK_REGISTERED = new AtomicBoolean();
+
+    private ContainerProfiler() {
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the container lifecycle of tests should be profiled, <code>false</code> otherwise
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(PROFILER, "false"));
+    }
+
+    /**
+     *
+     * @param name identifies the test
+     * @return a new profile or {@code null} if profiling is disabled
+     */
+    public static ContainerProfile start(String name) {
+        return isEnabled() ? new ContainerProfile(name) : null;
+    }
+
+    /**
+     * Adds the given profile to the summary.
+     *
+     * @param profile may be {@code null}
+     */
+    public static void finish(ContainerProfile profile) {
+        if (profile == null) {
+            return;
+        }
+        FINISHED.add(profile);
+        if (SHUTDOWN_HOOK_REGISTERED.compareAndSet(false, true)) {
+            // JUnit 4 and Spock offer no callback after all tests, whatever was not logged yet is logged on exit
+            Runtime.getRuntime().addShutdownHook(new Thread(ContainerProfiler::logSummary, "weld-testing-profiler"));
+        }
+    }
+
+    /**
+     * Logs a profile of a single test.
+     *
+     * @param profile may be {@code null}
+     */
+    public static void log(ContainerProfile profile) {
+        if (profile != null) {
+            LOGGER.log(Level.INFO, "Weld container profile of {0}: {1}", new Object[] { profile.getName(), profile });
+        }
+    }
+
+    /**
+     * Logs the summary of all profiles finished since the last summary, if any.
+     */
+    public static void logSummary() {
+        String summary = drainSummary();
+        if (summary != null) {
+            LOGGER.info(summary);
+        }
+    }
+
+    /**
+     *
+     * @return the summary of all profiles finished since the last summary or {@code null} if there are none
+     */
+    static String drainSummary() {
+        List<ContainerProfile> profiles = new ArrayList<>();
+        ContainerProfile profile;
+        while ((profile = FINISHED.poll()) != null) {
+            profiles.add(profile);
+        }
+        if (profiles.isEmpty()) {
+            return null;
+        }
+        long overhead = 0;
+        long test = 0;
+        for (ContainerProfile finished : profiles) {
+            overhead += finished.getOverhead();
+            test += finished.getDuration(ContainerProfile.Phase.TEST);
+        }
+        profiles.sort(Comparator.comparingLong(ContainerProfile::getOverhead).reversed());
+
+        int size = getSummarySize();
+        StringBuilder builder = new StringBuilder("Weld container profiles of ").append(profiles.size())
+                .append(" tests, container overhead ").append(ContainerProfile.formatMillis(overhead))
+                .append(", tests ").append(ContainerProfile.formatMillis(test))
+                .append(", most expensive deployments:");
+        for (ContainerProfile finished : profiles.subList(0, Math.min(size, profiles.size()))) {
+            builder.append(System.lineSeparator()).append("  ")
+                    .append(ContainerProfile.formatMillis(finished.getOverhead())).append(' ')
+                    .append(finished.getName()).append(" [").append(finished).append(']');
+        }
+        return builder.toString();
+    }
+
+    private static int getSummarySize() {
+        String value = System.getProperty(PROFILER_SUMMARY_SIZE, "");
+        if (!value.isEmpty()) {
+            try {
+                return Math.max(0, Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.WARNING, "Ignoring invalid value of " + PROFILER_SUMMARY_SIZE + ": " + value);
+            }
+        }
+        return DEFAULT_SUMMARY_SIZE;
+    }
+
+}
@@ -17,8 +17,8 @@
 package org.jboss.weld.junit;
 
 import java.lang.annotation.Annotation;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import jakarta.enterprise.context.ContextNotActiveException;
@@ -42,6 +42,7 @@ class ContextImpl implements Context {
     private final BeanManager beanManager;
 
     // It's a normal scope so there may be no more than one mapped instance per contextual type per thread
+    // The maps are concurrent as a single context may be shared by the threads of a test invocation
     private final ThreadLocal<Map<Contextual<?>, ContextualInstance<?>>> currentContext = new ThreadLocal<>();
 
     ContextImpl(Class<? extends Annotation> scope, BeanManager beanManager) {
@@ -66,8 +67,16 @@ class ContextImpl implements Context {
 
         if (instance == null && creationalContext != null) {
             // Bean instance does not exist - create one if we have CreationalContext
-            instance = new ContextualInstance<T>(contextual.create(creationalContext), creationalContext, contextual);
-            ctx.put(contextual, instance);
+            // It is not created within computeIfAbsent() as the creation may look up other beans of this context
+            ContextualInstance<T> created = new ContextualInstance<T>(contextual.create(creationalContext),
+                    creationalContext, contextual);
+            instance = (ContextualInstance<T>) ctx.putIfAbsent(contextual, created);
+            if (instance == null) {
+                instance = created;
+            } else {
+                // another thread of the same invocation was faster
+                created.destroy();
+            }
         }
         return instance != null ? instance.get() : null;
     }
@@ -89,7 +98,7 @@ class ContextImpl implements Context {
     }
 
     public void activate() {
-        currentContext.set(new HashMap<Contextual<?>, ContextualInstance<?>>());
+        currentContext.set(new ConcurrentHashMap<Contextual<?>, ContextualInstance<?>>());
         beanManager.getEvent().select(Initialized.Literal.of(scope)).fire(new Object());
     }
 
@@ -98,6 +107,66 @@ class ContextImpl implements Context {
         if (ctx == null) {
             return;
         }
+        destroy(ctx);
+        currentContext.remove();
+        beanManager.getEvent().select(Destroyed.Literal.of(scope)).fire(new Object());
+    }
+
+    /**
+     * Activates the context on the current thread for a single test invocation, with no instances shared with any other
+     * invocation. A context which is already active on the current thread, e.g. the one activated when the container was
+     * booted, is suspended meanwhile.
+     *
+     * @return the deactivation of the context, which restores the suspended context and must be run on the same thread
+     */
+    Runnable activateForInvocation() {
+        Map<Contextual<?>, ContextualInstance<?>> suspended = currentContext.get();
+        Map<Contextual<?>, ContextualInstance<?>> ctx = new ConcurrentHashMap<>();
+        currentContext.set(ctx);
+        beanManager.getEvent().select(Initialized.Literal.of(scope)).fire(new Object());
+        return () -> {
+            try {
+                destroy(ctx);
+            } finally {
+                if (suspended != null) {
+                    currentContext.set(suspended);
+                } else {
+                    currentContext.remove();
+                }
+            }
+            beanManager.getEvent().select(Destroyed.Literal.of(scope)).fire(new Object());
+        };
+    }
+
+    /**
+     *
+     * @return the instances of the context active on the current thread or {@code null} if the context is not active
+     */
+    Map<Contextual<?>, ContextualInstance<?>> getCurrentInstances() {
+        return currentContext.get();
+    }
+
+    /**
+     * Makes the given instances, captured on another thread by {@link #getCurrentInstances()}, current on the current
+     * thread. No lifecycle events are fired and the instances are never destroyed by this thread, that remains up to the
+     * thread which activated the context.
+     *
+     * @param instances
+     * @return the restoration of the previous state of the context, which must be run on the same thread
+     */
+    Runnable propagate(Map<Contextual<?>, ContextualInstance<?>> instances) {
+        Map<Contextual<?>, ContextualInstance<?>> previous = currentContext.get();
+        currentContext.set(instances);
+        return () -> {
+            if (previous != null) {
+                currentContext.set(previous);
+            } else {
+                currentContext.remove();
+            }
+        };
+    }
+
+    private static void destroy(Map<Contextual<?>, ContextualInstance<?>> ctx) {
         for (ContextualInstance<?> instance : ctx.values()) {
             try {
                 instance.destroy();
@@ -106,8 +175,6 @@ class ContextImpl implements Context {
             }
         }
         ctx.clear();
-        currentContext.remove();
-        beanManager.getEvent().select(Destroyed.Literal.of(scope)).fire(new Object());
     }
 
     /**
@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.spi.Contextual;
+
+import org.jboss.weld.junit.ContextImpl.ContextualInstance;
+
+/**
+ * Propagates the contexts activated through {@link AbstractWeldInitiator.AbstractBuilder#activate(Class...)} from the
+ * thread which submits a task to the thread which runs it. The contexts are captured when the task is submitted and
+ * installed on the worker thread for the duration of the task only, so that the task sees the very same contextual
+ * instances as the submitting test.
+ *
+ * @see AbstractWeldInitiator#contextAwareExecutor(ExecutorService)
+ * @see AbstractWeldInitiator#contextAwareThreadFactory(ThreadFactory)
+ */
+final class ContextPropagation {
+
+    private final List<ContextImpl> contexts;
+
+    ContextPropagation(List<ContextImpl> contexts) {
+        this.contexts = contexts;
+    }
+
+    ExecutorService wrap(ExecutorService executorService) {
+        return new ContextAwareExecutorService(Objects.requireNonNull(executorService), this);
+    }
+
+    ThreadFactory wrap(ThreadFactory threadFactory) {
+        Objects.requireNonNull(threadFactory);
+        return runnable -> threadFactory.newThread(wrap(runnable));
+    }
+
+    /**
+     * Captures the contexts active on the current thread.
+     *
+     * @param task
+     * @return the task running with the captured contexts or the task itself if no context is active
+     */
+    Runnable wrap(Runnable task) {
+        List<ContextImpl> active = new ArrayList<>(contexts.size());
+        List<Map<Contextual<?>, ContextualInstance<?>>> instances = new ArrayList<>(contexts.size());
+        for (ContextImpl context : contexts) {
+            Map<Contextual<?>, ContextualInstance<?>> current = context.getCurrentInstances();
+            if (current != null) {
+                active.add(context);
+                instances.add(current);
+            }
+        }
+        if (active.isEmpty()) {
+            return task;
+        }
+        return () -> {
+            List<Runnable> restorations = new ArrayList<>(active.size());
+            try {
+                for (int i = 0; i < active.size(); i++) {
+                    restorations.add(active.get(i).propagate(instances.get(i)));
+                }
+                task.run();
+            } finally {
+                for (int i = restorations.size() - 1; i >= 0; i--) {
+                    restorations.get(i).run();
+                }
+            }
+        };
+    }
+
+    /**
+     * All the tasks, including those of {@link #submit(Runnable)} and {@link #invokeAll(java.util.Collection)}, are passed
+     * to {@link #execute(Runnable)} on the submitting thread.
+     */
+    private static final class ContextAwareExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+
+        private final ContextPropagation propagation;
+
+        ContextAwareExecutorService(ExecutorService delegate, ContextPropagation propagation) {
+            this.delegate = delegate;
+            this.propagation = propagation;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(propagation.wrap(command));
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import jakarta.enterprise.inject.spi.Bean;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * A canonical description of a test deployment. Contributions are recorded as {@code (kind, value)} pairs and two
+ * fingerprints are equal if they hold the same contributions, regardless of the order in which they were recorded.
+ * Extensions use it to decide whether an already running container can serve another test.
+ * </p>
+ *
+ * <p>
+ * A fingerprint is <i>not reusable</i> as soon as any contribution could not be described canonically, e.g. a bean whose
+ * create callback captures state of a particular test instance. Such a deployment must never be shared.
+ * </p>
+ */
+public final class DeploymentFingerprint {
+
+    public static final String BEAN_CLASS = "beanClass";
+    public static final String PACKAGE = "package";
+    public static final String RECURSIVE_PACKAGE = "recursivePackage";
+    public static final String EXTENSION = "extension";
+    public static final String INTERCEPTOR = "interceptor";
+    public static final String DECORATOR = "decorator";
+    public static final String ALTERNATIVE = "alternative";
+    public static final String ALTERNATIVE_STEREOTYPE = "alternativeStereotype";
+    public static final String EXCLUDED_BEAN_TYPE = "excludedBeanType";
+    public static final String EXCLUDED_BEAN_CLASS = "excludedBeanClass";
+    public static final String BEAN_DISCOVERY_MODE = "beanDiscoveryMode";
+    public static final String SCOPE = "scope";
+    public static final String BEAN = "bean";
+    public static final String RESOURCE = "resource";
+    public static final String FACTORY = "factory";
+    public static final String ENRICHER = "enricher";
+    public static final String TEST_CLASS = "testClass";
+    public static final String OPTION = "option";
+
+    private final SortedMap<String, SortedSet<String>> contributions = new TreeMap<>();
+
+    private boolean reusable = true;
+
+    public DeploymentFingerprint add(String kind, String value) {
+        contributions.computeIfAbsent(kind, k -> new TreeSet<>()).add(value);
+        return this;
+    }
+
+    public DeploymentFingerprint add(String kind, Type value) {
+        return add(kind, value.getTypeName());
+    }
+
+    /**
+     * Records a bean added through {@link AbstractWeldInitiator.AbstractBuilder#addBeans(Bean...)}. {@link MockBean}s and
+     * {@link MockInterceptor}s are described by their attributes and the class of their callbacks, any other {@link Bean}
+     * implementation makes this fingerprint not reusable.
+     *
+     * @param bean
+     * @return self
+     */
+    public DeploymentFingerprint addBean(Bean<?> bean) {
+        StringBuilder description = new StringBuilder();
+        if (bean instanceof MockBean) {
+            MockBean<?> mockBean = (MockBean<?>) bean;
+            if (!isStateless(mockBean.getCreateCallback()) || !isStateless(mockBean.getDestroyCallback())) {
+                return markNotReusable();
+            }
+            description.append(describeCallback(mockBean.getCreateCallback())).append('|')
+                    .append(describeCallback(mockBean.getDestroyCallback())).append('|')
+                    .append(mockBean.isSelectForSyntheticBeanArchive());
+            if (bean instanceof MockBeanWithPriority) {
+                description.append('|').append(((MockBeanWithPriority<?>) bean).getPriority());
+            }
+        } else if (bean instanceof MockInterceptor) {
+            MockInterceptor mockInterceptor = (MockInterceptor) bean;
+            if (!isStateless(mockInterceptor.getCallback())) {
+                return markNotReusable();
+            }
+            description.append(describeCallback(mockInterceptor.getCallback())).append('|')
+                    .append(mockInterceptor.getType()).append('|')
+                    .append(sorted(mockInterceptor.getInterceptorBindings()));
+        } else {
+            return markNotReusable();
+        }
+        description.append('|').append(bean.getBeanClass().getName())
+                .append('|').append(bean.getScope().getName())
+                .append('|').append(bean.getName())
+                .append('|').append(bean.isAlternative())
+                .append('|').append(sorted(bean.getTypes()))
+                .append('|').append(sorted(bean.getQualifiers()))
+                .append('|').append(sorted(bean.getStereotypes()));
+        return add(BEAN, description.toString());
+    }
+
+    /**
+     * Records a resource bound through {@link AbstractWeldInitiator.AbstractBuilder#bindResource(String, Object)}. Only
+     * immutable values of well-known types are described by value, anything else makes this fingerprint not reusable.
+     *
+     * @param name
+     * @param resource
+     * @return self
+     */
+    public DeploymentFingerprint addResource(String name, Object resource) {
+        if (resource == null || resource instanceof String || resource instanceof Number || resource instanceof Boolean
+                || resource instanceof Character || resource instanceof Enum) {
+            return add(RESOURCE, name + "=" + resource);
+        }
+        return markNotReusable();
+    }
+
+    /**
+     * Records one of the injection point factories, e.g. the EJB factory. A factory that holds any state makes this
+     * fingerprint not reusable.
+     *
+     * @param kind the kind of factory, e.g. {@code ejb}
+     * @param factory may be {@code null}
+     * @return self
+     */
+    public DeploymentFingerprint addFactory(String kind, Function<?, ?> factory) {
+        if (factory == null) {
+            return this;
+        }
+        if (!isStateless(factory)) {
+            return markNotReusable();
+        }
+        return add(FACTORY, kind + "=" + factory.getClass().getName());
+    }
+
+    public DeploymentFingerprint markNotReusable() {
+        reusable = false;
+        return this;
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the recorded deployment does not depend on a particular test instance and may thus be
+     *         shared between tests with an equal fingerprint, <code>false</code> otherwise
+     */
+    public boolean isReusable() {
+        return reusable;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DeploymentFingerprint)) {
+            return false;
+        }
+        DeploymentFingerprint other = (DeploymentFingerprint) obj;
+        return reusable == other.reusable && contributions.equals(other.contributions);
+    }
+
+    @Override
+    public int hashCode() {
+        return contributions.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("DeploymentFingerprint[");
+        for (Map.Entry<String, SortedSet<String>> entry : contributions.entrySet()) {
+            builder.append(entry.getKey()).append('=').append(entry.getValue()).append(", ");
+        }
+        return builder.append("reusable=").append(reusable).append(']').toString();
+    }
+
+    private static String describeCallback(Object callback) {
+        return callback == null ? "null" : callback.getClass().getName();
+    }
+
+    private static SortedSet<String> sorted(Iterable<?> values) {
+        SortedSet<String> result = new TreeSet<>();
+        for (Object value : values) {
+            if (value instanceof Type) {
+                result.add(((Type) value).getTypeName());
+            } else if (value instanceof Annotation) {
+                result.add(value.toString());
+            } else {
+                result.add(String.valueOf(value));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Non-capturing lambdas and classes without instance fields cannot refer to a particular test instance.
+     */
+    private static boolean isStateless(Object object) {
+        if (object == null) {
+            return true;
+        }
+        for (Class<?> clazz = object.getClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+}
@@ -223,6 +223,14 @@ public class MockBean<T> implements Bean<T>, PassivationCapable {
         return selectForSyntheticBeanArchive;
     }
 
+    CreateFunction<T> getCreateCallback() {
+        return createCallback;
+    }
+
+    DestroyFunction<T> getDestroyCallback() {
+        return destroyCallback;
+    }
+
     @Override
     public String getId() {
         return id;
@@ -162,6 +162,14 @@ public class MockInterceptor implements Interceptor<MockInterceptorInstance> {
         return MockInterceptor.class.equals(beanClass);
     }
 
+    InterceptionType getType() {
+        return type;
+    }
+
+    InterceptionCallback getCallback() {
+        return callback;
+    }
+
     private Bean<?> getInterceptedBean(CreationalContext<MockInterceptorInstance> ctx) {
         if (!ctx.getClass().getName().startsWith("org.jboss.weld")) {
             return null;
@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * Reads the class scanning results generated at compile time by the {@code weld-junit5-processor} annotation processor. An
+ * entry is a resource named after the test classes and the explicit parameter injection mode, see
+ * {@link #getResourceName(List, boolean)}, in the format of {@link ScanResult#toProperties()}. Just like an entry of the
+ * {@link ClassScanningCache}, it also holds the content hash of the class file of every scanned class and its supertypes. If
+ * there is no entry for a test or any of these class files changed since the entry was generated, e.g. due to an incremental
+ * build, the classes are scanned at runtime as usual.
+ * </p>
+ */
+public final class ScanIndex {
+
+    /**
+     * The directory holding all entries.
+     */
+    public static final String INDEX_DIR = "META-INF/weld-testing/scan-index/";
+
+    private static final Logger LOGGER = Logger.getLogger(ScanIndex.class.getName());
+
+    private ScanIndex() {
+    }
+
+    /**
+     *
+     * @param testClasses the binary names of the test classes, from the outermost to the innermost one
+     * @param explicitInjection
+     * @return the name of the resource holding the entry for the given test classes
+     */
+    public static String getResourceName(List<String> testClasses, boolean explicitInjection) {
+        return INDEX_DIR + String.join("+", testClasses) + (explicitInjection ? "-explicit" : "") + ".properties";
+    }
+
+    /**
+     *
+     * @param testClasses
+     * @param explicitInjection
+     * @return the result generated at compile time or {@code null} if there is none
+     */
+    public static ScanResult find(List<Class<?>> testClasses, boolean explicitInjection) {
+        if (testClasses.isEmpty()) {
+            return null;
+        }
+        ClassLoader classLoader = testClasses.get(0).getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        String resourceName = getResourceName(testClasses.stream().map(Class::getName).collect(Collectors.toList()),
+                explicitInjection);
+        URL resource = classLoader.getResource(resourceName);
+        if (resource == null) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = resource.openStream()) {
+            properties.load(in);
+            ScanResult result = ScanResult.fromProperties(properties, classLoader);
+            if (!isUpToDate(result, properties)) {
+                LOGGER.log(Level.FINE, "Ignoring outdated class scanning index entry " + resource);
+                return null;
+            }
+            return result;
+        } catch (IOException | ClassNotFoundException | LinkageError | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Ignoring invalid class scanning index entry " + resource, e);
+            return null;
+        }
+    }
+
+    private static boolean isUpToDate(ScanResult result, Properties properties) {
+        if (result.getScannedClasses().isEmpty()) {
+            return false;
+        }
+        for (Class<?> scannedClass : result.getScannedClasses()) {
+            for (Class<?> type : ClassScanningCache.getTypeClosure(scannedClass)) {
+                String hash = properties.getProperty(ClassScanningCache.HASH_PREFIX + type.getName());
+                if (hash == null || !hash.equals(ClassScanningCache.hashClassFile(type))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,352 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit;
+
+import static org.jboss.weld.junit.DeploymentFingerprint.ALTERNATIVE;
+import static org.jboss.weld.junit.DeploymentFingerprint.ALTERNATIVE_STEREOTYPE;
+import static org.jboss.weld.junit.DeploymentFingerprint.BEAN_CLASS;
+import static org.jboss.weld.junit.DeploymentFingerprint.BEAN_DISCOVERY_MODE;
+import static org.jboss.weld.junit.DeploymentFingerprint.DECORATOR;
+import static org.jboss.weld.junit.DeploymentFingerprint.EXCLUDED_BEAN_CLASS;
+import static org.jboss.weld.junit.DeploymentFingerprint.EXCLUDED_BEAN_TYPE;
+import static org.jboss.weld.junit.DeploymentFingerprint.EXTENSION;
+import static org.jboss.weld.junit.DeploymentFingerprint.INTERCEPTOR;
+import static org.jboss.weld.junit.DeploymentFingerprint.PACKAGE;
+import static org.jboss.weld.junit.DeploymentFingerprint.RECURSIVE_PACKAGE;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.inject.spi.Extension;
+
+import org.jboss.weld.bootstrap.spi.BeanDiscoveryMode;
+import org.jboss.weld.environment.se.Weld;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * The outcome of the <b>automagic</b> class scanning of a test class, i.e. everything the scanning contributes to the
+ * deployment. It is computed by the extension specific scanners and may be restored from the {@link ClassScanningCache}
+ * instead. Contributions keep the order in which they were discovered, as e.g. the order of enabled interceptors matters.
+ * </p>
+ */
+public final class ScanResult {
+
+    private static final String SCANNED_CLASSES = "scannedClasses";
+    private static final String BEAN_CLASSES = "beanClasses";
+    private static final String PACKAGES = "packages";
+    private static final String RECURSIVE_PACKAGES = "recursivePackages";
+    private static final String EXTENSIONS = "extensions";
+    private static final String INTERCEPTORS = "interceptors";
+    private static final String DECORATORS = "decorators";
+    private static final String ALTERNATIVES = "alternatives";
+    private static final String ALTERNATIVE_STEREOTYPES = "alternativeStereotypes";
+    private static final String EXCLUDED_BEAN_TYPES = "excludedBeanTypes";
+    private static final String EXCLUDED_BEAN_CLASSES = "excludedBeanClasses";
+    private static final String BEAN_DISCOVERY_MODE = "beanDiscoveryMode";
+
+    private final Set<Class<?>> scannedClasses = new LinkedHashSet<>();
+    private final Set<Class<?>> beanClasses = new LinkedHashSet<>();
+    private final Set<Class<?>> packages = new LinkedHashSet<>();
+    private final Set<Class<?>> recursivePackages = new LinkedHashSet<>();
+    private final Set<Class<? extends Extension>> extensions = new LinkedHashSet<>();
+    private final Set<Class<?>> interceptors = new LinkedHashSet<>();
+    private final Set<Class<?>> decorators = new LinkedHashSet<>();
+    private final Set<Class<?>> alternatives = new LinkedHashSet<>();
+    private final Set<Class<? extends Annotation>> alternativeStereotypes = new LinkedHashSet<>();
+    private final Set<Class<?>> excludedBeanTypes = new LinkedHashSet<>();
+    private final Set<Class<?>> excludedBeanClasses = new LinkedHashSet<>();
+    private BeanDiscoveryMode beanDiscoveryMode;
+
+    /**
+     * Records a class whose members were inspected. The cache entry of this result is only valid as long as none of these
+     * classes changes.
+     *
+     * @param clazz
+     * @return self
+     */
+    public ScanResult addScannedClass(Class<?> clazz) {
+        scannedClasses.add(clazz);
+        return this;
+    }
+
+    public ScanResult addBeanClass(Class<?> clazz) {
+        beanClasses.add(clazz);
+        return this;
+    }
+
+    public ScanResult addPackage(boolean recursively, Class<?> packageClass) {
+        (recursively ? recursivePackages : packages).add(packageClass);
+        return this;
+    }
+
+    public ScanResult addExtension(Class<? extends Extension> extensionClass) {
+        extensions.add(extensionClass);
+        return this;
+    }
+
+    public ScanResult addInterceptor(Class<?> interceptorClass) {
+        interceptors.add(interceptorClass);
+        return this;
+    }
+
+    public ScanResult addDecorator(Class<?> decoratorClass) {
+        decorators.add(decoratorClass);
+        return this;
+    }
+
+    public ScanResult addAlternative(Class<?> alternativeClass) {
+        alternatives.add(alternativeClass);
+        return this;
+    }
+
+    public ScanResult addAlternativeStereotype(Class<? extends Annotation> stereotype) {
+        alternativeStereotypes.add(stereotype);
+        return this;
+    }
+
+    public ScanResult addExcludedBeanType(Class<?> type) {
+        excludedBeanTypes.add(type);
+        return this;
+    }
+
+    public ScanResult addExcludedBeanClass(Class<?> clazz) {
+        excludedBeanClasses.add(clazz);
+        return this;
+    }
+
+    public ScanResult setBeanDiscoveryMode(BeanDiscoveryMode mode) {
+        this.beanDiscoveryMode = mode;
+        return this;
+    }
+
+    /**
+     * Adds all contributions of the given result except for the scanned classes. The bean discovery mode is only taken over
+     * if it was not set yet.
+     *
+     * @param other
+     * @return self
+     */
+    public ScanResult merge(ScanResult other) {
+        beanClasses.addAll(other.beanClasses);
+        packages.addAll(other.packages);
+        recursivePackages.addAll(other.recursivePackages);
+        extensions.addAll(other.extensions);
+        interceptors.addAll(other.interceptors);
+        decorators.addAll(other.decorators);
+        alternatives.addAll(other.alternatives);
+        alternativeStereotypes.addAll(other.alternativeStereotypes);
+        excludedBeanTypes.addAll(other.excludedBeanTypes);
+        excludedBeanClasses.addAll(other.excludedBeanClasses);
+        if (beanDiscoveryMode == null) {
+            beanDiscoveryMode = other.beanDiscoveryMode;
+        }
+        return this;
+    }
+
+    public boolean isScanned(Class<?> clazz) {
+        return scannedClasses.contains(clazz);
+    }
+
+    public boolean isExcluded(Class<?> clazz) {
+        return excludedBeanTypes.contains(clazz) || excludedBeanClasses.contains(clazz);
+    }
+
+    public Set<Class<?>> getScannedClasses() {
+        return Collections.unmodifiableSet(scannedClasses);
+    }
+
+    public Set<Class<?>> getBeanClasses() {
+        return Collections.unmodifiableSet(beanClasses);
+    }
+
+    public Set<Class<?>> getPackages() {
+        return Collections.unmodifiableSet(packages);
+    }
+
+    public Set<Class<?>> getRecursivePackages() {
+        return Collections.unmodifiableSet(recursivePackages);
+    }
+
+    public Set<Class<? extends Extension>> getExtensions() {
+        return Collections.unmodifiableSet(extensions);
+    }
+
+    public Set<Class<?>> getInterceptors() {
+        return Collections.unmodifiableSet(interceptors);
+    }
+
+    public Set<Class<?>> getDecorators() {
+        return Collections.unmodifiableSet(decorators);
+    }
+
+    public Set<Class<?>> getAlternatives() {
+        return Collections.unmodifiableSet(alternatives);
+    }
+
+    public Set<Class<? extends Annotation>> getAlternativeStereotypes() {
+        return Collections.unmodifiableSet(alternativeStereotypes);
+    }
+
+    public Set<Class<?>> getExcludedBeanTypes() {
+        return Collections.unmodifiableSet(excludedBeanTypes);
+    }
+
+    public Set<Class<?>> getExcludedBeanClasses() {
+        return Collections.unmodifiableSet(excludedBeanClasses);
+    }
+
+    /**
+     *
+     * @return the bean discovery mode or {@code null} if not set
+     */
+    public BeanDiscoveryMode getBeanDiscoveryMode() {
+        return beanDiscoveryMode;
+    }
+
+    /**
+     * Applies all contributions except for the excluded beans, which are handled by an extension specific to each
+     * integration.
+     *
+     * @param weld
+     */
+    public void applyTo(Weld weld) {
+        packages.forEach(cls -> ClassIndex.addPackage(weld, false, cls));
+        recursivePackages.forEach(cls -> ClassIndex.addPackage(weld, true, cls));
+        beanClasses.forEach(weld::addBeanClass);
+        extensions.forEach(extension -> weld.addExtension(createExtension(extension)));
+        interceptors.forEach(weld::addInterceptor);
+        decorators.forEach(weld::addDecorator);
+        alternatives.forEach(weld::addAlternative);
+        alternativeStereotypes.forEach(weld::addAlternativeStereotype);
+        if (beanDiscoveryMode != null) {
+            weld.setBeanDiscoveryMode(beanDiscoveryMode);
+        }
+    }
+
+    /**
+     * Records all contributions, including the excluded beans.
+     *
+     * @param fingerprint
+     */
+    public void addTo(DeploymentFingerprint fingerprint) {
+        packages.forEach(cls -> fingerprint.add(PACKAGE, cls.getPackage().getName()));
+        recursivePackages.forEach(cls -> fingerprint.add(RECURSIVE_PACKAGE, cls.getPackage().getName()));
+        beanClasses.forEach(cls -> fingerprint.add(BEAN_CLASS, cls));
+        extensions.forEach(cls -> fingerprint.add(EXTENSION, cls));
+        interceptors.forEach(cls -> fingerprint.add(INTERCEPTOR, cls));
+        decorators.forEach(cls -> fingerprint.add(DECORATOR, cls));
+        alternatives.forEach(cls -> fingerprint.add(ALTERNATIVE, cls));
+        alternativeStereotypes.forEach(cls -> fingerprint.add(ALTERNATIVE_STEREOTYPE, cls));
+        excludedBeanTypes.forEach(cls -> fingerprint.add(EXCLUDED_BEAN_TYPE, cls));
+        excludedBeanClasses.forEach(cls -> fingerprint.add(EXCLUDED_BEAN_CLASS, cls));
+        if (beanDiscoveryMode != null) {
+            fingerprint.add(BEAN_DISCOVERY_MODE, beanDiscoveryMode.name());
+        }
+    }
+
+    /**
+     * Each set of classes is stored as a comma separated list of binary class names under the name of the set, e.g.
+     * {@code beanClasses}, and the discovery mode under {@code beanDiscoveryMode}. Entries generated at compile time use the
+     * same format.
+     *
+     * @return the properties representation of this result
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty(SCANNED_CLASSES, names(scannedClasses));
+        properties.setProperty(BEAN_CLASSES, names(beanClasses));
+        properties.setProperty(PACKAGES, names(packages));
+        properties.setProperty(RECURSIVE_PACKAGES, names(recursivePackages));
+        properties.setProperty(EXTENSIONS, names(extensions));
+        properties.setProperty(INTERCEPTORS, names(interceptors));
+        properties.setProperty(DECORATORS, names(decorators));
+        properties.setProperty(ALTERNATIVES, names(alternatives));
+        properties.setProperty(ALTERNATIVE_STEREOTYPES, names(alternativeStereotypes));
+        properties.setProperty(EXCLUDED_BEAN_TYPES, names(excludedBeanTypes));
+        properties.setProperty(EXCLUDED_BEAN_CLASSES, names(excludedBeanClasses));
+        if (beanDiscoveryMode != null) {
+            properties.setProperty(BEAN_DISCOVERY_MODE, beanDiscoveryMode.name());
+        }
+        return properties;
+    }
+
+    /**
+     *
+     * @param properties
+     * @param classLoader loads the listed classes
+     * @return the result read from the given properties
+     * @throws ClassNotFoundException if any of the listed classes does not exist
+     * @see #toProperties()
+     */
+    public static ScanResult fromProperties(Properties properties, ClassLoader classLoader) throws ClassNotFoundException {
+        ScanResult result = new ScanResult();
+        result.scannedClasses.addAll(classes(properties, SCANNED_CLASSES, classLoader));
+        result.beanClasses.addAll(classes(properties, BEAN_CLASSES, classLoader));
+        result.packages.addAll(classes(properties, PACKAGES, classLoader));
+        result.recursivePackages.addAll(classes(properties, RECURSIVE_PACKAGES, classLoader));
+        for (Class<?> extension : classes(properties, EXTENSIONS, classLoader)) {
+            result.extensions.add(extension.asSubclass(Extension.class));
+        }
+        result.interceptors.addAll(classes(properties, INTERCEPTORS, classLoader));
+        result.decorators.addAll(classes(properties, DECORATORS, classLoader));
+        result.alternatives.addAll(classes(properties, ALTERNATIVES, classLoader));
+        for (Class<?> stereotype : classes(properties, ALTERNATIVE_STEREOTYPES, classLoader)) {
+            result.alternativeStereotypes.add(stereotype.asSubclass(Annotation.class));
+        }
+        result.excludedBeanTypes.addAll(classes(properties, EXCLUDED_BEAN_TYPES, classLoader));
+        result.excludedBeanClasses.addAll(classes(properties, EXCLUDED_BEAN_CLASSES, classLoader));
+        String mode = properties.getProperty(BEAN_DISCOVERY_MODE);
+        if (mode != null) {
+            result.beanDiscoveryMode = BeanDiscoveryMode.valueOf(mode);
+        }
+        return result;
+    }
+
+    private static String names(Collection<? extends Class<?>> classes) {
+        return classes.stream().map(Class::getName).collect(Collectors.joining(","));
+    }
+
+    private static List<Class<?>> classes(Properties properties, String key, ClassLoader classLoader)
+            throws ClassNotFoundException {
+        List<Class<?>> result = new ArrayList<>();
+        String value = properties.getProperty(key, "");
+        if (!value.isEmpty()) {
+            for (String name : value.split(",")) {
+                result.add(Class.forName(name, false, classLoader));
+            }
+        }
+        return result;
+    }
+
+    private static Extension createExtension(Class<? extends Extension> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -70,6 +70,32 @@ class WeldCDIExtension implements Extension {
         }
     }
 
+    /**
+     * Activates the contexts on the current thread for a single test invocation, see
+     * {@link ContextImpl#activateForInvocation()}.
+     *
+     * @return the deactivation of the contexts, which must be run on the same thread
+     */
+    public Runnable activateContextsForInvocation() {
+        if (contexts.isEmpty()) {
+            return () -> {
+            };
+        }
+        List<Runnable> deactivations = new ArrayList<>(contexts.size());
+        for (ContextImpl context : contexts) {
+            deactivations.add(context.activateForInvocation());
+        }
+        return () -> {
+            for (Runnable deactivation : deactivations) {
+                deactivation.run();
+            }
+        };
+    }
+
+    List<ContextImpl> getContexts() {
+        return contexts;
+    }
+
     public void deactivateContexts() {
         if (contexts.isEmpty()) {
             return;
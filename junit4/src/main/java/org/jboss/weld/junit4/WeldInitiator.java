@@ -29,6 +29,10 @@ import jakarta.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.environment.se.Weld;
 import org.jboss.weld.junit.AbstractWeldInitiator;
+import org.jboss.weld.junit.AsyncContainerShutdown;
+import org.jboss.weld.junit.ClassIndex;
+import org.jboss.weld.junit.ContainerProfile;
+import org.jboss.weld.junit.ContainerProfiler;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.rules.MethodRule;
@@ -260,13 +264,40 @@ public class WeldInitiator extends AbstractWeldInitiator implements TestRule {
                 Weld weld = WeldInitiator.this.weld;
                 if (weld == null) {
                     // Null in case of fromTestPackage() is used
-                    weld = createWeld().addPackage(false, description.getTestClass());
+                    weld = ClassIndex.addPackage(createWeld(), false, description.getTestClass());
                 }
-                initWeldContainer(weld);
+                ContainerProfile profile = ContainerProfiler.start(description.getDisplayName());
+                setContainerProfile(profile);
+                setCurrentTestId(description.getDisplayName());
                 try {
-                    base.evaluate();
+                    initWeldContainer(weld);
+                    try {
+                        if (profile != null) {
+                            profile.start(ContainerProfile.Phase.TEST);
+                        }
+                        base.evaluate();
+                    } finally {
+                        if (profile != null) {
+                            profile.stop(ContainerProfile.Phase.TEST);
+                        }
+                        if (AsyncContainerShutdown.isEnabled()) {
+                            AsyncContainerShutdown.PendingShutdown shutdown = shutdownWeldContainerAsync(
+                                    description.getDisplayName());
+                            // JUnit 4 can only fail a test while its statement is evaluated, so the test awaits the
+                            // shutdown of its own container
+                            if (shutdown != null) {
+                                shutdown.await();
+                            }
+                        } else {
+                            shutdownWeldContainer();
+                        }
+                    }
                 } finally {
-                    shutdownWeldContainer();
+                    setContainerProfile(null);
+                    setCurrentTestId(null);
+                    // JUnit 4 offers no report entries, the profile is logged instead
+                    ContainerProfiler.log(profile);
+                    ContainerProfiler.finish(profile);
                 }
             }
         };
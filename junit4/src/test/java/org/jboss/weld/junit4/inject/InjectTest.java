@@ -17,6 +17,7 @@
 package org.jboss.weld.junit4.inject;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 import jakarta.enterprise.event.Event;
@@ -83,4 +84,17 @@ public class InjectTest {
         assertTrue(IamDependent.DESTROYED.get());
     }
 
+    @Test
+    public void testRepeatedNonContextualInjection() throws Exception {
+        final InjectTest first = new InjectTest();
+        final InjectTest second = new InjectTest();
+        try (AutoCloseable firstReleaser = weld.injectNonContextual(first);
+                AutoCloseable secondReleaser = weld.injectNonContextual(second)) {
+            assertEquals("baz", first.foo.getBar());
+            assertEquals("baz", second.foo.getBar());
+            // the injection target is shared, the dependent instances are not
+            assertNotSame(first.iamDependent, second.iamDependent);
+        }
+    }
+
 }
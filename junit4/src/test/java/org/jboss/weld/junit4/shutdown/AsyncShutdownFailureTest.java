@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit4.shutdown;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.weld.junit.AsyncContainerShutdown;
+import org.jboss.weld.junit4.Foo;
+import org.jboss.weld.junit4.WeldInitiator;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * The rules are applied manually so that the failed shutdown can be verified.
+ */
+public class AsyncShutdownFailureTest {
+
+    private static final Statement NOOP = new Statement() {
+        @Override
+        public void evaluate() {
+        }
+    };
+
+    @Test
+    public void testFailedShutdownIsReportedByOwningTest() throws Throwable {
+        System.setProperty(AsyncContainerShutdown.ASYNC_SHUTDOWN, "true");
+        try {
+            Description first = Description.createTestDescription(AsyncShutdownFailureTest.class, "first");
+            Statement failing = WeldInitiator.of(FailingShutdownObserver.class).apply(NOOP, first);
+            IllegalStateException failure = assertThrows(IllegalStateException.class, failing::evaluate);
+            assertTrue(failure.getMessage(), failure.getMessage().contains(first.getDisplayName()));
+
+            // the next test is not affected by the failed shutdown
+            WeldInitiator.of(Foo.class)
+                    .apply(NOOP, Description.createTestDescription(AsyncShutdownFailureTest.class, "second"))
+                    .evaluate();
+        } finally {
+            System.clearProperty(AsyncContainerShutdown.ASYNC_SHUTDOWN);
+        }
+    }
+
+}
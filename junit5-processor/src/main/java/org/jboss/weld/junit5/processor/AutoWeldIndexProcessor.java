@@ -0,0 +1,808 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+
+/**
+ * Pre-computes the <b>automagic</b> deployment of every {@code @EnableAutoWeld} test class at compile time, including its
+ * {@code @Nested} test classes. The result of the class scanning is written to
+ * {@code META-INF/weld-testing/scan-index/<test classes>.properties}, once for implicit and once for explicit parameter
+ * injection, and {@code WeldJunit5AutoExtension} uses it instead of scanning the classes at runtime.
+ *
+ * <p>
+ * The processor mirrors the runtime class scanning on the language model. Whenever a class cannot be fully resolved, no entry
+ * is written for the test class and it is scanned at runtime as before.
+ * </p>
+ *
+ * <p>
+ * The entries are only written once the compilation finished, together with the content hash of the class file of every
+ * scanned class and its supertypes, so that an entry is ignored at runtime as soon as any of these classes changes. This
+ * requires javac; with any other compiler no entries are written.
+ * </p>
+ */
+@SupportedAnnotationTypes("*")
+public class AutoWeldIndexProcessor extends AbstractProcessor {
+
+    // the format is shared with org.jboss.weld.junit.ScanIndex and org.jboss.weld.junit.ScanResult
+    static final String INDEX_DIR = "META-INF/weld-testing/scan-index/";
+
+    private static final String ENABLE_AUTO_WELD = "org.jboss.weld.junit5.auto.EnableAutoWeld";
+    private static final String NESTED = "org.junit.jupiter.api.Nested";
+
+    private static final String ADD_BEAN_CLASSES = "org.jboss.weld.junit5.auto.AddBeanClasses";
+    private static final String ADD_ENABLED_DECORATORS = "org.jboss.weld.junit5.auto.AddEnabledDecorators";
+    private static final String ADD_ENABLED_INTERCEPTORS = "org.jboss.weld.junit5.auto.AddEnabledInterceptors";
+    private static final String ADD_EXTENSIONS = "org.jboss.weld.junit5.auto.AddExtensions";
+    private static final String ADD_PACKAGES = "org.jboss.weld.junit5.auto.AddPackages";
+    private static final String ENABLE_ALTERNATIVES = "org.jboss.weld.junit5.auto.EnableAlternatives";
+    private static final String ENABLE_ALTERNATIVE_STEREOTYPES = "org.jboss.weld.junit5.auto.EnableAlternativeStereotypes";
+    private static final String EXCLUDE_BEAN = "org.jboss.weld.junit5.auto.ExcludeBean";
+    private static final String EXCLUDE_BEAN_CLASSES = "org.jboss.weld.junit5.auto.ExcludeBeanClasses";
+    private static final String SET_BEAN_DISCOVERY_MODE = "org.jboss.weld.junit5.auto.SetBeanDiscoveryMode";
+
+    private static final String INJECT = "jakarta.inject.Inject";
+    private static final String QUALIFIER = "jakarta.inject.Qualifier";
+    private static final String PRODUCES = "jakarta.enterprise.inject.Produces";
+    private static final String INSTANCE = "jakarta.enterprise.inject.Instance";
+
+    // the format is shared with org.jboss.weld.junit.ClassScanningCache
+    private static final String HASH_PREFIX = "hash.";
+
+    private static final List<String> PARAMETER_METHOD_ANNOTATIONS = List.of("org.junit.jupiter.api.Test",
+            "org.junit.jupiter.api.RepeatedTest", "org.junit.jupiter.api.BeforeAll", "org.junit.jupiter.api.BeforeEach",
+            "org.junit.jupiter.api.AfterEach", "org.junit.jupiter.api.AfterAll");
+
+    private static final List<String> BEAN_DEFINING_ANNOTATIONS = List.of("jakarta.enterprise.context.NormalScope",
+            "jakarta.enterprise.context.Dependent", "jakarta.interceptor.Interceptor", "jakarta.decorator.Decorator",
+            "jakarta.enterprise.inject.Stereotype");
+
+    private Elements elements;
+
+    private Types types;
+
+    private final Map<String, Map<String, List<AnnotationMirror>>> classAnnotations = new HashMap<>();
+
+    private final Map<String, Set<String>> metaAnnotations = new HashMap<>();
+
+    private final List<PendingEntry> pendingEntries = new ArrayList<>();
+
+    private boolean hashingSupported;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        try {
+            JavacTask.instance(processingEnv).addTaskListener(new TaskListener() {
+                @Override
+                public void finished(TaskEvent event) {
+                    if (event.getKind() == TaskEvent.Kind.COMPILATION) {
+                        writeEntries();
+                    }
+                }
+            });
+            hashingSupported = true;
+        } catch (IllegalArgumentException | LinkageError e) {
+            // not javac, the class files cannot be hashed once they are written
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No class scanning index entries written, the compiler is not supported");
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        if (!hashingSupported) {
+            return false;
+        }
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            processType(type, List.of());
+        }
+        return false;
+    }
+
+    private void processType(TypeElement type, List<TypeElement> outerTestClasses) {
+        List<TypeElement> testClasses = null;
+        if (!outerTestClasses.isEmpty()) {
+            testClasses = new ArrayList<>(outerTestClasses);
+            testClasses.add(type);
+        } else if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)
+                && getClassAnnotations(type).containsKey(ENABLE_AUTO_WELD)) {
+            testClasses = List.of(type);
+        }
+        if (testClasses != null) {
+            addEntry(testClasses, false);
+            addEntry(testClasses, true);
+        }
+        for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+            if (member.getModifiers().contains(Modifier.STATIC) || member.getKind() != ElementKind.CLASS) {
+                processType(member, List.of());
+            } else if (testClasses != null && hasAnnotation(member, NESTED)) {
+                processType(member, testClasses);
+            }
+        }
+    }
+
+    private void addEntry(List<TypeElement> testClasses, boolean explicitInjection) {
+        Scan scan = new Scan(explicitInjection);
+        Map<String, String> entry;
+        Map<String, ClassFile> classFiles;
+        try {
+            entry = scan.run(testClasses);
+            classFiles = scan.getClassFiles();
+        } catch (UnresolvedTypeException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No class scanning index entry written, the test class is scanned at runtime: " + e.getMessage(),
+                    testClasses.get(testClasses.size() - 1));
+            return;
+        }
+        String resourceName = INDEX_DIR
+                + testClasses.stream().map(this::binaryName).collect(Collectors.joining("+"))
+                + (explicitInjection ? "-explicit" : "") + ".properties";
+        try {
+            // the resource is created now as the filer only knows the originating elements during the processing
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", resourceName,
+                    testClasses.toArray(new Element[0]));
+            pendingEntries.add(new PendingEntry(resource, entry, classFiles));
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unable to write class scanning index entry " + resourceName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Invoked once all class files were written.
+     */
+    private void writeEntries() {
+        Map<String, String> hashes = new HashMap<>();
+        for (PendingEntry pendingEntry : pendingEntries) {
+            Map<String, String> entryHashes = new TreeMap<>();
+            for (Map.Entry<String, ClassFile> classFile : pendingEntry.classFiles.entrySet()) {
+                String hash = hashes.computeIfAbsent(classFile.getKey(), name -> hashClassFile(classFile.getValue()));
+                if (hash == null) {
+                    // e.g. the compilation failed, the test class is scanned at runtime
+                    entryHashes = null;
+                    break;
+                }
+                entryHashes.put(HASH_PREFIX + classFile.getKey(), hash);
+            }
+            if (entryHashes == null) {
+                continue;
+            }
+            try (Writer writer = new OutputStreamWriter(pendingEntry.resource.openOutputStream(),
+                    StandardCharsets.ISO_8859_1)) {
+                for (Map<String, String> properties : List.of(pendingEntry.entry, entryHashes)) {
+                    for (Map.Entry<String, String> property : properties.entrySet()) {
+                        writer.write(property.getKey() + "=" + property.getValue() + "\n");
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Unable to write class scanning index entry " + pendingEntry.resource.getName() + ": "
+                                + e.getMessage());
+            }
+        }
+        pendingEntries.clear();
+    }
+
+    /**
+     *
+     * @return the hex encoded SHA-256 hash of the class file, as computed by {@code org.jboss.weld.junit.ClassScanningCache},
+     *         or {@code null} if it cannot be read
+     */
+    private String hashClassFile(ClassFile classFile) {
+        // classes compiled together with the test are found in the output, all others on the classpath
+        for (StandardLocation location : List.of(StandardLocation.CLASS_OUTPUT, StandardLocation.CLASS_PATH)) {
+            try (InputStream in = processingEnv.getFiler()
+                    .getResource(location, classFile.packageName, classFile.relativeName).openInputStream()) {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(in.readAllBytes());
+                StringBuilder builder = new StringBuilder(digest.length * 2);
+                for (byte b : digest) {
+                    builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                return builder.toString();
+            } catch (IOException | IllegalArgumentException e) {
+                // try the next location
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform is required to support SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The class scanning of a single test, see {@code org.jboss.weld.junit5.auto.ClassScanning}.
+     */
+    private final class Scan {
+
+        private final boolean explicitInjection;
+
+        private final Deque<TypeElement> classesToProcess = new ArrayDeque<>();
+
+        private final List<TypeElement> scannedTypes = new ArrayList<>();
+
+        private final Set<String> scannedClasses = new LinkedHashSet<>();
+        private final Set<String> beanClasses = new LinkedHashSet<>();
+        private final Set<String> packages = new LinkedHashSet<>();
+        private final Set<String> recursivePackages = new LinkedHashSet<>();
+        private final Set<String> extensions = new LinkedHashSet<>();
+        private final Set<String> interceptors = new LinkedHashSet<>();
+        private final Set<String> decorators = new LinkedHashSet<>();
+        private final Set<String> alternatives = new LinkedHashSet<>();
+        private final Set<String> alternativeStereotypes = new LinkedHashSet<>();
+        private final Set<String> excludedBeanTypes = new LinkedHashSet<>();
+        private final Set<String> excludedBeanClasses = new LinkedHashSet<>();
+        private String beanDiscoveryMode;
+
+        Scan(boolean explicitInjection) {
+            this.explicitInjection = explicitInjection;
+        }
+
+        Map<String, String> run(List<TypeElement> testClasses) {
+            classesToProcess.addAll(testClasses);
+            TypeElement currClass;
+            while ((currClass = classesToProcess.poll()) != null) {
+                String name = binaryName(currClass);
+                if (scannedClasses.contains(name) || excludedBeanTypes.contains(name) || excludedBeanClasses.contains(name)
+                        || name.startsWith("java") || name.startsWith("sun")) {
+                    continue;
+                }
+                scannedClasses.add(name);
+                scannedTypes.add(currClass);
+                visit(currClass);
+            }
+            Map<String, String> result = new LinkedHashMap<>();
+            result.put("scannedClasses", String.join(",", scannedClasses));
+            result.put("beanClasses", String.join(",", beanClasses));
+            result.put("packages", String.join(",", packages));
+            result.put("recursivePackages", String.join(",", recursivePackages));
+            result.put("extensions", String.join(",", extensions));
+            result.put("interceptors", String.join(",", interceptors));
+            result.put("decorators", String.join(",", decorators));
+            result.put("alternatives", String.join(",", alternatives));
+            result.put("alternativeStereotypes", String.join(",", alternativeStereotypes));
+            result.put("excludedBeanTypes", String.join(",", excludedBeanTypes));
+            result.put("excludedBeanClasses", String.join(",", excludedBeanClasses));
+            if (beanDiscoveryMode != null) {
+                result.put("beanDiscoveryMode", beanDiscoveryMode);
+            }
+            return result;
+        }
+
+        /**
+         * The scanned classes and their supertypes, see {@code org.jboss.weld.junit.ClassScanningCache}.
+         *
+         * @return the class files the result depends on, by binary name
+         */
+        Map<String, ClassFile> getClassFiles() {
+            Map<String, ClassFile> result = new LinkedHashMap<>();
+            Deque<TypeElement> toProcess = new ArrayDeque<>(scannedTypes);
+            TypeElement current;
+            while ((current = toProcess.poll()) != null) {
+                String name = binaryName(current);
+                if (result.containsKey(name) || name.startsWith("java")) {
+                    continue;
+                }
+                String packageName = elements.getPackageOf(current).getQualifiedName().toString();
+                result.put(name, new ClassFile(packageName,
+                        (packageName.isEmpty() ? name : name.substring(packageName.length() + 1)) + ".class"));
+                List<TypeMirror> supertypes = new ArrayList<>(current.getInterfaces());
+                supertypes.add(0, current.getSuperclass());
+                for (TypeMirror supertype : supertypes) {
+                    if (supertype.getKind() == TypeKind.ERROR) {
+                        throw new UnresolvedTypeException(supertype.toString());
+                    }
+                    if (supertype.getKind() == TypeKind.DECLARED) {
+                        toProcess.add((TypeElement) types.asElement(supertype));
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void visit(TypeElement currClass) {
+            List<VariableElement> fields = getAllFields(currClass);
+            List<ExecutableElement> methods = getAllMethods(currClass);
+
+            for (VariableElement field : fields) {
+                if (hasAnnotation(field, EXCLUDE_BEAN)) {
+                    addName(excludedBeanTypes, field.asType());
+                }
+            }
+            for (ExecutableElement method : methods) {
+                if (hasAnnotation(method, EXCLUDE_BEAN)) {
+                    addName(excludedBeanTypes, method.getReturnType());
+                }
+            }
+            for (VariableElement field : fields) {
+                if (hasAnnotation(field, INJECT)) {
+                    addClassToProcess(unwrapInstanceTypeParameter(field.asType()));
+                }
+            }
+            for (ExecutableElement method : methods) {
+                if (hasAnnotation(method, INJECT)) {
+                    addClassToProcess(method.getReturnType());
+                }
+            }
+            ExecutableElement constructor = findFirstAnnotatedConstructor(currClass, INJECT);
+            if (constructor != null) {
+                addParametersToProcess(constructor);
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(currClass.getEnclosedElements())) {
+                if (hasAnnotation(field, PRODUCES)) {
+                    addClassToProcess(field.asType());
+                }
+            }
+            for (ExecutableElement method : ElementFilter.methodsIn(currClass.getEnclosedElements())) {
+                if (hasAnnotation(method, PRODUCES)) {
+                    addParametersToProcess(method);
+                    addClassToProcess(method.getReturnType());
+                }
+            }
+            for (String annotation : PARAMETER_METHOD_ANNOTATIONS) {
+                for (ExecutableElement method : methods) {
+                    if (hasAnnotation(method, annotation)) {
+                        addParametersToProcess(method);
+                    }
+                }
+            }
+
+            Map<String, List<AnnotationMirror>> annotations = getClassAnnotations(currClass);
+            for (AnnotationMirror addPackages : annotations.getOrDefault(ADD_PACKAGES, List.of())) {
+                Set<String> target = Boolean.TRUE.equals(getValue(addPackages, "recursively")) ? recursivePackages
+                        : packages;
+                target.addAll(getClassValues(List.of(addPackages)));
+            }
+            for (String beanClass : getClassValues(annotations.get(ADD_BEAN_CLASSES))) {
+                addClassToProcess(beanClass);
+                beanClasses.add(beanClass);
+            }
+            extensions.addAll(getClassValues(annotations.get(ADD_EXTENSIONS)));
+            for (String interceptor : getClassValues(annotations.get(ADD_ENABLED_INTERCEPTORS))) {
+                addClassToProcess(interceptor);
+                interceptors.add(interceptor);
+                beanClasses.add(interceptor);
+            }
+            for (String decorator : getClassValues(annotations.get(ADD_ENABLED_DECORATORS))) {
+                addClassToProcess(decorator);
+                decorators.add(decorator);
+                beanClasses.add(decorator);
+            }
+            alternatives.addAll(getClassValues(annotations.get(ENABLE_ALTERNATIVES)));
+            alternativeStereotypes.addAll(getClassValues(annotations.get(ENABLE_ALTERNATIVE_STEREOTYPES)));
+            excludedBeanClasses.addAll(getClassValues(annotations.get(EXCLUDE_BEAN_CLASSES)));
+
+            List<AnnotationMirror> discoveryModes = annotations.get(SET_BEAN_DISCOVERY_MODE);
+            if (beanDiscoveryMode == null && discoveryModes != null) {
+                // a direct annotation wins, otherwise the one closest to the class
+                AnnotationMirror discoveryMode = currClass.getAnnotationMirrors().stream()
+                        .filter(annotation -> asTypeElement(annotation).getQualifiedName()
+                                .contentEquals(SET_BEAN_DISCOVERY_MODE))
+                        .map(AnnotationMirror.class::cast)
+                        .findFirst()
+                        .orElse(discoveryModes.get(discoveryModes.size() - 1));
+                beanDiscoveryMode = ((VariableElement) getValue(discoveryMode, "value")).getSimpleName().toString();
+            }
+
+            for (String beanDefiningAnnotation : BEAN_DEFINING_ANNOTATIONS) {
+                if (annotations.containsKey(beanDefiningAnnotation)) {
+                    beanClasses.add(binaryName(currClass));
+                    break;
+                }
+            }
+        }
+
+        private void addParametersToProcess(ExecutableElement executable) {
+            for (VariableElement parameter : executable.getParameters()) {
+                if (!explicitInjection || parameter.getAnnotationMirrors().stream()
+                        .anyMatch(annotation -> getClassAnnotations(asTypeElement(annotation)).containsKey(QUALIFIER))) {
+                    addClassToProcess(parameter.asType());
+                }
+            }
+        }
+
+        private void addClassToProcess(TypeMirror type) {
+            if (type == null) {
+                return;
+            }
+            TypeMirror erasure = types.erasure(type);
+            if (erasure.getKind() == TypeKind.ERROR) {
+                throw new UnresolvedTypeException(type.toString());
+            }
+            if (erasure.getKind() == TypeKind.DECLARED) {
+                classesToProcess.add((TypeElement) types.asElement(erasure));
+            }
+        }
+
+        private void addClassToProcess(String binaryName) {
+            classesToProcess.add(elements.getTypeElement(binaryName.replace('$', '.')));
+        }
+
+        private void addName(Set<String> target, TypeMirror type) {
+            TypeMirror erasure = types.erasure(type);
+            if (erasure.getKind() == TypeKind.ERROR) {
+                throw new UnresolvedTypeException(type.toString());
+            }
+            if (erasure.getKind() == TypeKind.DECLARED) {
+                target.add(binaryName((TypeElement) types.asElement(erasure)));
+            } else if (erasure.getKind().isPrimitive()) {
+                target.add(erasure.toString());
+            }
+        }
+
+        private TypeMirror unwrapInstanceTypeParameter(TypeMirror type) {
+            if (type.getKind() == TypeKind.DECLARED
+                    && ((TypeElement) types.asElement(type)).getQualifiedName().contentEquals(INSTANCE)) {
+                List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+                if (arguments.isEmpty() || arguments.get(0).getKind() != TypeKind.DECLARED) {
+                    // the runtime scanning cannot handle raw types, wildcards or type variables either
+                    throw new UnresolvedTypeException(type.toString());
+                }
+                return arguments.get(0);
+            }
+            return type;
+        }
+
+    }
+
+    private List<String> getClassValues(Collection<AnnotationMirror> annotations) {
+        List<String> result = new ArrayList<>();
+        if (annotations == null) {
+            return result;
+        }
+        for (AnnotationMirror annotation : annotations) {
+            Set<String> distinct = new LinkedHashSet<>();
+            for (Object value : (List<?>) getValue(annotation, "value")) {
+                Object type = ((AnnotationValue) value).getValue();
+                if (!(type instanceof DeclaredType) || ((DeclaredType) type).getKind() == TypeKind.ERROR) {
+                    throw new UnresolvedTypeException(String.valueOf(type));
+                }
+                distinct.add(binaryName((TypeElement) ((DeclaredType) type).asElement()));
+            }
+            result.addAll(distinct);
+        }
+        return result;
+    }
+
+    private Object getValue(AnnotationMirror annotation, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements
+                .getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fields of the superclasses and interfaces first, then the declared ones.
+     */
+    private List<VariableElement> getAllFields(TypeElement type) {
+        List<VariableElement> result = new ArrayList<>();
+        TypeElement superclass = getSuperclass(type);
+        if (superclass != null) {
+            result.addAll(getAllFields(superclass));
+        }
+        for (TypeMirror ifc : type.getInterfaces()) {
+            result.addAll(getAllFields((TypeElement) types.asElement(ifc)));
+        }
+        result.addAll(ElementFilter.fieldsIn(type.getEnclosedElements()));
+        return result;
+    }
+
+    /**
+     * Declared methods first, then the methods of the superclasses and the default methods of interfaces which are not
+     * overridden.
+     */
+    private List<ExecutableElement> getAllMethods(TypeElement type) {
+        List<ExecutableElement> local = ElementFilter.methodsIn(type.getEnclosedElements());
+        Set<String> localSignatures = new HashSet<>();
+        for (ExecutableElement method : local) {
+            localSignatures.add(signature(method));
+        }
+        Set<ExecutableElement> result = new LinkedHashSet<>(local);
+        TypeElement superclass = getSuperclass(type);
+        if (superclass != null) {
+            for (ExecutableElement method : getAllMethods(superclass)) {
+                if (!localSignatures.contains(signature(method))) {
+                    result.add(method);
+                }
+            }
+        }
+        for (TypeMirror ifc : type.getInterfaces()) {
+            for (ExecutableElement method : getAllMethods((TypeElement) types.asElement(ifc))) {
+                if (!method.getModifiers().contains(Modifier.ABSTRACT) && !localSignatures.contains(signature(method))) {
+                    result.add(method);
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private ExecutableElement findFirstAnnotatedConstructor(TypeElement type, String annotation) {
+        for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(current.getEnclosedElements())) {
+                if (hasAnnotation(constructor, annotation)) {
+                    return constructor;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String signature(ExecutableElement method) {
+        return method.getSimpleName() + method.getParameters().stream()
+                .map(parameter -> types.erasure(parameter.asType()).toString())
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) types.asElement(superclass);
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    /**
+     * Whether the annotation is present on the element, either directly or as a meta-annotation.
+     */
+    private boolean hasAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (getMetaAnnotations(asTypeElement(mirror)).contains(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<String> getMetaAnnotations(TypeElement annotationType) {
+        String name = annotationType.getQualifiedName().toString();
+        Set<String> result = metaAnnotations.get(name);
+        if (result == null) {
+            result = new HashSet<>();
+            Deque<TypeElement> toProcess = new ArrayDeque<>();
+            toProcess.add(annotationType);
+            TypeElement current;
+            while ((current = toProcess.poll()) != null) {
+                String currentName = current.getQualifiedName().toString();
+                if (!result.add(currentName) || currentName.startsWith("java.lang.annotation")) {
+                    continue;
+                }
+                TypeElement element = getRepeatableElement(current);
+                if (element != null) {
+                    toProcess.add(element);
+                }
+                for (AnnotationMirror meta : current.getAnnotationMirrors()) {
+                    toProcess.add(asTypeElement(meta));
+                }
+            }
+            metaAnnotations.put(name, result);
+        }
+        return result;
+    }
+
+    /**
+     * All annotations present on the class, its interfaces and, if inherited, its superclasses, top-down. Mirrors
+     * {@code org.jboss.weld.junit.ClassMetadata}.
+     */
+    private Map<String, List<AnnotationMirror>> getClassAnnotations(TypeElement type) {
+        String name = type.getQualifiedName().toString();
+        Map<String, List<AnnotationMirror>> result = classAnnotations.get(name);
+        if (result != null) {
+            return result;
+        }
+        result = new LinkedHashMap<>();
+        TypeElement superclass = getSuperclass(type);
+        if (superclass != null) {
+            for (Map.Entry<String, List<AnnotationMirror>> entry : getClassAnnotations(superclass).entrySet()) {
+                if (isInherited(entry.getKey())) {
+                    addAll(result, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        for (TypeMirror ifc : type.getInterfaces()) {
+            for (Map.Entry<String, List<AnnotationMirror>> entry : getClassAnnotations((TypeElement) types.asElement(ifc))
+                    .entrySet()) {
+                addAll(result, entry.getKey(), entry.getValue());
+            }
+        }
+        collectAnnotations(type.getAnnotationMirrors(), result, new HashSet<>());
+        classAnnotations.put(name, result);
+        return result;
+    }
+
+    private void collectAnnotations(List<? extends AnnotationMirror> candidates, Map<String, List<AnnotationMirror>> result,
+            Set<String> visited) {
+        for (AnnotationMirror candidate : candidates) {
+            TypeElement candidateType = asTypeElement(candidate);
+            String candidateName = candidateType.getQualifiedName().toString();
+            addAll(result, candidateName, List.of(candidate));
+            if (candidateName.startsWith("java.lang.annotation")) {
+                continue;
+            }
+            TypeElement element = getRepeatableElement(candidateType);
+            if (element != null) {
+                List<AnnotationMirror> contained = new ArrayList<>();
+                for (Object value : (List<?>) getValue(candidate, "value")) {
+                    contained.add((AnnotationMirror) ((AnnotationValue) value).getValue());
+                }
+                addAll(result, element.getQualifiedName().toString(), contained);
+                collectAnnotations(contained, result, visited);
+            } else if (visited.add(candidateName)) {
+                collectAnnotations(candidateType.getAnnotationMirrors(), result, visited);
+            }
+        }
+    }
+
+    private static void addAll(Map<String, List<AnnotationMirror>> result, String name, List<AnnotationMirror> annotations) {
+        List<AnnotationMirror> found = result.computeIfAbsent(name, key -> new ArrayList<>());
+        for (AnnotationMirror annotation : annotations) {
+            if (!found.contains(annotation)) {
+                found.add(annotation);
+            }
+        }
+    }
+
+    private boolean isInherited(String annotation) {
+        TypeElement annotationType = elements.getTypeElement(annotation);
+        return annotationType != null && annotationType.getAnnotationMirrors().stream()
+                .anyMatch(mirror -> asTypeElement(mirror).getQualifiedName().contentEquals("java.lang.annotation.Inherited"));
+    }
+
+    /**
+     *
+     * @return the repeatable annotation type if the given type is its container, {@code null} otherwise
+     */
+    private TypeElement getRepeatableElement(TypeElement annotationType) {
+        for (ExecutableElement method : ElementFilter.methodsIn(annotationType.getEnclosedElements())) {
+            if (!method.getSimpleName().contentEquals("value") || method.getReturnType().getKind() != TypeKind.ARRAY) {
+                continue;
+            }
+            TypeMirror component = ((ArrayType) method.getReturnType()).getComponentType();
+            if (component.getKind() != TypeKind.DECLARED) {
+                return null;
+            }
+            TypeElement element = (TypeElement) types.asElement(component);
+            if (element.getKind() != ElementKind.ANNOTATION_TYPE) {
+                return null;
+            }
+            for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+                if (asTypeElement(mirror).getQualifiedName().contentEquals("java.lang.annotation.Repeatable")) {
+                    Object container = getValue(mirror, "value");
+                    if (container instanceof DeclaredType
+                            && types.isSameType((DeclaredType) container, annotationType.asType())) {
+                        return element;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static TypeElement asTypeElement(AnnotationMirror annotation) {
+        return (TypeElement) annotation.getAnnotationType().asElement();
+    }
+
+    private String binaryName(TypeElement type) {
+        return elements.getBinaryName(type).toString();
+    }
+
+    /**
+     * The class file of a type, relative to its package.
+     */
+    private static final class ClassFile {
+
+        private final String packageName;
+
+        private final String relativeName;
+
+        private ClassFile(String packageName, String relativeName) {
+            this.packageName = packageName;
+            this.relativeName = relativeName;
+        }
+
+    }
+
+    /**
+     * An entry waiting for the class files it depends on to be written.
+     */
+    private static final class PendingEntry {
+
+        private final FileObject resource;
+
+        private final Map<String, String> entry;
+
+        private final Map<String, ClassFile> classFiles;
+
+        private PendingEntry(FileObject resource, Map<String, String> entry, Map<String, ClassFile> classFiles) {
+            this.resource = resource;
+            this.entry = entry;
+            this.classFiles = classFiles;
+        }
+
+    }
+
+    /**
+     * A type referenced by a test could not be resolved, e.g. because it is generated later.
+     */
+    private static final class UnresolvedTypeException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        UnresolvedTypeException(String type) {
+            super("Unable to resolve " + type);
+        }
+
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.auto;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.junit.ScanIndex;
+import org.jboss.weld.junit.ScanResult;
+import org.jboss.weld.junit5.processor.AutoWeldIndexProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that {@link AutoWeldIndexProcessor} computes exactly the same results as the runtime {@link ClassScanning}. The
+ * fixture is compiled twice, with and without the processor, so that the runtime scanning does not pick up the index. This
+ * test resides in the package of {@link ClassScanning} in order to invoke it directly.
+ */
+public class ClassScanningParityTest {
+
+    private static final String TEST_SOURCE = String.join("\n",
+            "package bar;",
+            "",
+            "import java.lang.annotation.Retention;",
+            "import java.lang.annotation.RetentionPolicy;",
+            "import jakarta.enterprise.context.ApplicationScoped;",
+            "import jakarta.enterprise.context.Dependent;",
+            "import jakarta.enterprise.inject.Alternative;",
+            "import jakarta.enterprise.inject.Instance;",
+            "import jakarta.enterprise.inject.Produces;",
+            "import jakarta.enterprise.inject.spi.Extension;",
+            "import jakarta.inject.Inject;",
+            "import jakarta.inject.Qualifier;",
+            "import jakarta.interceptor.Interceptor;",
+            "import org.jboss.weld.bootstrap.spi.BeanDiscoveryMode;",
+            "import org.jboss.weld.junit5.auto.AddBeanClasses;",
+            "import org.jboss.weld.junit5.auto.AddEnabledInterceptors;",
+            "import org.jboss.weld.junit5.auto.AddExtensions;",
+            "import org.jboss.weld.junit5.auto.AddPackages;",
+            "import org.jboss.weld.junit5.auto.EnableAlternatives;",
+            "import org.jboss.weld.junit5.auto.EnableAutoWeld;",
+            "import org.jboss.weld.junit5.auto.ExcludeBean;",
+            "import org.jboss.weld.junit5.auto.ExcludeBeanClasses;",
+            "import org.jboss.weld.junit5.auto.SetBeanDiscoveryMode;",
+            "import org.junit.jupiter.api.BeforeEach;",
+            "import org.junit.jupiter.api.Nested;",
+            "import org.junit.jupiter.api.Test;",
+            "",
+            "abstract class AbstractBarTest {",
+            "    @Inject BarTest.Engine engine;",
+            "    @BeforeEach void init(BarTest.Parameter parameter) {}",
+            "}",
+            "",
+            "@EnableAutoWeld",
+            "@AddPackages(value = BarTest.Packaged.class, recursively = false)",
+            "@AddBeanClasses({ BarTest.Added.class, BarTest.Added.class })",
+            "@AddExtensions(BarTest.BarExtension.class)",
+            "@AddEnabledInterceptors(BarTest.BarInterceptor.class)",
+            "@EnableAlternatives(BarTest.AlternativeBean.class)",
+            "@ExcludeBeanClasses(BarTest.Excluded.class)",
+            "@SetBeanDiscoveryMode(BeanDiscoveryMode.ALL)",
+            "public class BarTest extends AbstractBarTest {",
+            "",
+            "    @Qualifier @Retention(RetentionPolicy.RUNTIME) public @interface Special {}",
+            "",
+            "    @Dependent public static class Engine { @Inject Part part; @Inject Excluded excluded;",
+            "        @Produces Fuel fuel(Tank tank) { return new Fuel(); } }",
+            "    @ApplicationScoped public static class Part {}",
+            "    public static class Fuel {}",
+            "    @Dependent public static class Tank {}",
+            "    public static class Added { @Inject Part part; }",
+            "    public static class Packaged {}",
+            "    public static class BarExtension implements Extension {}",
+            "    @Interceptor public static class BarInterceptor {}",
+            "    @Alternative @Dependent public static class AlternativeBean {}",
+            "    @Dependent public static class Excluded {}",
+            "    public static class Mocked {}",
+            "    @Dependent public static class Lazy {}",
+            "    public static class Parameter {}",
+            "    public static class QualifiedParameter {}",
+            "",
+            "    @Inject Instance<Lazy> lazy;",
+            "    @ExcludeBean Mocked mocked = new Mocked();",
+            "",
+            "    @Test void test(Parameter parameter, @Special QualifiedParameter qualified) {}",
+            "",
+            "    @Nested class NestedTest { @Inject Tank tank; @Test void test(@Special Parameter parameter) {} }",
+            "}");
+
+    private Path dir;
+
+    @BeforeEach
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("weld-testing-parity");
+    }
+
+    @Test
+    public void testProcessorMatchesRuntimeScanning() throws Exception {
+        Path source = dir.resolve("src/bar/BarTest.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, TEST_SOURCE);
+        Path runtimeClasses = compile(source, "runtime", false);
+        Path indexedClasses = compile(source, "indexed", true);
+
+        try (URLClassLoader runtimeLoader = new URLClassLoader(new URL[] { runtimeClasses.toUri().toURL() },
+                getClass().getClassLoader());
+                URLClassLoader indexedLoader = new URLClassLoader(new URL[] { indexedClasses.toUri().toURL() },
+                        getClass().getClassLoader())) {
+            for (List<String> testClasses : List.of(List.of("bar.BarTest"), List.of("bar.BarTest", "bar.BarTest$NestedTest"))) {
+                for (boolean explicitInjection : List.of(false, true)) {
+                    ScanResult indexed = ScanIndex.find(load(indexedLoader, testClasses), explicitInjection);
+                    Assertions.assertNotNull(indexed, testClasses + " " + explicitInjection);
+                    List<Class<?>> runtimeTestClasses = load(runtimeLoader, testClasses);
+                    Assertions.assertNull(ScanIndex.find(runtimeTestClasses, explicitInjection));
+                    ScanResult scanned = ClassScanning.scanForRequiredBeanClasses(runtimeTestClasses, new Weld(),
+                            explicitInjection, null);
+                    assertSameResult(scanned, indexed, testClasses + " " + explicitInjection);
+                }
+            }
+        }
+    }
+
+    @AfterEach
+    public void deleteDir() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private void assertSameResult(ScanResult expected, ScanResult actual, String message) {
+        Properties expectedProperties = expected.toProperties();
+        Properties actualProperties = actual.toProperties();
+        Assertions.assertEquals(expectedProperties.stringPropertyNames(), actualProperties.stringPropertyNames(), message);
+        for (String name : expectedProperties.stringPropertyNames()) {
+            String expectedValue = expectedProperties.getProperty(name);
+            String actualValue = actualProperties.getProperty(name);
+            if (name.equals("scannedClasses")) {
+                // only the order of the contributions matters
+                Assertions.assertEquals(new HashSet<>(Arrays.asList(expectedValue.split(","))),
+                        new HashSet<>(Arrays.asList(actualValue.split(","))), message + " " + name);
+            } else {
+                Assertions.assertEquals(expectedValue, actualValue, message + " " + name);
+            }
+        }
+    }
+
+    private Path compile(Path source, String name, boolean withProcessor) throws IOException {
+        Path classes = Files.createDirectories(dir.resolve(name));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            Iterable<? extends JavaFileObject> sources = fileManager.getJavaFileObjects(source.toFile());
+            List<String> options = new ArrayList<>(
+                    List.of("-classpath", System.getProperty("java.class.path"), "-d", classes.toString()));
+            if (!withProcessor) {
+                options.add("-proc:none");
+            }
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, sources);
+            if (withProcessor) {
+                task.setProcessors(List.of(new AutoWeldIndexProcessor()));
+            }
+            Assertions.assertTrue(task.call());
+        }
+        return classes;
+    }
+
+    private static List<Class<?>> load(ClassLoader classLoader, List<String> names) throws ClassNotFoundException {
+        List<Class<?>> result = new ArrayList<>();
+        for (String name : names) {
+            result.add(classLoader.loadClass(name));
+        }
+        return result;
+    }
+
+}
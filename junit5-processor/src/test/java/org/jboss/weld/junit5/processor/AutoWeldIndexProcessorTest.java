@@ -0,0 +1,152 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.processor;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.jboss.weld.junit.ScanIndex;
+import org.jboss.weld.junit.ScanResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AutoWeldIndexProcessorTest {
+
+    private static final String TEST_SOURCE = String.join("\n",
+            "package foo;",
+            "",
+            "import jakarta.enterprise.context.Dependent;",
+            "import jakarta.inject.Inject;",
+            "import org.jboss.weld.junit5.auto.AddBeanClasses;",
+            "import org.jboss.weld.junit5.auto.EnableAutoWeld;",
+            "import org.jboss.weld.junit5.auto.ExcludeBean;",
+            "import org.junit.jupiter.api.Nested;",
+            "import org.junit.jupiter.api.Test;",
+            "",
+            "@EnableAutoWeld",
+            "@AddBeanClasses(FooTest.Added.class)",
+            "public class FooTest {",
+            "",
+            "    @Dependent public static class Engine { @Inject Part part; }",
+            "    @Dependent public static class Part {}",
+            "    public static class Added {}",
+            "    public static class Parameter {}",
+            "",
+            "    @Inject Engine engine;",
+            "    @ExcludeBean Part part = new Part();",
+            "",
+            "    @Test void test(Parameter parameter) {}",
+            "",
+            "    @Nested class NestedTest { @Test void test() {} }",
+            "}");
+
+    private Path dir;
+
+    @BeforeEach
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("weld-testing-processor");
+    }
+
+    @Test
+    public void testIndexEntriesAreGenerated() throws Exception {
+        compile();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { dir.resolve("classes").toUri().toURL() },
+                getClass().getClassLoader())) {
+            Class<?> testClass = classLoader.loadClass("foo.FooTest");
+            ScanResult result = ScanIndex.find(List.of(testClass), false);
+            Assertions.assertNotNull(result);
+            Assertions.assertEquals(List.of("foo.FooTest$Added", "foo.FooTest$Engine"), names(result.getBeanClasses()));
+            Assertions.assertEquals(List.of("foo.FooTest$Part"), names(result.getExcludedBeanTypes()));
+            Assertions.assertTrue(result.isScanned(classLoader.loadClass("foo.FooTest$Parameter")));
+
+            // only qualified parameters are considered with explicit parameter injection
+            ScanResult explicitResult = ScanIndex.find(List.of(testClass), true);
+            Assertions.assertNotNull(explicitResult);
+            Assertions.assertFalse(explicitResult.isScanned(classLoader.loadClass("foo.FooTest$Parameter")));
+
+            Class<?> nestedTestClass = classLoader.loadClass("foo.FooTest$NestedTest");
+            Assertions.assertNotNull(ScanIndex.find(List.of(testClass, nestedTestClass), false));
+        }
+    }
+
+    @Test
+    public void testOutdatedIndexEntryIsIgnored() throws Exception {
+        compile();
+        // pretend the class file of a bean class changed since the test was compiled
+        Path entry = dir.resolve("classes").resolve(ScanIndex.getResourceName(List.of("foo.FooTest"), false));
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(entry, StandardCharsets.ISO_8859_1)) {
+            lines.add(line.startsWith("hash.foo.FooTest$Engine=") ? "hash.foo.FooTest$Engine=0" : line);
+        }
+        Assertions.assertNotEquals(Files.readAllLines(entry, StandardCharsets.ISO_8859_1), lines);
+        Files.write(entry, lines, StandardCharsets.ISO_8859_1);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { dir.resolve("classes").toUri().toURL() },
+                getClass().getClassLoader())) {
+            Class<?> testClass = classLoader.loadClass("foo.FooTest");
+            Assertions.assertNull(ScanIndex.find(List.of(testClass), false));
+            Assertions.assertNotNull(ScanIndex.find(List.of(testClass), true));
+        }
+    }
+
+    @AfterEach
+    public void deleteDir() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private void compile() throws IOException {
+        Path source = dir.resolve("src/foo/FooTest.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, TEST_SOURCE);
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            Iterable<? extends JavaFileObject> sources = fileManager.getJavaFileObjects(source.toFile());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    List.of("-classpath", System.getProperty("java.class.path"), "-d", classes.toString()), null, sources);
+            task.setProcessors(List.of(new AutoWeldIndexProcessor()));
+            Assertions.assertTrue(task.call());
+        }
+    }
+
+    private static List<String> names(Iterable<? extends Class<?>> classes) {
+        List<String> result = new ArrayList<>();
+        classes.forEach(clazz -> result.add(clazz.getName()));
+        return result;
+    }
+
+}
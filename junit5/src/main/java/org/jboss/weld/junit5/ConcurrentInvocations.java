@@ -0,0 +1,65 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the body of the annotated test method the given number of times concurrently, each invocation on a virtual thread
+ * of its own, or on a platform thread on Java versions without virtual threads. All the invocations share the container and
+ * the injected test instance, but each of them gets a freshly activated request context and contexts of its own for the
+ * scopes activated through {@link WeldInitiator.Builder#activate(Class...)} or
+ * {@link org.jboss.weld.junit5.auto.ActivateScopes}. The test fails if any of the invocations fails.
+ *
+ * <p>
+ * The lifecycle callbacks, e.g. {@code @BeforeEach} methods, and the parameter resolution are performed once, on the
+ * thread executing the test.
+ * </p>
+ *
+ * <pre>
+ * &#64;EnableWeld
+ * public class CounterTest {
+ *
+ *     &#64;Inject
+ *     Counter counter;
+ *
+ *     &#64;Test
+ *     &#64;ConcurrentInvocations(1000)
+ *     public void testIncrement() {
+ *         counter.increment();
+ *     }
+ * }
+ * </pre>
+ *
+ * @see WeldJunit5Extension
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface ConcurrentInvocations {
+
+    /**
+     *
+     * @return the number of concurrent invocations
+     */
+    int value();
+
+}
@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5;
+
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Determines how long a Weld container started by {@link WeldJunit5Extension} lives.
+ *
+ * @see EnableWeld#containerLifecycle()
+ * @see org.jboss.weld.junit5.auto.EnableAutoWeld#containerLifecycle()
+ */
+public enum ContainerLifecycle {
+
+    /**
+     * The container follows the {@link TestInstance.Lifecycle} of the test class, i.e. it is started for each test method
+     * (or once per test class if running {@link TestInstance.Lifecycle#PER_CLASS}) and shut down afterwards.
+     */
+    DEFAULT,
+
+    /**
+     * The container is started once per test class and shut down after all its tests were executed, even though JUnit creates
+     * a new test instance for each test method. Between two test methods, the contexts activated by the
+     * {@link WeldInitiator} are deactivated, the {@link jakarta.enterprise.context.Dependent} beans injected into the
+     * previous test instance are destroyed and the new test instance is injected.
+     *
+     * <p>
+     * Beans in other scopes, e.g. {@link jakarta.enterprise.context.ApplicationScoped}, keep their state between test
+     * methods. If test methods of the same class are executed concurrently, a test method which finds the container in use
+     * starts a container of its own. Note that a {@link WeldSetup} field has to be {@code static} in this mode so that all
+     * test instances share the same {@link WeldInitiator}.
+     * </p>
+     *
+     * <p>
+     * Has no effect if running {@link TestInstance.Lifecycle#PER_CLASS}.
+     * </p>
+     */
+    PER_CLASS_WITH_RESET
+
+}
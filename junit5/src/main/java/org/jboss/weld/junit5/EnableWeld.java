@@ -56,4 +56,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 @ExtendWith(WeldJunit5Extension.class)
 public @interface EnableWeld {
 
+    /**
+     *
+     * @return the lifecycle of the Weld container
+     * @see ContainerLifecycle
+     */
+    ContainerLifecycle containerLifecycle() default ContainerLifecycle.DEFAULT;
+
 }
@@ -17,8 +17,13 @@
 package org.jboss.weld.junit5;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.junit.AsyncContainerShutdown.PendingShutdowns;
+import org.jboss.weld.junit.ContainerProfile;
+import org.jboss.weld.junit.ContainerProfiler;
+import org.jboss.weld.junit.DeploymentFingerprint;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 
@@ -34,6 +39,14 @@ public class ExtensionContextUtils {
     private static final String CONTAINER = "weldContainer";
     private static final String EXPLICIT_PARAM_INJECTION = "explicitParamInjection";
     private static final String WELD_ENRICHERS = "weldEnrichers";
+    private static final String DEPLOYMENT_FINGERPRINT = "deploymentFingerprint";
+    private static final String CONTAINER_CACHE = "containerCache";
+    private static final String IDLE_INITIATOR = "idleWeldInitiator";
+    private static final String PENDING_SHUTDOWNS = "pendingShutdowns";
+    private static final String PRE_BOOTED_CONTAINERS = "preBootedContainers";
+    private static final String CONTAINER_PROFILE = "containerProfile";
+    private static final String PROFILER_SUMMARY = "profilerSummary";
+    private static final String INVOCATION_CONTEXTS = "invocationContexts";
 
     private static Namespace EXTENSION_NAMESPACE;
 
@@ -132,4 +145,133 @@ public class ExtensionContextUtils {
         getRootExtensionStore(context).put(WELD_ENRICHERS, enrichers);
     }
 
+    /**
+     * Can return null if the container cache is disabled or if a {@link WeldSetup} initiator is used
+     *
+     * @param context {@link ExtensionContext} to search in
+     * @return {@link DeploymentFingerprint} of the deployment being built or null
+     */
+    public static DeploymentFingerprint getDeploymentFingerprintFromStore(ExtensionContext context) {
+        return getTestStore(context).get(DEPLOYMENT_FINGERPRINT, DeploymentFingerprint.class);
+    }
+
+    /**
+     * Store {@link DeploymentFingerprint} to {@link ExtensionContext.Store}, a null value removes any stored fingerprint
+     */
+    public static void setDeploymentFingerprintToStore(ExtensionContext context, DeploymentFingerprint fingerprint) {
+        if (fingerprint == null) {
+            getTestStore(context).remove(DEPLOYMENT_FINGERPRINT);
+        } else {
+            getTestStore(context).put(DEPLOYMENT_FINGERPRINT, fingerprint);
+        }
+    }
+
+    /**
+     * Can return null if the profiler is disabled
+     *
+     * @param context {@link ExtensionContext} to search in
+     * @return {@link ContainerProfile} of the test being executed or null
+     */
+    public static ContainerProfile getContainerProfileFromStore(ExtensionContext context) {
+        return getTestStore(context).get(CONTAINER_PROFILE, ContainerProfile.class);
+    }
+
+    /**
+     * Store {@link ContainerProfile} to {@link ExtensionContext.Store}, a null value removes any stored profile
+     */
+    public static void setContainerProfileToStore(ExtensionContext context, ContainerProfile profile) {
+        if (profile == null) {
+            getTestStore(context).remove(CONTAINER_PROFILE);
+        } else {
+            getTestStore(context).put(CONTAINER_PROFILE, profile);
+        }
+    }
+
+    /**
+     * Makes sure the summary of all profiles is logged once the <i>root</i> extension context is closed
+     */
+    static void registerProfilerSummary(ExtensionContext context) {
+        getRootExtensionStore(context).getOrComputeIfAbsent(PROFILER_SUMMARY,
+                key -> (ExtensionContext.Store.CloseableResource) ContainerProfiler::logSummary);
+    }
+
+    /**
+     * The cache is stored in the <i>root</i> extension context and thus closed once all tests were executed
+     */
+    static ContainerCache getContainerCacheFromStore(ExtensionContext context) {
+        return getRootExtensionStore(context).getOrComputeIfAbsent(CONTAINER_CACHE, key -> new ContainerCache(),
+                ContainerCache.class);
+    }
+
+    /**
+     * Can return null if no container was cached yet
+     */
+    static ContainerCache getExistingContainerCacheFromStore(ExtensionContext context) {
+        return getRootExtensionStore(context).get(CONTAINER_CACHE, ContainerCache.class);
+    }
+
+    /**
+     * The pending shutdowns are awaited once the given {@link ExtensionContext} is closed, failures are then reported for it.
+     * The namespace is specific to the given context, so that the pending shutdowns are never looked up in a parent store.
+     */
+    static PendingShutdowns getPendingShutdownsFromStore(ExtensionContext context) {
+        return context.getStore(Namespace.create(WeldJunit5Extension.class, PENDING_SHUTDOWNS, context.getUniqueId()))
+                .getOrComputeIfAbsent(PENDING_SHUTDOWNS, key -> new PendingShutdownsResource(),
+                        PendingShutdownsResource.class).pendingShutdowns;
+    }
+
+    private static final class PendingShutdownsResource implements ExtensionContext.Store.CloseableResource {
+
+        private final PendingShutdowns pendingShutdowns = new PendingShutdowns();
+
+        @Override
+        public void close() {
+            pendingShutdowns.await();
+        }
+
+    }
+
+    /**
+     * Stores the deactivation of the contexts activated for a single test method, see
+     * {@link WeldJunit5Extension#GLOBAL_CONCURRENT_CONTEXTS}. The namespace is specific to the given context, so that the
+     * deactivation is never looked up in a parent store.
+     */
+    static void setInvocationContextsToStore(ExtensionContext methodContext, Runnable deactivation) {
+        getInvocationStore(methodContext).put(INVOCATION_CONTEXTS, deactivation);
+    }
+
+    /**
+     * Can return null if no contexts were activated for the test method
+     */
+    static Runnable removeInvocationContextsFromStore(ExtensionContext methodContext) {
+        return getInvocationStore(methodContext).remove(INVOCATION_CONTEXTS, Runnable.class);
+    }
+
+    private static ExtensionContext.Store getInvocationStore(ExtensionContext methodContext) {
+        return methodContext
+                .getStore(Namespace.create(WeldJunit5Extension.class, INVOCATION_CONTEXTS, methodContext.getUniqueId()));
+    }
+
+    /**
+     * The pre-booted containers are kept per test class and shut down once the class is closed
+     *
+     * @param classContext {@link ExtensionContext} of the test class
+     */
+    static PreBootedContainers getPreBootedContainersFromStore(ExtensionContext classContext) {
+        return getTestStore(classContext).getOrComputeIfAbsent(PRE_BOOTED_CONTAINERS,
+                key -> new PreBootedContainers(classContext.getRequiredTestClass()), PreBootedContainers.class);
+    }
+
+    /**
+     * Holds the suspended {@link WeldInitiator} of a test class running with {@link ContainerLifecycle#PER_CLASS_WITH_RESET},
+     * the reference is empty while the container is in use by a test method
+     *
+     * @param classContext {@link ExtensionContext} of the test class
+     */
+    @SuppressWarnings("unchecked")
+    static AtomicReference<WeldInitiator> getIdleInitiatorFromStore(ExtensionContext classContext) {
+        return getTestStore(classContext).getOrComputeIfAbsent(IDLE_INITIATOR, key -> new AtomicReference<WeldInitiator>(),
+                AtomicReference.class);
+    }
+
 }
@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.inject.WeldInstance;
+
+/**
+ * Resolutions of test method parameters for a single container. Both {@link WeldJunit5Extension#supportsParameter} and
+ * {@link WeldJunit5Extension#resolveParameter} use the same resolution, which is kept for all invocations of a method, e.g.
+ * of a parameterized or repeated test, until the container is shut down.
+ *
+ * @see WeldInitiator#getParameterResolutions(WeldContainer)
+ */
+class ParameterResolutionCache {
+
+    private final WeldContainer container;
+
+    private final ConcurrentMap<Parameter, Resolution> resolutions = new ConcurrentHashMap<>();
+
+    ParameterResolutionCache(WeldContainer container) {
+        this.container = container;
+    }
+
+    /**
+     *
+     * @param container
+     * @return <code>true</code> if this cache holds the resolutions of the given container, <code>false</code> otherwise
+     */
+    boolean isFor(WeldContainer container) {
+        return this.container == container;
+    }
+
+    Resolution get(Parameter parameter) {
+        return resolutions.computeIfAbsent(parameter, this::createResolution);
+    }
+
+    private Resolution createResolution(Parameter parameter) {
+        BeanManager beanManager = container.getBeanManager();
+        List<Annotation> qualifiers = new ArrayList<>();
+        for (Annotation annotation : parameter.getAnnotations()) {
+            // use BeanManager.isQualifier to be able to detect custom qualifiers which don't need to have @Qualifier
+            if (beanManager.isQualifier(annotation.annotationType())) {
+                qualifiers.add(annotation);
+            }
+        }
+        return new Resolution(parameter, qualifiers.toArray(new Annotation[qualifiers.size()]));
+    }
+
+    final class Resolution {
+
+        private final Parameter parameter;
+
+        private final Annotation[] qualifiers;
+
+        // selected lazily, a parameter without qualifiers may not be resolved by Weld at all
+        private volatile WeldInstance<?> instance;
+
+        private Resolution(Parameter parameter, Annotation[] qualifiers) {
+            this.parameter = parameter;
+            this.qualifiers = qualifiers;
+        }
+
+        boolean hasQualifiers() {
+            return qualifiers.length > 0;
+        }
+
+        List<Annotation> getQualifiers() {
+            return List.of(qualifiers);
+        }
+
+        WeldInstance<?> getInstance() {
+            WeldInstance<?> result = instance;
+            if (result == null) {
+                result = container.select(parameter.getParameterizedType(), qualifiers);
+                instance = result;
+            }
+            return result;
+        }
+
+    }
+
+}
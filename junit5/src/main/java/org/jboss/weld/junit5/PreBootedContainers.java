@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.weld.junit.DeploymentFingerprint;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.annotation.Testable;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+
+/**
+ * Containers of a test class booted in the background while a test of the class is executing. Each pre-booted container is
+ * fresh, i.e. it never served another test, so the isolation of test methods is the same as when booting synchronously.
+ *
+ * <p>
+ * At most one container is booted ahead and only as long as the class is expected to have further tests. Containers which
+ * were not used are shut down once the test class is closed.
+ * </p>
+ *
+ * @see WeldJunit5Extension#GLOBAL_CONTAINER_PRE_BOOT
+ */
+class PreBootedContainers implements ExtensionContext.Store.CloseableResource {
+
+    private static final Logger LOGGER = Logger.getLogger(PreBootedContainers.class.getName());
+
+    private final Deque<PreBootedContainer> containers = new ArrayDeque<>();
+
+    private int remainingTests;
+
+    PreBootedContainers(Class<?> testClass) {
+        // an estimation only, e.g. repeated tests or filtered test methods are not considered
+        this.remainingTests = (int) AnnotationSupport
+                .findAnnotatedMethods(testClass, Testable.class, HierarchyTraversalMode.TOP_DOWN)
+                .stream()
+                .filter(method -> !method.isAnnotationPresent(Disabled.class))
+                .count();
+    }
+
+    /**
+     * Marks the start of a test and returns a container pre-booted for the given fingerprint, if there is one.
+     *
+     * @param fingerprint
+     * @return an initiator with a running container or {@code null} if none was pre-booted or the boot failed
+     */
+    WeldInitiator take(DeploymentFingerprint fingerprint) {
+        PreBootedContainer container = null;
+        synchronized (this) {
+            remainingTests--;
+            for (PreBootedContainer candidate : containers) {
+                if (candidate.fingerprint.equals(fingerprint)) {
+                    container = candidate;
+                    break;
+                }
+            }
+            if (container != null) {
+                containers.remove(container);
+            }
+        }
+        if (container == null) {
+            return null;
+        }
+        try {
+            return container.boot.join();
+        } catch (CompletionException e) {
+            // boot synchronously instead, so that the failure is reported for the test
+            LOGGER.log(Level.FINE, "Pre-boot of Weld container failed", e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     *
+     * @return <code>true</code> if another container should be booted ahead, <code>false</code> otherwise
+     */
+    synchronized boolean needsMore() {
+        return containers.size() < Math.min(1, remainingTests);
+    }
+
+    /**
+     * Boots the container of the given initiator on a worker thread.
+     *
+     * @param fingerprint
+     * @param initiator
+     * @param testInstance
+     */
+    void preBoot(DeploymentFingerprint fingerprint, WeldInitiator initiator, Object testInstance) {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        CompletableFuture<WeldInitiator> boot = CompletableFuture.supplyAsync(() -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader originalClassLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
+            try {
+                initiator.bootWeld(testInstance);
+                return initiator;
+            } finally {
+                thread.setContextClassLoader(originalClassLoader);
+            }
+        }, ExecutorHolder.EXECUTOR);
+        synchronized (this) {
+            containers.add(new PreBootedContainer(fingerprint, boot));
+        }
+    }
+
+    @Override
+    public void close() {
+        List<PreBootedContainer> toShutdown;
+        synchronized (this) {
+            toShutdown = new ArrayList<>(containers);
+            containers.clear();
+        }
+        for (PreBootedContainer container : toShutdown) {
+            try {
+                container.boot.join().shutdownWeld();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Unable to shut down pre-booted Weld container", e);
+            }
+        }
+    }
+
+    private static final class PreBootedContainer {
+
+        private final DeploymentFingerprint fingerprint;
+
+        private final CompletableFuture<WeldInitiator> boot;
+
+        private PreBootedContainer(DeploymentFingerprint fingerprint, CompletableFuture<WeldInitiator> boot) {
+            this.fingerprint = fingerprint;
+            this.boot = boot;
+        }
+
+    }
+
+    // lazily started worker threads shared by all test classes
+    private static final class ExecutorHolder {
+
+        private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+                    Thread thread = new Thread(runnable, "weld-testing-preboot-" + THREAD_COUNTER.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+    }
+
+}
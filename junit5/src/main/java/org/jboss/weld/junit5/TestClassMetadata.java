@@ -0,0 +1,208 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.TestInstance;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * <b>This class is not a public API and it's contents can change unpredictably!</b>
+ *
+ * <p>
+ * Reflective metadata of a test class needed by {@link WeldJunit5Extension} in its callbacks: the test instance lifecycle,
+ * the enclosing classes of a {@code @Nested} test class, the {@link ExplicitParamInjection} setting and the
+ * {@link WeldSetup} fields. The metadata is memoized in a {@link ClassValue}, so a test class is only inspected once no
+ * matter how many test methods it has.
+ * </p>
+ */
+public final class TestClassMetadata {
+
+    private static final ClassValue<TestClassMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected TestClassMetadata computeValue(Class<?> type) {
+            return new TestClassMetadata(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final TestInstance.Lifecycle lifecycle;
+
+    private final List<Class<?>> nestingChain;
+
+    private final Optional<Boolean> explicitParamInjection;
+
+    private final List<Field> weldSetupFields;
+
+    private final List<MethodHandle> weldSetupGetters;
+
+    private final Map<Class<? extends Annotation>, Optional<? extends Annotation>> enclosingAnnotations;
+
+    private TestClassMetadata(Class<?> testClass) {
+        TestInstance testInstance = testClass.getAnnotation(TestInstance.class);
+        this.lifecycle = testInstance != null ? testInstance.value() : TestInstance.Lifecycle.PER_METHOD;
+
+        List<Class<?>> chain = new ArrayList<>();
+        for (Class<?> clazz = testClass; clazz != null; clazz = clazz.getEnclosingClass()) {
+            chain.add(clazz);
+        }
+        this.nestingChain = Collections.unmodifiableList(chain);
+
+        // inspect the class and its enclosing classes until first annotation is found
+        Optional<Boolean> explicit = Optional.empty();
+        for (Class<?> clazz : nestingChain) {
+            ExplicitParamInjection annotation = clazz.getAnnotation(ExplicitParamInjection.class);
+            if (annotation != null) {
+                explicit = Optional.of(annotation.value());
+                break;
+            }
+        }
+        this.explicitParamInjection = explicit;
+
+        // go through class hierarchy in search of @WeldSetup fields (even private)
+        List<Field> fields = new ArrayList<>();
+        List<MethodHandle> getters = new ArrayList<>();
+        for (Class<?> clazz = testClass; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(WeldSetup.class)) {
+                    fields.add(field);
+                    getters.add(getter(field));
+                }
+            }
+        }
+        this.weldSetupFields = Collections.unmodifiableList(fields);
+        this.weldSetupGetters = Collections.unmodifiableList(getters);
+        this.enclosingAnnotations = new ConcurrentHashMap<>();
+    }
+
+    /**
+     *
+     * @param testClass
+     * @return the metadata of the given test class
+     */
+    public static TestClassMetadata of(Class<?> testClass) {
+        return METADATA.get(testClass);
+    }
+
+    /**
+     *
+     * @return the lifecycle declared by {@link TestInstance} on the test class, {@link TestInstance.Lifecycle#PER_METHOD} if
+     *         not annotated
+     */
+    public TestInstance.Lifecycle getLifecycle() {
+        return lifecycle;
+    }
+
+    /**
+     *
+     * @return the test class followed by its enclosing classes, from the inner-most to the outer-most
+     */
+    public List<Class<?>> getNestingChain() {
+        return nestingChain;
+    }
+
+    /**
+     *
+     * @return the value of the first {@link ExplicitParamInjection} found on the test class or its enclosing classes
+     */
+    public Optional<Boolean> getExplicitParamInjection() {
+        return explicitParamInjection;
+    }
+
+    /**
+     *
+     * @param annotationType
+     * @return the first annotation of the given type found on the test class or its enclosing classes, as found by
+     *         {@link AnnotationSupport#findAnnotation(java.lang.reflect.AnnotatedElement, Class)}
+     */
+    @SuppressWarnings("unchecked")
+    public <A extends Annotation> Optional<A> findEnclosingAnnotation(Class<A> annotationType) {
+        return (Optional<A>) enclosingAnnotations.computeIfAbsent(annotationType, key -> {
+            for (Class<?> clazz : nestingChain) {
+                Optional<A> annotation = AnnotationSupport.findAnnotation(clazz, annotationType);
+                if (annotation.isPresent()) {
+                    return annotation;
+                }
+            }
+            return Optional.empty();
+        });
+    }
+
+    /**
+     *
+     * @return all fields annotated with {@link WeldSetup} declared by the class and its superclasses
+     */
+    public List<Field> getWeldSetupFields() {
+        return weldSetupFields;
+    }
+
+    /**
+     *
+     * @param index the index of the field in {@link #getWeldSetupFields()}
+     * @param testInstance an instance of the class
+     * @return the value of the field
+     */
+    Object getWeldSetupValue(int index, Object testInstance) {
+        try {
+            return (Object) weldSetupGetters.get(index).invokeExact(testInstance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle getter(Field field) {
+        MethodHandle getter;
+        try {
+            getter = MethodHandles.lookup().unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            // In case we cannot get to the field, we need to set accessibility as well
+            AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+                field.setAccessible(true);
+                return null;
+            });
+            try {
+                getter = MethodHandles.lookup().unreflectGetter(field);
+            } catch (IllegalAccessException e2) {
+                // we should never get to this point, because setAccessible would have thrown earlier if access could
+                // not be granted.
+                throw new AssertionError();
+            }
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            return MethodHandles.dropArguments(getter.asType(MethodType.methodType(Object.class)), 0, Object.class);
+        }
+        return getter.asType(GETTER_TYPE);
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Turns the annotated method into a micro-benchmark of its body, run within the container booted for the test as usual. The
+ * body is invoked {@link #operations()} times per iteration on each of the {@link #threads()}; the
+ * {@link #warmupIterations()} are discarded and the measured {@link #iterations()} are published as report entries: the
+ * operations per second, the mean and percentile latencies and the bytes allocated per operation.
+ *
+ * <p>
+ * The benchmark threads share the contexts active on the test thread, unless {@link #activateContexts()} is set. The
+ * lifecycle callbacks and the parameter resolution are performed once, on the thread executing the test. The test fails if
+ * any of the invocations fails.
+ * </p>
+ *
+ * <pre>
+ * &#64;EnableWeld
+ * public class GreetingServiceBenchmarkTest {
+ *
+ *     &#64;Inject
+ *     GreetingService service;
+ *
+ *     &#64;WeldBenchmark(threads = 4)
+ *     public void greet() {
+ *         service.greet("Alice");
+ *     }
+ * }
+ * </pre>
+ *
+ * @see org.jboss.weld.junit.BenchmarkResult#REPORT_ENTRY_PREFIX
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+@Test
+public @interface WeldBenchmark {
+
+    /**
+     *
+     * @return the number of iterations which are not measured
+     */
+    int warmupIterations() default 3;
+
+    /**
+     *
+     * @return the number of measured iterations
+     */
+    int iterations() default 5;
+
+    /**
+     *
+     * @return the number of invocations per iteration and thread
+     */
+    int operations() default 10000;
+
+    /**
+     *
+     * @return the number of threads invoking the body concurrently
+     */
+    int threads() default 1;
+
+    /**
+     * If set to {@code true}, each benchmark thread gets a freshly activated request context and contexts of its own for the
+     * scopes activated through {@link WeldInitiator.Builder#activate(Class...)} for each iteration.
+     *
+     * @return whether to activate fresh contexts for each iteration
+     */
+    boolean activateContexts() default false;
+
+}
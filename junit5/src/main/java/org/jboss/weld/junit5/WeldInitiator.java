@@ -17,6 +17,7 @@
 package org.jboss.weld.junit5;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,6 +30,10 @@ import jakarta.enterprise.inject.spi.InjectionPoint;
 import org.jboss.weld.environment.se.Weld;
 import org.jboss.weld.environment.se.WeldContainer;
 import org.jboss.weld.junit.AbstractWeldInitiator;
+import org.jboss.weld.junit.AsyncContainerShutdown;
+import org.jboss.weld.junit.ClassIndex;
+import org.jboss.weld.junit.ContainerProfile;
+import org.jboss.weld.junit.DeploymentFingerprint;
 
 /**
  * JUnit 5 initiator - can be used to customize the Weld SE container started by {@link WeldJunit5Extension}.
@@ -56,6 +61,13 @@ import org.jboss.weld.junit.AbstractWeldInitiator;
  */
 public class WeldInitiator extends AbstractWeldInitiator {
 
+    // the test instances added by the extension, as opposed to the instances registered through the builder
+    private final List<ToInject> testInstancesToInject;
+
+    private DeploymentFingerprint fingerprint;
+
+    private volatile ParameterResolutionCache parameterResolutions;
+
     /**
      * The container is configured with the result of {@link #createWeld()} method and the given bean classes are added. If any
      * of added classes is an extension, it is automatically recognized and enabled.
@@ -194,25 +206,121 @@ public class WeldInitiator extends AbstractWeldInitiator {
             Function<InjectionPoint, Object> persistenceContextFactory) {
         super(weld, instancesToInject, scopesToActivate, beans, resources, ejbFactory, persistenceUnitFactory,
                 persistenceContextFactory);
+        this.testInstancesToInject = new ArrayList<>();
     }
 
     void shutdownWeld() {
+        parameterResolutions = null;
         super.shutdownWeldContainer();
     }
 
+    AsyncContainerShutdown.PendingShutdown shutdownWeldAsync(String owner) {
+        parameterResolutions = null;
+        return super.shutdownWeldContainerAsync(owner);
+    }
+
     WeldContainer initWeld(Object testInstance) {
+        return initWeldContainer(getWeld(testInstance));
+    }
+
+    /**
+     * Boots the container only, the contexts are activated and the test instances injected by {@link #resumeWeld()}.
+     */
+    void bootWeld(Object testInstance) {
+        bootWeldContainer(getWeld(testInstance));
+    }
+
+    private Weld getWeld(Object testInstance) {
         Weld weld = WeldInitiator.this.weld;
         if (weld == null) {
             // null in case of fromTestPackage() was used
-            weld = createWeld().addPackage(false, testInstance.getClass());
+            weld = ClassIndex.addPackage(createWeld(), false, testInstance.getClass());
         }
+        return weld;
+    }
+
+    /**
+     * Deactivates the contexts and releases the test instances but keeps the container running, so that it can be resumed
+     * for another test.
+     */
+    void suspendWeld() {
+        try {
+            super.suspendWeldContainer();
+        } finally {
+            instancesToInject.removeAll(testInstancesToInject);
+            testInstancesToInject.clear();
+        }
+    }
+
+    WeldContainer resumeWeld() {
+        super.resumeWeldContainer();
+        return container;
+    }
+
+    /**
+     *
+     * @return the deactivation of the contexts activated on the current thread for a single test method
+     */
+    Runnable activateInvocationContexts() {
+        return activateContextsForInvocation();
+    }
+
+    /**
+     *
+     * @return the deactivation of the contexts activated on the current thread for one of many concurrent invocations
+     */
+    Runnable activateConcurrentInvocationContexts() {
+        return activateContextsForConcurrentInvocation();
+    }
 
-        return initWeldContainer(weld);
+    /**
+     *
+     * @param profile the profile of the test the container is used by, may be {@code null}
+     */
+    void setProfile(ContainerProfile profile) {
+        setContainerProfile(profile);
+    }
+
+    /**
+     *
+     * @param testId the unique id of the test the container is used by, may be {@code null}
+     */
+    void setTestId(String testId) {
+        setCurrentTestId(testId);
+    }
+
+    void addConfigurationToFingerprint(DeploymentFingerprint fingerprint) {
+        addConfigurationTo(fingerprint);
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     *
+     * @return the fingerprint of the deployment or {@code null} if the container cache is not used for this initiator
+     */
+    DeploymentFingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     *
+     * @param container the running container of this initiator
+     * @return the parameter resolutions of the given container
+     */
+    ParameterResolutionCache getParameterResolutions(WeldContainer container) {
+        ParameterResolutionCache cache = parameterResolutions;
+        if (cache == null || !cache.isFor(container)) {
+            cache = new ParameterResolutionCache(container);
+            parameterResolutions = cache;
+        }
+        return cache;
     }
 
     void addObjectsToInjectInto(Set<Object> instancesToInjectInto) {
         for (Object o : instancesToInjectInto) {
-            instancesToInject.add(createToInject(o));
+            ToInject toInject = createToInject(o);
+            instancesToInject.add(toInject);
+            testInstancesToInject.add(toInject);
         }
     }
 }
@@ -16,34 +16,54 @@
  */
 package org.jboss.weld.junit5;
 
+import static org.jboss.weld.junit5.ExtensionContextUtils.getContainerCacheFromStore;
 import static org.jboss.weld.junit5.ExtensionContextUtils.getContainerFromStore;
+import static org.jboss.weld.junit5.ExtensionContextUtils.getContainerProfileFromStore;
+import static org.jboss.weld.junit5.ExtensionContextUtils.getDeploymentFingerprintFromStore;
 import static org.jboss.weld.junit5.ExtensionContextUtils.getEnrichersFromStore;
+import static org.jboss.weld.junit5.ExtensionContextUtils.getExistingContainerCacheFromStore;
 import static org.jboss.weld.junit5.ExtensionContextUtils.getExplicitInjectionInfoFromStore;
+import static org.jboss.weld.junit5.ExtensionContextUtils.getIdleInitiatorFromStore;
 import static org.jboss.weld.junit5.ExtensionContextUtils.getInitiatorFromStore;
+import static org.jboss.weld.junit5.ExtensionContextUtils.getPendingShutdownsFromStore;
+import static org.jboss.weld.junit5.ExtensionContextUtils.getPreBootedContainersFromStore;
+import static org.jboss.weld.junit5.ExtensionContextUtils.registerProfilerSummary;
+import static org.jboss.weld.junit5.ExtensionContextUtils.removeInvocationContextsFromStore;
+import static org.jboss.weld.junit5.ExtensionContextUtils.setContainerProfileToStore;
 import static org.jboss.weld.junit5.ExtensionContextUtils.setContainerToStore;
+import static org.jboss.weld.junit5.ExtensionContextUtils.setDeploymentFingerprintToStore;
 import static org.jboss.weld.junit5.ExtensionContextUtils.setEnrichersToStore;
 import static org.jboss.weld.junit5.ExtensionContextUtils.setExplicitInjectionInfoToStore;
 import static org.jboss.weld.junit5.ExtensionContextUtils.setInitiatorToStore;
+import static org.jboss.weld.junit5.ExtensionContextUtils.setInvocationContextsToStore;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_METHOD;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.security.AccessController;
-import java.security.PrivilegedAction;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import jakarta.enterprise.inject.spi.BeanManager;
-
 import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
 import org.jboss.weld.inject.WeldInstance;
+import org.jboss.weld.junit.AsyncContainerShutdown;
+import org.jboss.weld.junit.BenchmarkResult;
+import org.jboss.weld.junit.BenchmarkRunner;
+import org.jboss.weld.junit.ClassIndex;
+import org.jboss.weld.junit.ConcurrentInvoker;
+import org.jboss.weld.junit.ContainerEvents;
+import org.jboss.weld.junit.ContainerProfile;
+import org.jboss.weld.junit.ContainerProfiler;
+import org.jboss.weld.junit.DeploymentFingerprint;
 import org.jboss.weld.util.collections.ImmutableList;
 import org.junit.jupiter.api.RepetitionInfo;
 import org.junit.jupiter.api.TestInfo;
@@ -54,15 +74,19 @@ import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.platform.commons.support.ReflectionSupport;
 
 /**
  * JUnit 5 extension allowing to bootstrap Weld SE container for each @Test method (or once per test class
- * if running {@link org.junit.jupiter.api.TestInstance.Lifecycle#PER_CLASS}) and tear it down afterwards. Also allows
+ * if running {@link org.junit.jupiter.api.TestInstance.Lifecycle#PER_CLASS} or
+ * {@link ContainerLifecycle#PER_CLASS_WITH_RESET}) and tear it down afterwards. Also allows
  * injecting CDI beans as parameters to @Test methods and resolves all @Inject fields in test class.
  *
  * <p>
@@ -91,11 +115,54 @@ import org.junit.jupiter.params.ParameterizedTest;
  * @see WeldJunitEnricher
  */
 public class WeldJunit5Extension implements AfterAllCallback, BeforeAllCallback,
-        BeforeEachCallback, AfterEachCallback, ParameterResolver {
+        BeforeEachCallback, AfterEachCallback, ParameterResolver, InvocationInterceptor {
 
     // global system property
     public static final String GLOBAL_EXPLICIT_PARAM_INJECTION = "org.jboss.weld.junit5.explicitParamInjection";
 
+    /**
+     * Global system property enabling the suite-wide container cache. If set to {@code true}, a container booted for a test
+     * without a {@link WeldSetup} initiator is not shut down after the test but kept running and reused by any later test
+     * whose deployment has an equal {@link DeploymentFingerprint}. All cached containers are shut down after all tests were
+     * executed, or after the next test class finished once the property is no longer set to {@code true}.
+     */
+    public static final String GLOBAL_CONTAINER_CACHE = "org.jboss.weld.junit5.containerCache";
+
+    /**
+     * Global system property allowing deployments to be shared by the container cache and the container pre-boot
+     * independently of the test instance. If set to {@code true}, a deployment built for a cached or pre-booted container
+     * does not refer to the test instance: with {@link org.jboss.weld.junit5.auto.EnableAutoWeld} the test class is only a
+     * bean if it declares producers, observers or disposers, otherwise the test instance is injected non-contextually, and
+     * the {@link WeldJunitEnricher}s are called with a {@code null} test instance. By default, such a deployment depends on
+     * the test instance and is therefore never shared.
+     */
+    public static final String GLOBAL_INSTANCE_INDEPENDENT_DEPLOYMENT = "org.jboss.weld.junit5.instanceIndependentDeployment";
+
+    /**
+     * Global system property enabling the pre-boot of containers. If set to {@code true}, the container for the next test
+     * method of a test class is booted on a worker thread while the current test method is executing. Only applies to test
+     * classes running {@link TestInstance.Lifecycle#PER_METHOD} without a {@link WeldSetup} initiator, whose deployment does
+     * not depend on the test instance, and only if the container cache is disabled.
+     * <p>
+     * Note that another container is usually running while a test method is executing, so {@code WeldContainer.current()} and
+     * {@code CDI.current()} cannot determine the container of the test. Tests relying on them must not enable this option.
+     */
+    public static final String GLOBAL_CONTAINER_PRE_BOOT = "org.jboss.weld.junit5.containerPreBoot";
+
+    /**
+     * Global system property enabling concurrent contexts. If set to {@code true}, the scopes activated through
+     * {@link WeldInitiator.Builder#activate(Class...)} are activated on the executing thread around each test method of a
+     * test class running with {@link TestInstance.Lifecycle#PER_CLASS}, with contextual instances of its own. The test
+     * methods of such a class can then be executed concurrently while sharing its container.
+     */
+    public static final String GLOBAL_CONCURRENT_CONTEXTS = "org.jboss.weld.junit5.concurrentContexts";
+
+    /**
+     * The key of the report entry published for each test with the phases of its container lifecycle if the
+     * {@link ContainerProfiler} is enabled.
+     */
+    public static final String PROFILE_REPORT_ENTRY = "weld.containerProfile";
+
     private static void storeExplicitParamResolutionInformation(ExtensionContext ec) {
         // check system property which may have set the global explicit param injection
         boolean globalSettings = Boolean.parseBoolean(System.getProperty(GLOBAL_EXPLICIT_PARAM_INJECTION, "false"));
@@ -103,23 +170,9 @@ public class WeldJunit5Extension implements AfterAllCallback, BeforeAllCallback,
             setExplicitInjectionInfoToStore(ec, true);
             return;
         }
-        // check class-level annotation
-        Class<?> inspectedTestClass = ec.getRequiredTestClass();
-        ExplicitParamInjection explicitParamInjection = inspectedTestClass.getAnnotation(ExplicitParamInjection.class);
-        if (explicitParamInjection != null) {
-            setExplicitInjectionInfoToStore(ec, explicitParamInjection.value());
-        } else {
-            // if not found, it can still be a nested class
-            // inspect enclosing classes until first annotation is found or until we hit top-level class
-            inspectedTestClass = inspectedTestClass.getEnclosingClass();
-            while (inspectedTestClass != null && explicitParamInjection == null) {
-                explicitParamInjection = inspectedTestClass.getAnnotation(ExplicitParamInjection.class);
-                if (explicitParamInjection != null) {
-                    setExplicitInjectionInfoToStore(ec, explicitParamInjection.value());
-                }
-                inspectedTestClass = inspectedTestClass.getEnclosingClass();
-            }
-        }
+        // check the annotation on the test class and its enclosing classes
+        TestClassMetadata.of(ec.getRequiredTestClass()).getExplicitParamInjection()
+                .ifPresent(value -> setExplicitInjectionInfoToStore(ec, value));
     }
 
     @Override
@@ -136,44 +189,143 @@ public class WeldJunit5Extension implements AfterAllCallback, BeforeAllCallback,
 
     @Override
     public void beforeEach(ExtensionContext extensionContext) {
-        startWeldContainerIfAppropriate(PER_METHOD, extensionContext);
+        if (isContainerResetBetweenTests(extensionContext)) {
+            startOrResumeWeldContainer(extensionContext);
+        } else {
+            startWeldContainerIfAppropriate(PER_METHOD, extensionContext);
+        }
+        if (determineTestLifecycle(extensionContext).equals(PER_CLASS) && isConcurrentContextsEnabled()) {
+            // the contexts activated when the container was booted are only active on the thread which booted it
+            WeldInitiator initiator = getInitiatorFromStore(extensionContext);
+            if (initiator != null && initiator.isRunning()) {
+                setInvocationContextsToStore(extensionContext, initiator.activateInvocationContexts());
+            }
+        }
     }
 
     @Override
     public void afterEach(ExtensionContext context) {
+        Runnable invocationContexts = removeInvocationContextsFromStore(context);
+        if (invocationContexts != null) {
+            invocationContexts.run();
+        }
         if (determineTestLifecycle(context).equals(PER_METHOD)) {
             WeldInitiator initiator = getInitiatorFromStore(context);
             if (initiator != null) {
-                initiator.shutdownWeld();
+                ContainerProfile profile = stopTestPhase(context);
+                try {
+                    if (isContainerResetBetweenTests(context)) {
+                        suspendWeldContainer(context, initiator);
+                    } else {
+                        stopWeldContainer(context, initiator);
+                    }
+                } finally {
+                    finishProfile(context, profile);
+                }
             }
         }
     }
 
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+            ExtensionContext extensionContext) throws Throwable {
+        interceptInvocation(invocation, invocationContext, extensionContext);
+    }
+
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation,
+            ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext) throws Throwable {
+        interceptInvocation(invocation, invocationContext, extensionContext);
+    }
+
+    private void interceptInvocation(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+            ExtensionContext extensionContext) throws Throwable {
+        Method method = invocationContext.getExecutable();
+        ConcurrentInvocations concurrentInvocations = method.getAnnotation(ConcurrentInvocations.class);
+        WeldBenchmark weldBenchmark = method.getAnnotation(WeldBenchmark.class);
+        if (concurrentInvocations == null && weldBenchmark == null) {
+            invocation.proceed();
+            return;
+        }
+        if (concurrentInvocations != null && weldBenchmark != null) {
+            throw new IllegalStateException(
+                    "@ConcurrentInvocations and @WeldBenchmark must not be used on the same test method: " + method);
+        }
+        // the body is invoked directly on each of the threads instead
+        invocation.skip();
+        WeldInitiator initiator = getInitiatorFromStore(extensionContext);
+        boolean running = initiator != null && initiator.isRunning();
+        Object target = invocationContext.getTarget().orElse(null);
+        Object[] arguments = invocationContext.getArguments().toArray();
+        ConcurrentInvoker.Invocation body = () -> ReflectionSupport.invokeMethod(method, target, arguments);
+        if (weldBenchmark != null) {
+            BenchmarkResult result = new BenchmarkRunner(weldBenchmark.warmupIterations(), weldBenchmark.iterations(),
+                    weldBenchmark.operations(), weldBenchmark.threads(), weldBenchmark.activateContexts())
+                    .run(running ? initiator : null, method.getName(), body);
+            extensionContext.publishReportEntry(result.toReportEntries());
+            return;
+        }
+        Supplier<Runnable> contextActivation;
+        if (running) {
+            contextActivation = initiator::activateConcurrentInvocationContexts;
+        } else {
+            contextActivation = () -> () -> {
+            };
+        }
+        ConcurrentInvoker.invoke(concurrentInvocations.value(), method.getName(), contextActivation, body);
+    }
+
     @Override
     public void afterAll(ExtensionContext context) {
         if (determineTestLifecycle(context).equals(PER_CLASS)) {
             WeldInitiator initiator = getInitiatorFromStore(context);
             if (initiator != null) {
-                initiator.shutdownWeld();
+                ContainerProfile profile = stopTestPhase(context);
+                try {
+                    stopWeldContainer(context, initiator);
+                } finally {
+                    finishProfile(context, profile);
+                }
+            }
+        } else if (isContainerResetBetweenTests(context)) {
+            WeldInitiator initiator = getIdleInitiatorFromStore(context).getAndSet(null);
+            if (initiator != null) {
+                releaseSuspendedWeldContainer(context, initiator);
             }
         }
+        // containers cached while the cache was enabled should not outlive it
+        ContainerCache containerCache = getExistingContainerCacheFromStore(context);
+        if (containerCache != null && !isContainerCacheEnabled()) {
+            containerCache.evict();
+        }
     }
 
+    /**
+     * Configures the default deployment. Implementations which are used with the container cache enabled should also record
+     * every contribution into the {@link DeploymentFingerprint} returned by
+     * {@link ExtensionContextUtils#getDeploymentFingerprintFromStore(ExtensionContext)}, if there is one.
+     *
+     * @param context
+     * @param weld
+     * @param weldInitiatorBuilder
+     */
     protected void weldInit(ExtensionContext context, Weld weld, WeldInitiator.Builder weldInitiatorBuilder) {
-        weld.addPackage(false, context.getRequiredTestClass());
+        ClassIndex.addPackage(weld, false, context.getRequiredTestClass());
+        DeploymentFingerprint fingerprint = getDeploymentFingerprintFromStore(context);
+        if (fingerprint != null) {
+            fingerprint.add(DeploymentFingerprint.PACKAGE, context.getRequiredTestClass().getPackage().getName());
+        }
     }
 
     @Override
     public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext)
             throws ParameterResolutionException {
         // we did our checks in supportsParameter() method, now we can do simple resolution
-        if (getContainerFromStore(extensionContext) != null) {
-            List<Annotation> qualifiers = resolveQualifiers(parameterContext,
-                    getContainerFromStore(extensionContext).getBeanManager());
-            return getContainerFromStore(extensionContext)
-                    .select(parameterContext.getParameter().getParameterizedType(),
-                            qualifiers.toArray(new Annotation[qualifiers.size()]))
-                    .get();
+        WeldContainer container = getContainerFromStore(extensionContext);
+        if (container != null) {
+            Type parameterType = parameterContext.getParameter().getParameterizedType();
+            return ContainerEvents.resolveParameter(extensionContext.getUniqueId(), container, parameterType,
+                    () -> getParameterResolution(parameterContext, extensionContext, container).getInstance().get());
         }
         return null;
     }
@@ -186,37 +338,45 @@ public class WeldJunit5Extension implements AfterAllCallback, BeforeAllCallback,
             return false;
         }
         // if weld container isn't up yet or if it's not Method, we don't resolve it
-        if (getContainerFromStore(extensionContext) == null
-                || (!(parameterContext.getDeclaringExecutable() instanceof Method))) {
+        WeldContainer container = getContainerFromStore(extensionContext);
+        if (container == null || (!(parameterContext.getDeclaringExecutable() instanceof Method))) {
             return false;
         }
-        List<Annotation> qualifiers = resolveQualifiers(parameterContext,
-                getContainerFromStore(extensionContext).getBeanManager());
+        ParameterResolutionCache.Resolution resolution = getParameterResolution(parameterContext, extensionContext,
+                container);
         // if we require explicit parameter injection (via global settings or annotation) and there are no qualifiers we don't resolve it
         // if the method is annotated @ParameterizedTest, we treat it as explicit param injection and require qualifiers
         if ((getExplicitInjectionInfoFromStore(extensionContext)
                 || methodRequiresExplicitParamInjection(parameterContext)
                 || methodIsParameterizedTest(parameterContext))
-                && qualifiers.isEmpty()) {
+                && !resolution.hasQualifiers()) {
             return false;
         } else {
             // attempt to resolve the bean; at this point we know it should be a CDI bean since it has CDI qualifiers
             // if resolution fails, throw an exception
-            WeldInstance<?> select = getContainerFromStore(extensionContext).select(
-                    parameterContext.getParameter().getParameterizedType(),
-                    qualifiers.toArray(new Annotation[qualifiers.size()]));
+            WeldInstance<?> select = resolution.getInstance();
             if (!select.isResolvable()) {
                 throw new ParameterResolutionException(String.format(
                         "Weld has failed to resolve test parameter [%s] in method [%s].%n" +
                                 "%s dependency has type %s and qualifiers %s.",
                         parameterContext.getParameter(), parameterContext.getDeclaringExecutable().toGenericString(),
                         select.isAmbiguous() ? "Ambiguous" : "Unsatisfied",
-                        parameterContext.getParameter().getType().getName(), qualifiers));
+                        parameterContext.getParameter().getType().getName(), resolution.getQualifiers()));
             }
             return true;
         }
     }
 
+    /**
+     * The qualifiers and the selected instance of a parameter are cached per container, so that they are only computed
+     * once for all invocations of a test method.
+     */
+    private ParameterResolutionCache.Resolution getParameterResolution(ParameterContext parameterContext,
+            ExtensionContext extensionContext, WeldContainer container) {
+        return getInitiatorFromStore(extensionContext).getParameterResolutions(container)
+                .get(parameterContext.getParameter());
+    }
+
     /**
      * @see {@code org.junit.jupiter.engine.extension.TestInfoParameterResolver.supportsParameter}
      * @see {@code org.junit.jupiter.engine.extension.RepetitionExtension.supportsParameter}
@@ -234,21 +394,6 @@ public class WeldJunit5Extension implements AfterAllCallback, BeforeAllCallback,
         return false;
     }
 
-    private List<Annotation> resolveQualifiers(ParameterContext pc, BeanManager bm) {
-        List<Annotation> qualifiers = new ArrayList<>();
-        if (pc.getParameter().getAnnotations().length == 0) {
-            return Collections.emptyList();
-        } else {
-            for (Annotation annotation : pc.getParameter().getAnnotations()) {
-                // use BeanManager.isQualifier to be able to detect custom qualifiers which don't need to have @Qualifier
-                if (bm.isQualifier(annotation.annotationType())) {
-                    qualifiers.add(annotation);
-                }
-            }
-        }
-        return qualifiers;
-    }
-
     private boolean methodRequiresExplicitParamInjection(ParameterContext pc) {
         ExplicitParamInjection ann = pc.getDeclaringExecutable().getAnnotation(ExplicitParamInjection.class);
         if (ann != null) {
@@ -263,80 +408,296 @@ public class WeldJunit5Extension implements AfterAllCallback, BeforeAllCallback,
 
     private TestInstance.Lifecycle determineTestLifecycle(ExtensionContext ec) {
         // check the test for org.junit.jupiter.api.TestInstance annotation
-        TestInstance annotation = ec.getRequiredTestClass().getAnnotation(TestInstance.class);
-        if (annotation != null) {
-            return annotation.value();
-        } else {
-            return TestInstance.Lifecycle.PER_METHOD;
-        }
+        return TestClassMetadata.of(ec.getRequiredTestClass()).getLifecycle();
+    }
+
+    /**
+     * Determines the {@link ContainerLifecycle} from the {@link EnableWeld} annotation of the test class or any of its
+     * enclosing classes.
+     *
+     * @param ec
+     * @return the container lifecycle, never {@code null}
+     */
+    protected ContainerLifecycle determineContainerLifecycle(ExtensionContext ec) {
+        return TestClassMetadata.of(ec.getRequiredTestClass()).findEnclosingAnnotation(EnableWeld.class)
+                .map(EnableWeld::containerLifecycle)
+                .orElse(ContainerLifecycle.DEFAULT);
+    }
+
+    /**
+     * Invoked before a suspended container of a test class running with {@link ContainerLifecycle#PER_CLASS_WITH_RESET} is
+     * resumed for a new test instance. The default implementation does nothing.
+     *
+     * @param context
+     * @param initiator
+     */
+    protected void resetTestInstances(ExtensionContext context, WeldInitiator initiator) {
+        // nothing to reset for this variant
+    }
+
+    private boolean isContainerResetBetweenTests(ExtensionContext ec) {
+        return determineTestLifecycle(ec).equals(PER_METHOD)
+                && determineContainerLifecycle(ec).equals(ContainerLifecycle.PER_CLASS_WITH_RESET);
     }
 
     private void startWeldContainerIfAppropriate(TestInstance.Lifecycle expectedLifecycle, ExtensionContext context) {
         // if the lifecycle is what we expect it to be, start Weld container
         if (determineTestLifecycle(context).equals(expectedLifecycle)) {
-            Object testInstance = context.getRequiredTestInstance();
+            startWeldContainer(context);
+        }
+    }
 
-            // store info about explicit param injection, either from global settings or from annotation on the test class
-            storeExplicitParamResolutionInformation(context);
+    private void startOrResumeWeldContainer(ExtensionContext context) {
+        // the suspended container is kept on the test class level, it is missing if the class runs its first test method
+        // or if another test method of this class currently uses it
+        WeldInitiator initiator = getIdleInitiatorFromStore(getClassContext(context)).getAndSet(null);
+        if (initiator == null) {
+            startWeldContainer(context);
+            return;
+        }
+
+        storeExplicitParamResolutionInformation(context);
 
-            // iterate through the testInstance, the enclosing instance (in case of nested tests),
-            // the enclosing instance of the enclosing instance (in cases of twice nested tests) and so on
-            // until we find a WeldInitiator
-            final List<Object> allTestInstances = new ArrayList<>(context.getRequiredTestInstances().getAllInstances());
-            Collections.reverse(allTestInstances); // so we can iterate from inner-most to outer-most
-            WeldInitiator initiator = allTestInstances.stream()
-                    .map(this::findInitiatorInInstance)
-                    .filter(Objects::nonNull)
-                    .findFirst()
-                    .orElseGet(() -> getDefaultInitiator(context, testInstance));
-            setInitiatorToStore(context, initiator);
+        List<Object> allTestInstances = getAllTestInstances(context);
+        WeldInitiator foundInitiator = findInitiator(allTestInstances);
+        if (foundInitiator != null && foundInitiator != initiator) {
+            initiator.shutdownWeld();
+            throw new IllegalStateException("When using " + ContainerLifecycle.PER_CLASS_WITH_RESET
+                    + ", the @WeldSetup annotated field has to be static so that all test instances of "
+                    + context.getRequiredTestClass() + " share the same WeldInitiator");
+        }
+        setInitiatorToStore(context, initiator);
+        resetTestInstances(context, initiator);
+        initiator.addObjectsToInjectInto(new HashSet<>(allTestInstances));
+        initiator.setProfile(startProfile(context));
+        initiator.setTestId(context.getUniqueId());
+        setContainerToStore(context, initiator.resumeWeld());
+        startTestPhase(context);
+    }
 
-            // this ensures the test class is injected into
-            // in case of nested tests, this also injects into any outer classes
-            initiator.addObjectsToInjectInto(new HashSet<>(allTestInstances));
+    private void startWeldContainer(ExtensionContext context) {
+        Object testInstance = context.getRequiredTestInstance();
+        ContainerProfile profile = startProfile(context);
 
-            // and finally, init Weld
-            setContainerToStore(context, initiator.initWeld(testInstance));
+        // store info about explicit param injection, either from global settings or from annotation on the test class
+        storeExplicitParamResolutionInformation(context);
+
+        final List<Object> allTestInstances = getAllTestInstances(context);
+        WeldInitiator initiator = findInitiator(allTestInstances);
+        if (initiator == null) {
+            setDeploymentFingerprintToStore(context,
+                    isContainerCacheEnabled() || isContainerPreBootEnabled() ? new DeploymentFingerprint() : null);
+            initiator = getDefaultInitiator(context, testInstance);
+        } else {
+            setDeploymentFingerprintToStore(context, null);
+        }
+
+        // reuse a running container with the very same deployment if the container cache is enabled
+        DeploymentFingerprint fingerprint = getDeploymentFingerprintFromStore(context);
+        boolean reusable = fingerprint != null && fingerprint.isReusable();
+        WeldInitiator runningInitiator = null;
+        if (reusable && isContainerCacheEnabled()) {
+            runningInitiator = getContainerCacheFromStore(context).acquire(fingerprint);
+        } else if (reusable && isContainerPreBootApplicable(context)) {
+            // or use a fresh container booted in the background while the previous test was executing
+            runningInitiator = getPreBootedContainersFromStore(getClassContext(context)).take(fingerprint);
+        }
+        if (runningInitiator != null) {
+            initiator = runningInitiator;
+        }
+        setInitiatorToStore(context, initiator);
+
+        // this ensures the test class is injected into
+        // in case of nested tests, this also injects into any outer classes
+        initiator.addObjectsToInjectInto(new HashSet<>(allTestInstances));
+
+        // and finally, init Weld
+        initiator.setProfile(profile);
+        initiator.setTestId(context.getUniqueId());
+        setContainerToStore(context,
+                runningInitiator != null ? runningInitiator.resumeWeld() : initiator.initWeld(testInstance));
+
+        if (reusable && isContainerPreBootApplicable(context)) {
+            preBootWeldContainer(context, testInstance, fingerprint);
+        }
+        startTestPhase(context);
+    }
+
+    private ContainerProfile startProfile(ExtensionContext context) {
+        ContainerProfile profile = ContainerProfiler.start(context.getTestMethod()
+                .map(method -> context.getRequiredTestClass().getName() + "#" + context.getDisplayName())
+                .orElseGet(() -> context.getRequiredTestClass().getName()));
+        setContainerProfileToStore(context, profile);
+        return profile;
+    }
+
+    private static void startTestPhase(ExtensionContext context) {
+        ContainerProfile profile = getContainerProfileFromStore(context);
+        if (profile != null) {
+            profile.start(ContainerProfile.Phase.TEST);
+        }
+    }
+
+    private static ContainerProfile stopTestPhase(ExtensionContext context) {
+        ContainerProfile profile = getContainerProfileFromStore(context);
+        if (profile != null) {
+            profile.stop(ContainerProfile.Phase.TEST);
+        }
+        return profile;
+    }
+
+    private static void finishProfile(ExtensionContext context, ContainerProfile profile) {
+        if (profile == null) {
+            return;
+        }
+        setContainerProfileToStore(context, null);
+        context.publishReportEntry(PROFILE_REPORT_ENTRY, profile.toString());
+        ContainerProfiler.finish(profile);
+        registerProfilerSummary(context);
+    }
+
+    private void preBootWeldContainer(ExtensionContext context, Object testInstance, DeploymentFingerprint fingerprint) {
+        PreBootedContainers preBootedContainers = getPreBootedContainersFromStore(getClassContext(context));
+        if (!preBootedContainers.needsMore()) {
+            return;
+        }
+        // build the configuration on the test thread, it is cheap compared to the bootstrap itself
+        DeploymentFingerprint nextFingerprint = new DeploymentFingerprint();
+        setDeploymentFingerprintToStore(context, nextFingerprint);
+        WeldInitiator nextInitiator;
+        try {
+            // the next test gets a different test instance, so the enrichers must not see the current one
+            nextInitiator = getDefaultInitiator(context, null);
+        } finally {
+            setDeploymentFingerprintToStore(context, fingerprint);
+        }
+        if (nextFingerprint.equals(fingerprint)) {
+            preBootedContainers.preBoot(nextFingerprint, nextInitiator, testInstance);
+        }
+    }
+
+    private List<Object> getAllTestInstances(ExtensionContext context) {
+        final List<Object> allTestInstances = new ArrayList<>(context.getRequiredTestInstances().getAllInstances());
+        Collections.reverse(allTestInstances); // so we can iterate from inner-most to outer-most
+        return allTestInstances;
+    }
+
+    private WeldInitiator findInitiator(List<Object> allTestInstances) {
+        // iterate through the testInstance, the enclosing instance (in case of nested tests),
+        // the enclosing instance of the enclosing instance (in cases of twice nested tests) and so on
+        // until we find a WeldInitiator
+        return allTestInstances.stream()
+                .map(this::findInitiatorInInstance)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private ExtensionContext getClassContext(ExtensionContext methodContext) {
+        return methodContext.getParent().orElseThrow(IllegalStateException::new);
+    }
+
+    private void stopWeldContainer(ExtensionContext context, WeldInitiator initiator) {
+        if (isCacheable(initiator)) {
+            // keep the container running for the next test with the same deployment
+            suspendWeld(initiator);
+            getContainerCacheFromStore(context).release(initiator.getFingerprint(), initiator);
+        } else {
+            shutdownWeldContainer(context, initiator);
+        }
+    }
+
+    private void suspendWeldContainer(ExtensionContext context, WeldInitiator initiator) {
+        suspendWeld(initiator);
+        AtomicReference<WeldInitiator> idleInitiator = getIdleInitiatorFromStore(getClassContext(context));
+        if (!idleInitiator.compareAndSet(null, initiator)) {
+            // another test method of this class started a container of its own meanwhile, only one of them is kept
+            releaseSuspendedWeldContainer(context, initiator);
+        }
+    }
+
+    private void releaseSuspendedWeldContainer(ExtensionContext context, WeldInitiator initiator) {
+        if (isCacheable(initiator)) {
+            getContainerCacheFromStore(context).release(initiator.getFingerprint(), initiator);
+        } else {
+            shutdownWeldContainer(context, initiator);
+        }
+    }
+
+    private void shutdownWeldContainer(ExtensionContext context, WeldInitiator initiator) {
+        if (AsyncContainerShutdown.isEnabled()) {
+            // the shutdown is awaited once the enclosing context, e.g. the test class of a test method, is closed
+            ExtensionContext ownerContext = context.getParent().orElse(context);
+            getPendingShutdownsFromStore(ownerContext).add(initiator.shutdownWeldAsync(context.getUniqueId()));
+        } else {
+            initiator.shutdownWeld();
+        }
+    }
+
+    private static void suspendWeld(WeldInitiator initiator) {
+        try {
+            initiator.suspendWeld();
+        } catch (RuntimeException e) {
+            initiator.shutdownWeld();
+            throw e;
         }
+        // the suspended container may be resumed by another test right away, which profiles it on its own
+        initiator.setProfile(null);
+        initiator.setTestId(null);
+    }
+
+    private static boolean isCacheable(WeldInitiator initiator) {
+        DeploymentFingerprint fingerprint = initiator.getFingerprint();
+        return fingerprint != null && fingerprint.isReusable() && initiator.isRunning() && isContainerCacheEnabled();
+    }
+
+    private boolean isContainerPreBootApplicable(ExtensionContext context) {
+        // a container which serves a whole test class gains nothing from being booted ahead
+        return isContainerPreBootEnabled() && !isContainerCacheEnabled()
+                && determineTestLifecycle(context).equals(PER_METHOD) && !isContainerResetBetweenTests(context);
+    }
+
+    private static boolean isContainerCacheEnabled() {
+        return Boolean.parseBoolean(System.getProperty(GLOBAL_CONTAINER_CACHE, "false"));
+    }
+
+    /**
+     *
+     * @return <code>true</code> if deployments recorded into a {@link DeploymentFingerprint} should not refer to the test
+     *         instance, <code>false</code> otherwise
+     * @see #GLOBAL_INSTANCE_INDEPENDENT_DEPLOYMENT
+     */
+    protected static boolean isInstanceIndependentDeploymentEnabled() {
+        return Boolean.parseBoolean(System.getProperty(GLOBAL_INSTANCE_INDEPENDENT_DEPLOYMENT, "false"));
+    }
+
+    private static boolean isConcurrentContextsEnabled() {
+        return Boolean.parseBoolean(System.getProperty(GLOBAL_CONCURRENT_CONTEXTS, "false"));
+    }
+
+    private static boolean isContainerPreBootEnabled() {
+        return Boolean.parseBoolean(System.getProperty(GLOBAL_CONTAINER_PRE_BOOT, "false"));
     }
 
     private WeldInitiator findInitiatorInInstance(Object testInstance) {
         // all found fields which are WeldInitiator and have @WeldSetup annotation
         List<Field> foundInitiatorFields = new ArrayList<>();
         WeldInitiator initiator = null;
-        // We will go through class hierarchy in search of @WeldSetup field (even private)
-        for (Class<?> clazz = testInstance.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
-            // Find @WeldSetup field using getDeclaredFields() - this allows even for private fields
-            for (Field field : clazz.getDeclaredFields()) {
-                if (field.isAnnotationPresent(WeldSetup.class)) {
-                    Object fieldInstance;
-                    try {
-                        fieldInstance = field.get(testInstance);
-                    } catch (IllegalAccessException e) {
-                        // In case we cannot get to the field, we need to set accessibility as well
-                        AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
-                            field.setAccessible(true);
-                            return null;
-                        });
-                        try {
-                            fieldInstance = field.get(testInstance);
-                        } catch (IllegalAccessException e2) {
-                            // we should never get to this point, because setAccessible would have thrown earlier if access could
-                            // not be granted.
-                            throw new AssertionError();
-                        }
-                    }
-                    if (fieldInstance instanceof WeldInitiator) {
-                        initiator = (WeldInitiator) fieldInstance;
-                        foundInitiatorFields.add(field);
-                    } else {
-                        // Field with other value than WeldInitiator was annotated with @WeldSetup
-                        throw new IllegalStateException("@WeldSetup annotation should only be used on a field with a "
-                                + "WeldInitiator value but was found on field " + field.getName() + "with a "
-                                + ((fieldInstance == null) ? "null" : fieldInstance.getClass())
-                                + " value which is declared in class " + field.getDeclaringClass());
-                    }
-                }
+        // @WeldSetup fields (even private) of the class hierarchy are only looked up once per class
+        TestClassMetadata metadata = TestClassMetadata.of(testInstance.getClass());
+        List<Field> weldSetupFields = metadata.getWeldSetupFields();
+        for (int i = 0; i < weldSetupFields.size(); i++) {
+            Field field = weldSetupFields.get(i);
+            Object fieldInstance = metadata.getWeldSetupValue(i, testInstance);
+            if (fieldInstance instanceof WeldInitiator) {
+                initiator = (WeldInitiator) fieldInstance;
+                foundInitiatorFields.add(field);
+            } else {
+                // Field with other value than WeldInitiator was annotated with @WeldSetup
+                throw new IllegalStateException("@WeldSetup annotation should only be used on a field with a "
+                        + "WeldInitiator value but was found on field " + field.getName() + "with a "
+                        + ((fieldInstance == null) ? "null" : fieldInstance.getClass())
+                        + " value which is declared in class " + field.getDeclaringClass());
             }
         }
         if (foundInitiatorFields.isEmpty()) {
@@ -361,17 +722,40 @@ public class WeldJunit5Extension implements AfterAllCallback, BeforeAllCallback,
         Weld weld = WeldInitiator.createWeld();
         WeldInitiator.Builder builder = WeldInitiator.from(weld);
 
+        DeploymentFingerprint fingerprint = getDeploymentFingerprintFromStore(context);
+        if (fingerprint != null) {
+            fingerprint.add(DeploymentFingerprint.OPTION, getClass().getName());
+        }
+
         weldInit(context, weld, builder);
 
         // Apply discovered enrichers
-        for (WeldJunitEnricher enricher : getEnrichersFromStore(context)) {
-            String property = System.getProperty(enricher.getClass().getName());
-            if (property == null || Boolean.parseBoolean(property)) {
-                enricher.enrich(testInstance, context, weld, builder);
+        Object enricherTestInstance = (fingerprint != null && isInstanceIndependentDeploymentEnabled()) ? null : testInstance;
+        ContainerProfile.run(getContainerProfileFromStore(context), ContainerProfile.Phase.ENRICHMENT, () -> {
+            for (WeldJunitEnricher enricher : getEnrichersFromStore(context)) {
+                String property = System.getProperty(enricher.getClass().getName());
+                if (property == null || Boolean.parseBoolean(property)) {
+                    enricher.enrich(enricherTestInstance, context, weld, builder);
+                    if (fingerprint == null) {
+                        continue;
+                    }
+                    if (enricherTestInstance != null) {
+                        // the contributions of an enricher cannot be described and may depend on the test instance
+                        fingerprint.markNotReusable();
+                    } else {
+                        // an enricher may still contribute anything based on the test class, so only share within it
+                        fingerprint.add(DeploymentFingerprint.ENRICHER, enricher.getClass());
+                        fingerprint.add(DeploymentFingerprint.TEST_CLASS, context.getRequiredTestClass());
+                    }
+                }
             }
-        }
+        });
 
-        return builder.build();
+        WeldInitiator initiator = builder.build();
+        if (fingerprint != null) {
+            initiator.addConfigurationToFingerprint(fingerprint);
+        }
+        return initiator;
     }
 
     protected void validateInitiator(List<Field> foundInitiatorFields) {
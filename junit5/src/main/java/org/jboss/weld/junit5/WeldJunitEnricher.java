@@ -42,7 +42,8 @@ public interface WeldJunitEnricher {
      * {@link Weld#initialize()} and {@link WeldInitiator.Builder#build()} methods must never be invoked in an enricher!
      * </p>
      *
-     * @param testInstance
+     * @param testInstance the test instance, or {@code null} if the deployment is built independently of it, see
+     *        {@link WeldJunit5Extension#GLOBAL_INSTANCE_INDEPENDENT_DEPLOYMENT}
      * @param context
      * @param weld
      * @param weldInitiatorBuilder
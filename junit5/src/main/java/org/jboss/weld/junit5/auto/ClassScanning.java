@@ -18,23 +18,17 @@ package org.jboss.weld.junit5.auto;
 
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
-import static org.junit.platform.commons.support.AnnotationSupport.isAnnotated;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import jakarta.decorator.Decorator;
@@ -43,189 +37,178 @@ import jakarta.enterprise.context.NormalScope;
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Produces;
 import jakarta.enterprise.inject.Stereotype;
-import jakarta.enterprise.inject.spi.Extension;
 import jakarta.inject.Inject;
 import jakarta.inject.Qualifier;
 import jakarta.interceptor.Interceptor;
 
 import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.junit.ClassGraphScanner;
+import org.jboss.weld.junit.ClassMetadata;
+import org.jboss.weld.junit.ClassScanningCache;
+import org.jboss.weld.junit.DeploymentFingerprint;
+import org.jboss.weld.junit.ScanIndex;
+import org.jboss.weld.junit.ScanResult;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
-import org.junit.platform.commons.support.AnnotationSupport;
-import org.junit.platform.commons.support.HierarchyTraversalMode;
-import org.junit.platform.commons.util.CollectionUtils;
-import org.junit.platform.commons.util.Preconditions;
 
 /**
  * Provides <b>automagic</b> bean class discovery for a test class instance.
  */
 class ClassScanning {
 
-    static void scanForRequiredBeanClasses(List<Class<?>> testClasses, Weld weld, boolean explicitInjection) {
-
-        List<Class<?>> classesToProcess = new ArrayList<>();
-        classesToProcess.addAll(testClasses);
-
-        Set<Class<?>> foundClasses = new HashSet<>();
-        Set<Type> excludedBeanTypes = new HashSet<>();
-        Set<Class<?>> excludedBeanClasses = new HashSet<>();
-        boolean syntheticArchiveDiscoverySet = false;
+    private static final List<Class<? extends Annotation>> PARAMETER_METHOD_ANNOTATIONS = List.of(Test.class,
+            RepeatedTest.class, BeforeAll.class, BeforeEach.class, AfterEach.class, AfterAll.class);
 
-        while (!classesToProcess.isEmpty()) {
-
-            Class<?> currClass = classesToProcess.remove(0);
-
-            if (foundClasses.contains(currClass) ||
-                    excludedBeanTypes.contains(currClass) || excludedBeanClasses.contains(currClass) ||
-                    currClass.isPrimitive() || currClass.isSynthetic() ||
-                    currClass.getName().startsWith("java") || currClass.getName().startsWith("sun")) {
-                continue;
-            }
-
-            foundClasses.add(currClass);
-
-            AnnotationSupport.findAnnotatedFields(currClass, ExcludeBean.class).stream()
-                    .map(Field::getType)
-                    .forEach(excludedBeanTypes::add);
-
-            AnnotationSupport.findAnnotatedMethods(currClass, ExcludeBean.class, HierarchyTraversalMode.BOTTOM_UP).stream()
-                    .map(Method::getReturnType)
-                    .forEach(excludedBeanTypes::add);
-
-            AnnotationSupport.findAnnotatedFields(currClass, Inject.class).stream()
-                    .map(ClassScanning::unwrapInstanceTypeParameter)
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            AnnotationSupport.findAnnotatedMethods(currClass, Inject.class, HierarchyTraversalMode.BOTTOM_UP).stream()
-                    .map(Method::getReturnType)
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findFirstAnnotatedConstructor(currClass, Inject.class)
-                    .map(Stream::of).orElseGet(Stream::empty)
-                    .flatMap(cons -> getExecutableParameterTypes(cons, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findAnnotatedDeclaredFields(currClass, Produces.class).stream()
-                    .map(Field::getType)
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findAnnotatedDeclaredMethods(currClass, Produces.class).stream()
-                    .flatMap(method -> Stream.concat(
-                            getExecutableParameterTypes(method, explicitInjection).stream(),
-                            Stream.of(method.getReturnType())))
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            AnnotationSupport.findAnnotatedMethods(currClass, Test.class, HierarchyTraversalMode.BOTTOM_UP).stream()
-                    .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            AnnotationSupport.findAnnotatedMethods(currClass, RepeatedTest.class, HierarchyTraversalMode.BOTTOM_UP).stream()
-                    .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            AnnotationSupport.findAnnotatedMethods(currClass, BeforeAll.class, HierarchyTraversalMode.BOTTOM_UP).stream()
-                    .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            AnnotationSupport.findAnnotatedMethods(currClass, BeforeEach.class, HierarchyTraversalMode.BOTTOM_UP).stream()
-                    .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            AnnotationSupport.findAnnotatedMethods(currClass, AfterEach.class, HierarchyTraversalMode.BOTTOM_UP).stream()
-                    .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            AnnotationSupport.findAnnotatedMethods(currClass, AfterAll.class, HierarchyTraversalMode.BOTTOM_UP).stream()
-                    .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, AddPackages.class)
-                    .forEach(ann -> stream(ann.value())
-                            .distinct()
-                            .forEach(cls -> weld.addPackage(ann.recursively(), cls)));
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, AddBeanClasses.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(it -> {
-                        classesToProcess.add(it);
-                        weld.addBeanClass(it);
-                    });
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, AddExtensions.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .map(ClassScanning::createExtension)
-                    .forEach(weld::addExtension);
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, AddEnabledInterceptors.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(interceptor -> {
-                        classesToProcess.add(interceptor);
-                        weld.addInterceptor(interceptor);
-                        weld.addBeanClass(interceptor);
-                    });
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, AddEnabledDecorators.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(decorator -> {
-                        classesToProcess.add(decorator);
-                        weld.addDecorator(decorator);
-                        weld.addBeanClass(decorator);
-                    });
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, EnableAlternatives.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(weld::addAlternative);
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, EnableAlternativeStereotypes.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(weld::addAlternativeStereotype);
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, ExcludeBeanClasses.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(excludedBeanClasses::add);
-
-            // discovery mode can only be set once; we use the first annotation we find
-            if (!syntheticArchiveDiscoverySet) {
-                Optional<SetBeanDiscoveryMode> annotation = AnnotationSupport.findAnnotation(currClass,
-                        SetBeanDiscoveryMode.class);
-                if (annotation.isPresent()) {
-                    syntheticArchiveDiscoverySet = true;
-                    weld.setBeanDiscoveryMode(annotation.get().value());
-                }
-            }
+    static void scanForRequiredBeanClasses(List<Class<?>> testClasses, Weld weld, boolean explicitInjection) {
+        scanForRequiredBeanClasses(testClasses, weld, explicitInjection, null);
+    }
 
+    /**
+     *
+     * @param testClasses
+     * @param weld
+     * @param explicitInjection
+     * @param fingerprint records every contribution to the deployment, may be {@code null}
+     * @return the result of the scan
+     */
+    static ScanResult scanForRequiredBeanClasses(List<Class<?>> testClasses, Weld weld, boolean explicitInjection,
+            DeploymentFingerprint fingerprint) {
+
+        ScanResult result = ScanIndex.find(testClasses, explicitInjection);
+        if (result == null) {
+            result = ClassScanningCache.getOrScan("junit5", testClasses, explicitInjection,
+                    () -> scan(testClasses, explicitInjection));
         }
 
-        for (Class<?> foundClass : foundClasses) {
-            if (hasBeanDefiningAnnotation(foundClass)) {
-                weld.addBeanClass(foundClass);
-            }
+        result.applyTo(weld);
+        weld.addExtension(new ExcludedBeansExtension(new HashSet<>(result.getExcludedBeanTypes()),
+                new HashSet<>(result.getExcludedBeanClasses())));
+        if (fingerprint != null) {
+            result.addTo(fingerprint);
         }
+        return result;
+    }
+
+    private static ScanResult scan(List<Class<?>> testClasses, boolean explicitInjection) {
+        return ClassGraphScanner.scan(testClasses,
+                (currClass, result, classesToProcess) -> visit(currClass, explicitInjection, result, classesToProcess));
+    }
 
-        weld.addExtension(new ExcludedBeansExtension(excludedBeanTypes, excludedBeanClasses));
+    private static void visit(Class<?> currClass, boolean explicitInjection, ScanResult result,
+            Consumer<Class<?>> classesToProcess) {
+
+        ClassMetadata metadata = ClassMetadata.of(currClass);
+
+        metadata.getFields(ExcludeBean.class).stream()
+                .map(Field::getType)
+                .forEach(result::addExcludedBeanType);
+
+        metadata.getMethods(ExcludeBean.class).stream()
+                .map(Method::getReturnType)
+                .forEach(result::addExcludedBeanType);
+
+        metadata.getFields(Inject.class).stream()
+                .map(ClassScanning::unwrapInstanceTypeParameter)
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.getMethods(Inject.class).stream()
+                .map(Method::getReturnType)
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.findFirstConstructor(Inject.class)
+                .map(Stream::of).orElseGet(Stream::empty)
+                .flatMap(cons -> getExecutableParameterTypes(cons, explicitInjection).stream())
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.getDeclaredFields(Produces.class).stream()
+                .map(Field::getType)
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.getDeclaredMethods(Produces.class).stream()
+                .flatMap(method -> Stream.concat(
+                        getExecutableParameterTypes(method, explicitInjection).stream(),
+                        Stream.of(method.getReturnType())))
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        PARAMETER_METHOD_ANNOTATIONS.stream()
+                .flatMap(annotationType -> metadata.getMethods(annotationType).stream())
+                .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.getRepeatableAnnotations(AddPackages.class)
+                .forEach(ann -> stream(ann.value())
+                        .distinct()
+                        .forEach(cls -> result.addPackage(ann.recursively(), cls)));
+
+        metadata.getRepeatableAnnotations(AddBeanClasses.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(it -> {
+                    classesToProcess.accept(it);
+                    result.addBeanClass(it);
+                });
+
+        metadata.getRepeatableAnnotations(AddExtensions.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(result::addExtension);
+
+        metadata.getRepeatableAnnotations(AddEnabledInterceptors.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(interceptor -> {
+                    classesToProcess.accept(interceptor);
+                    result.addInterceptor(interceptor);
+                    result.addBeanClass(interceptor);
+                });
+
+        metadata.getRepeatableAnnotations(AddEnabledDecorators.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(decorator -> {
+                    classesToProcess.accept(decorator);
+                    result.addDecorator(decorator);
+                    result.addBeanClass(decorator);
+                });
+
+        metadata.getRepeatableAnnotations(EnableAlternatives.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(result::addAlternative);
+
+        metadata.getRepeatableAnnotations(EnableAlternativeStereotypes.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(result::addAlternativeStereotype);
+
+        metadata.getRepeatableAnnotations(ExcludeBeanClasses.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(result::addExcludedBeanClass);
+
+        // discovery mode can only be set once; the merged result keeps the first annotation we find
+        metadata.findAnnotation(SetBeanDiscoveryMode.class)
+                .ifPresent(annotation -> result.setBeanDiscoveryMode(annotation.value()));
+
+        if (hasBeanDefiningAnnotation(currClass)) {
+            result.addBeanClass(currClass);
+        }
     }
 
-    private static void addClassesToProcess(Collection<Class<?>> classesToProcess, Type type) {
+    private static void addClassesToProcess(Consumer<Class<?>> classesToProcess, Type type) {
 
         if (type instanceof Class) {
 
-            classesToProcess.add((Class<?>) type);
+            classesToProcess.accept((Class<?>) type);
         } else if (type instanceof ParameterizedType) {
 
             ParameterizedType ptype = (ParameterizedType) type;
 
-            classesToProcess.add((Class<?>) ptype.getRawType());
+            classesToProcess.accept((Class<?>) ptype.getRawType());
 
             for (Type arg : ptype.getActualTypeArguments()) {
                 addClassesToProcess(classesToProcess, arg);
@@ -254,89 +237,15 @@ class ClassScanning {
         return types;
     }
 
-    private static Extension createExtension(Class<? extends Extension> clazz) {
-        try {
-            return clazz.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     private static boolean isBeanParameterAnnotation(Annotation ann) {
-        return isAnnotated(ann.annotationType(), Qualifier.class);
+        return ClassMetadata.of(ann.annotationType()).isAnnotated(Qualifier.class);
     }
 
     private static boolean hasBeanDefiningAnnotation(Class<?> clazz) {
-        return isAnnotated(clazz, NormalScope.class) || isAnnotated(clazz, Dependent.class) ||
-                isAnnotated(clazz, Interceptor.class) || isAnnotated(clazz, Decorator.class) ||
-                isAnnotated(clazz, Stereotype.class);
-    }
-
-    private static List<Field> findAllFieldsInHierarchy(Class<?> clazz) {
-        Preconditions.notNull(clazz, "Class must not be null");
-        List<Field> localFields = getDeclaredFields(clazz).stream().filter((field) -> !field.isSynthetic())
-                .collect(Collectors.toList());
-        List<Field> superclassFields = getSuperclassFields(clazz).stream()
-                .filter((field) -> !isMethodShadowedByLocalFields(field, localFields))
-                .collect(Collectors.toList());
-        List<Field> methods = new ArrayList<>();
-        methods.addAll(superclassFields);
-        methods.addAll(localFields);
-
-        return methods;
-    }
-
-    private static List<Field> getSuperclassFields(Class<?> clazz) {
-        Class<?> superclass = clazz.getSuperclass();
-        return superclass != null && superclass != Object.class ? findAllFieldsInHierarchy(superclass)
-                : Collections.emptyList();
-    }
-
-    private static List<Field> getDeclaredFields(Class<?> clazz) {
-        return asList(clazz.getDeclaredFields());
-    }
-
-    private static List<Method> getDeclaredMethods(Class<?> clazz) {
-        return asList(clazz.getDeclaredMethods());
-    }
-
-    private static boolean isMethodShadowedByLocalFields(Field field, List<Field> localFields) {
-        return localFields.stream()
-                .anyMatch((local) -> isFieldShadowedBy(field, local));
-    }
-
-    private static boolean isFieldShadowedBy(Field upper, Field lower) {
-        return upper.getType().equals(lower.getType());
-    }
-
-    private static List<Field> findAnnotatedDeclaredFields(Class<?> clazz, Class<? extends Annotation> annotationType) {
-        return getDeclaredFields(clazz).stream()
-                .filter((field) -> isAnnotated(field, annotationType))
-                .collect(CollectionUtils.toUnmodifiableList());
-    }
-
-    private static List<Method> findAnnotatedDeclaredMethods(Class<?> clazz, Class<? extends Annotation> annotationType) {
-        return getDeclaredMethods(clazz).stream()
-                .filter((field) -> isAnnotated(field, annotationType))
-                .collect(CollectionUtils.toUnmodifiableList());
-    }
-
-    private static List<Constructor<?>> getDeclaredConstructors(Class<?> clazz) {
-        return asList(clazz.getDeclaredConstructors());
-    }
-
-    private static Optional<Constructor<?>> findFirstAnnotatedConstructor(Class<?> clazz,
-            Class<? extends Annotation> annotationType) {
-
-        Optional<Constructor<?>> found = getDeclaredConstructors(clazz).stream()
-                .filter((cons) -> isAnnotated(cons, annotationType))
-                .findFirst();
-
-        if (found.isPresent() || clazz.getSuperclass() == null) {
-            return found;
-        }
-
-        return findFirstAnnotatedConstructor(clazz.getSuperclass(), annotationType);
+        ClassMetadata metadata = ClassMetadata.of(clazz);
+        return metadata.isAnnotated(NormalScope.class) || metadata.isAnnotated(Dependent.class) ||
+                metadata.isAnnotated(Interceptor.class) || metadata.isAnnotated(Decorator.class) ||
+                metadata.isAnnotated(Stereotype.class);
     }
 
     private static Class<?> unwrapInstanceTypeParameter(Field field) {
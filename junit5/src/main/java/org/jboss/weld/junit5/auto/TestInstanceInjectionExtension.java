@@ -16,6 +16,7 @@
  */
 package org.jboss.weld.junit5.auto;
 
+import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.context.spi.CreationalContext;
 import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.spi.Extension;
@@ -33,24 +34,50 @@ import org.jboss.weld.injection.ForwardingInjectionTarget;
  * {@link org.jboss.weld.junit5.WeldInitiator#addObjectsToInjectInto} and related.
  * Proper handling of all other CDI annotations such as {@link jakarta.enterprise.inject.Produces &#064;Produces} is supported
  * only on top level test classes.
+ *
+ * <p>
+ * If the container is reset between test methods, the test class is a {@link Dependent} bean instead of a {@link Singleton}
+ * so that it always resolves to the current test instance, see {@link #setTestInstance(Object)}.
+ * </p>
  */
 public class TestInstanceInjectionExtension<T> implements Extension {
 
     private static final AnnotationLiteral<Singleton> SINGLETON_LITERAL = new AnnotationLiteral<Singleton>() {
     };
 
+    private static final AnnotationLiteral<Dependent> DEPENDENT_LITERAL = new AnnotationLiteral<Dependent>() {
+    };
+
     private final Class<?> testClass;
-    private final T testInstance;
+    private final boolean resettable;
+    private volatile T testInstance;
 
     TestInstanceInjectionExtension(T testInstance) {
+        this(testInstance, false);
+    }
+
+    TestInstanceInjectionExtension(T testInstance, boolean resettable) {
         this.testClass = testInstance.getClass();
+        this.resettable = resettable;
+        this.testInstance = testInstance;
+    }
+
+    /**
+     * Replaces the test instance once the container serves another test method.
+     *
+     * @param testInstance
+     */
+    void setTestInstance(T testInstance) {
+        if (!resettable) {
+            throw new IllegalStateException("Test instance of " + testClass + " cannot be replaced");
+        }
         this.testInstance = testInstance;
     }
 
     void rewriteTestClassScope(@Observes ProcessAnnotatedType<T> pat) {
 
         if (pat.getAnnotatedType().getJavaClass().equals(testClass)) {
-            pat.configureAnnotatedType().add(SINGLETON_LITERAL);
+            pat.configureAnnotatedType().add(resettable ? DEPENDENT_LITERAL : SINGLETON_LITERAL);
         }
 
     }
@@ -73,6 +100,28 @@ public class TestInstanceInjectionExtension<T> implements Extension {
             return testInstance;
         }
 
+        @Override
+        public void inject(T instance, CreationalContext<T> ctx) {
+            // a dependent test instance is produced repeatedly, injection is handled by the WeldInitiator then
+            if (!resettable) {
+                super.inject(instance, ctx);
+            }
+        }
+
+        @Override
+        public void postConstruct(T instance) {
+            if (!resettable) {
+                super.postConstruct(instance);
+            }
+        }
+
+        @Override
+        public void preDestroy(T instance) {
+            if (!resettable) {
+                super.preDestroy(instance);
+            }
+        }
+
     }
 
     void rewriteTestInstanceInjectionTarget(@Observes ProcessInjectionTarget<T> pit) {
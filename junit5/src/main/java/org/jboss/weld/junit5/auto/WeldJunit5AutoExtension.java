@@ -18,13 +18,27 @@ package org.jboss.weld.junit5.auto;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
+import static org.jboss.weld.junit5.ExtensionContextUtils.getContainerProfileFromStore;
+import static org.jboss.weld.junit5.ExtensionContextUtils.getDeploymentFingerprintFromStore;
 import static org.jboss.weld.junit5.ExtensionContextUtils.getExplicitInjectionInfoFromStore;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Produces;
+
 import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.junit.ContainerEvents;
+import org.jboss.weld.junit.ContainerProfile;
+import org.jboss.weld.junit.DeploymentFingerprint;
+import org.jboss.weld.junit5.ContainerLifecycle;
+import org.jboss.weld.junit5.TestClassMetadata;
 import org.jboss.weld.junit5.WeldInitiator;
 import org.jboss.weld.junit5.WeldJunit5Extension;
 import org.jboss.weld.junit5.WeldJunitEnricher;
@@ -78,14 +92,26 @@ public class WeldJunit5AutoExtension extends WeldJunit5Extension {
         List<?> testInstances = context.getRequiredTestInstances().getAllInstances();
         List<Class<?>> testClasses = testInstances.stream().map(Object::getClass).collect(Collectors.toList());
 
-        ClassScanning.scanForRequiredBeanClasses(testClasses, weld, getExplicitInjectionInfoFromStore(context));
+        DeploymentFingerprint fingerprint = getDeploymentFingerprintFromStore(context);
+        ContainerProfile.run(getContainerProfileFromStore(context), ContainerProfile.Phase.CLASS_SCANNING,
+                () -> ContainerEvents.scanClasses(context.getUniqueId(),
+                        () -> ClassScanning.scanForRequiredBeanClasses(testClasses, weld,
+                                getExplicitInjectionInfoFromStore(context), fingerprint)));
 
-        // Add the outer-most test class only because Weld would ignore inner, @Nested test classes anyway
-        // due to their not meeting valid beans requirements for not having a no-arg constructor.
-        // Note that getAllInstances above returns the tests "ordered from outermost to innermost".
-        Object outermostTestInstance = testInstances.get(0);
-        weld.addBeanClasses(outermostTestInstance.getClass());
-        weld.addExtension(new TestInstanceInjectionExtension<>(outermostTestInstance));
+        // A cached container can serve other test classes as long as the test class is not needed as a bean,
+        // the test instance itself is then only injected non-contextually; this has to be enabled explicitly
+        if (fingerprint == null || !isInstanceIndependentDeploymentEnabled() || isBeanRequiredForTestClasses(testClasses)) {
+            // Add the outer-most test class only because Weld would ignore inner, @Nested test classes anyway
+            // due to their not meeting valid beans requirements for not having a no-arg constructor.
+            // Note that getAllInstances above returns the tests "ordered from outermost to innermost".
+            Object outermostTestInstance = testInstances.get(0);
+            weld.addBeanClasses(outermostTestInstance.getClass());
+            weld.addExtension(new TestInstanceInjectionExtension<>(outermostTestInstance,
+                    determineContainerLifecycle(context).equals(ContainerLifecycle.PER_CLASS_WITH_RESET)));
+            if (fingerprint != null) {
+                fingerprint.markNotReusable();
+            }
+        }
 
         testClasses.stream()
                 .map(testClass -> AnnotationSupport.findRepeatableAnnotations(testClass, ActivateScopes.class))
@@ -94,4 +120,52 @@ public class WeldJunit5AutoExtension extends WeldJunit5Extension {
 
     }
 
+    @Override
+    protected ContainerLifecycle determineContainerLifecycle(ExtensionContext ec) {
+        return TestClassMetadata.of(ec.getRequiredTestClass()).findEnclosingAnnotation(EnableAutoWeld.class)
+                .map(EnableAutoWeld::containerLifecycle)
+                .orElse(ContainerLifecycle.DEFAULT);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void resetTestInstances(ExtensionContext context, WeldInitiator initiator) {
+        TestInstanceInjectionExtension<Object> extension;
+        try {
+            extension = initiator.getBeanManager().getExtension(TestInstanceInjectionExtension.class);
+        } catch (IllegalArgumentException e) {
+            // the test class was not added as a bean, there is nothing to reset
+            return;
+        }
+        // the outer-most test instance is the one added as a bean
+        extension.setTestInstance(context.getRequiredTestInstances().getAllInstances().get(0));
+    }
+
+    /**
+     * The test class has to be a bean if it declares producers, disposers or observers.
+     */
+    private static boolean isBeanRequiredForTestClasses(List<Class<?>> testClasses) {
+        for (Class<?> testClass : testClasses) {
+            for (Class<?> clazz = testClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(Produces.class)) {
+                        return true;
+                    }
+                }
+                for (Method method : clazz.getDeclaredMethods()) {
+                    if (method.isAnnotationPresent(Produces.class)) {
+                        return true;
+                    }
+                    for (Parameter parameter : method.getParameters()) {
+                        if (parameter.isAnnotationPresent(Observes.class) || parameter.isAnnotationPresent(ObservesAsync.class)
+                                || parameter.isAnnotationPresent(Disposes.class)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
 }
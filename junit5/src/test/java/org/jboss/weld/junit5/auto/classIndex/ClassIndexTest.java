@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.auto.classIndex;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit.ClassIndex;
+import org.jboss.weld.junit5.auto.AddPackages;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.jboss.weld.junit5.auto.classIndex.sub.SubPackageBean;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+@Isolated
+@EnableAutoWeld
+@AddPackages(value = IndexedBean.class, recursively = false)
+public class ClassIndexTest {
+
+    @Inject
+    Instance<Object> instance;
+
+    @BeforeAll
+    public static void prepare() {
+        System.setProperty(ClassIndex.CLASS_INDEX, "true");
+    }
+
+    @Test
+    public void testPackageClassesAreAdded() {
+        Assertions.assertEquals(IndexedBean.class.getSimpleName(), instance.select(IndexedBean.class).get().ping());
+        // not added recursively
+        Assertions.assertTrue(instance.select(SubPackageBean.class).isUnsatisfied());
+    }
+
+    @AfterAll
+    public static void cleanUp() {
+        System.clearProperty(ClassIndex.CLASS_INDEX);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.auto.parallelScanning;
+
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit.ClassGraphScanner;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.jboss.weld.junit5.auto.ExcludeBean;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+@Isolated
+@EnableAutoWeld
+public class ParallelScanningTest {
+
+    @Inject
+    Engine engine;
+
+    @Produces
+    @ExcludeBean
+    Part part = new Part() {
+        @Override
+        public String ping() {
+            return "Mock";
+        }
+    };
+
+    @BeforeAll
+    public static void prepare() {
+        // scan all classes in parallel
+        System.setProperty(ClassGraphScanner.PARALLEL_SCANNING_THRESHOLD, "1");
+    }
+
+    @Test
+    public void testTransitiveDependenciesAreScanned() {
+        Assertions.assertEquals("EngineMock", engine.ping());
+    }
+
+    @AfterAll
+    public static void cleanUp() {
+        System.clearProperty(ClassGraphScanner.PARALLEL_SCANNING_THRESHOLD);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.auto.scanningCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit.ClassScanningCache;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+@Isolated
+@EnableAutoWeld
+public class ClassScanningCacheTest {
+
+    static Path cacheDir;
+
+    @Inject
+    ScannedBean bean;
+
+    @BeforeAll
+    public static void prepare() throws IOException {
+        cacheDir = Files.createTempDirectory("weld-testing-cache");
+        System.setProperty(ClassScanningCache.CLASS_SCANNING_CACHE_DIR, cacheDir.toString());
+        System.setProperty(ClassScanningCache.CLASS_SCANNING_CACHE, "true");
+    }
+
+    @Test
+    public void testBeanIsInjected() {
+        Assertions.assertEquals(ScannedBean.class.getSimpleName(), bean.ping());
+    }
+
+    @Test
+    public void testScanResultIsStored() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            entries = files.filter(file -> file.toString().endsWith(".properties")).collect(Collectors.toList());
+        }
+        Assertions.assertEquals(1, entries.size());
+        String entry = Files.readString(entries.get(0));
+        Assertions.assertTrue(entry.contains(ClassScanningCacheTest.class.getName()));
+        Assertions.assertTrue(entry.contains(ScannedBean.class.getName()));
+    }
+
+    @AfterAll
+    public static void cleanUp() throws IOException {
+        System.clearProperty(ClassScanningCache.CLASS_SCANNING_CACHE);
+        System.clearProperty(ClassScanningCache.CLASS_SCANNING_CACHE_DIR);
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(cacheDir);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldBenchmark;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+
+@EnableWeld
+public class WeldBenchmarkTest {
+
+    static final AtomicInteger REQUEST_BEANS = new AtomicInteger();
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator.from(Counter.class, RequestBean.class).activate(RequestScoped.class).build();
+
+    @Inject
+    Counter counter;
+
+    @Inject
+    RequestBean requestBean;
+
+    @BeforeEach
+    public void init() {
+        REQUEST_BEANS.set(0);
+        requestBean.setValue("test");
+    }
+
+    @WeldBenchmark(warmupIterations = 1, iterations = 2, operations = 100, threads = 2)
+    public void testSharedContexts() {
+        counter.increment();
+        // the benchmark threads share the request context of the test
+        assertEquals("test", requestBean.getValue());
+    }
+
+    @WeldBenchmark(warmupIterations = 1, iterations = 2, operations = 100, threads = 2, activateContexts = true)
+    public void testFreshContexts() {
+        counter.increment();
+        requestBean.setValue(Thread.currentThread().getName());
+    }
+
+    @AfterEach
+    public void verifyInvocations(TestInfo testInfo) {
+        assertEquals((1 + 2) * 100 * 2, counter.get());
+        if (testInfo.getTestMethod().get().getName().equals("testFreshContexts")) {
+            // one request bean per benchmark thread and iteration, plus the one of the test itself
+            assertEquals(2 * (1 + 2) + 1, REQUEST_BEANS.get());
+            assertEquals("test", requestBean.getValue());
+        } else {
+            assertEquals(1, REQUEST_BEANS.get());
+        }
+    }
+
+    @ApplicationScoped
+    public static class Counter {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        public void increment() {
+            count.incrementAndGet();
+        }
+
+        public int get() {
+            return count.get();
+        }
+
+    }
+
+    @RequestScoped
+    public static class RequestBean {
+
+        private volatile String value;
+
+        @PostConstruct
+        void init() {
+            REQUEST_BEANS.incrementAndGet();
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.cache;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.junit5.WeldJunit5Extension;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+/**
+ * Without {@link WeldJunit5Extension#GLOBAL_INSTANCE_INDEPENDENT_DEPLOYMENT} the test class is a bean and the enricher of
+ * the test suite is called with the test instance, so the deployment must not be shared.
+ */
+@Isolated
+@EnableAutoWeld
+public class InstanceDependentContainerCacheTest {
+
+    static String containerId = null;
+
+    @Inject
+    PlainBean bean;
+
+    // a @Dependent test class cannot inject itself directly, that would be a circular dependency
+    @Inject
+    Instance<InstanceDependentContainerCacheTest> contextualTestInstance;
+
+    @BeforeAll
+    public static void prepare() {
+        System.setProperty(WeldJunit5Extension.GLOBAL_CONTAINER_CACHE, "true");
+    }
+
+    @Test
+    public void first() {
+        verifyContainerIsNotReused();
+    }
+
+    @Test
+    public void second() {
+        verifyContainerIsNotReused();
+    }
+
+    private void verifyContainerIsNotReused() {
+        Assertions.assertSame(this, contextualTestInstance.get());
+        if (containerId == null) {
+            containerId = WeldContainer.current().getId();
+        } else {
+            Assertions.assertNotEquals(containerId, WeldContainer.current().getId());
+        }
+    }
+
+    @AfterAll
+    public static void cleanUp() {
+        System.clearProperty(WeldJunit5Extension.GLOBAL_CONTAINER_CACHE);
+    }
+}
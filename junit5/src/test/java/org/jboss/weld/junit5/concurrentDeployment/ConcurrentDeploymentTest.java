@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.concurrentDeployment;
+
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.junit.AdaptiveWeld;
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+@Isolated
+@EnableWeld
+public class ConcurrentDeploymentTest {
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator.of(Engine.class, Part.class);
+
+    @Inject
+    BeanManager beanManager;
+
+    @Inject
+    Engine engine;
+
+    @BeforeAll
+    public static void prepare() {
+        System.setProperty(AdaptiveWeld.CONCURRENT_DEPLOYMENT_THRESHOLD, "2");
+    }
+
+    @Test
+    public void testConcurrentDeploymentIsEnabled() {
+        WeldConfiguration configuration = BeanManagerProxy.unwrap(beanManager).getServices().get(WeldConfiguration.class);
+        Assertions.assertTrue(configuration.getBooleanProperty(ConfigurationKey.CONCURRENT_DEPLOYMENT));
+        Assertions.assertEquals("Part", engine.part.ping());
+    }
+
+    @AfterAll
+    public static void cleanUp() {
+        System.clearProperty(AdaptiveWeld.CONCURRENT_DEPLOYMENT_THRESHOLD);
+    }
+
+    @Dependent
+    public static class Engine {
+
+        @Inject
+        Part part;
+    }
+
+    @Dependent
+    public static class Part {
+
+        public String ping() {
+            return Part.class.getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.contexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldJunit5Extension;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+
+/**
+ * All repetitions share the container of the test class, each of them gets a request context of its own on whatever
+ * thread it is executed.
+ */
+@Isolated
+@EnableWeld
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class ConcurrentContextsTest {
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator.from(RequestBean.class).activate(RequestScoped.class).build();
+
+    @Inject
+    RequestBean requestBean;
+
+    private final Set<Object> containerIds = ConcurrentHashMap.newKeySet();
+
+    @BeforeAll
+    public static void enableConcurrentContexts() {
+        System.setProperty(WeldJunit5Extension.GLOBAL_CONCURRENT_CONTEXTS, "true");
+    }
+
+    @RepeatedTest(8)
+    public void testOwnRequestContext(RepetitionInfo repetitionInfo) throws InterruptedException {
+        containerIds.add(weld.getId());
+        assertNull(requestBean.getOwner());
+        requestBean.setOwner(repetitionInfo.getCurrentRepetition());
+        Thread.sleep(10);
+        assertEquals(repetitionInfo.getCurrentRepetition(), requestBean.getOwner());
+    }
+
+    @AfterAll
+    public void verifySingleContainer() {
+        System.clearProperty(WeldJunit5Extension.GLOBAL_CONCURRENT_CONTEXTS);
+        assertEquals(1, containerIds.size());
+    }
+
+    @RequestScoped
+    public static class RequestBean {
+
+        private volatile Integer owner;
+
+        public Integer getOwner() {
+            return owner;
+        }
+
+        public void setOwner(Integer owner) {
+            this.owner = owner;
+        }
+
+    }
+
+}
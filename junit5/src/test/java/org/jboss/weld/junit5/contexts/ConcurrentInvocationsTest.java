@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.contexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.Serializable;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.SessionScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit5.ConcurrentInvocations;
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+@EnableWeld
+public class ConcurrentInvocationsTest {
+
+    private static final int INVOCATIONS = 200;
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator.from(Counter.class, RequestBean.class, SessionBean.class)
+            .activate(SessionScoped.class).build();
+
+    @Inject
+    Counter counter;
+
+    @Inject
+    RequestBean requestBean;
+
+    @Inject
+    SessionBean sessionBean;
+
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    @Test
+    @ConcurrentInvocations(INVOCATIONS)
+    public void testOwnContexts() {
+        threads.add(Thread.currentThread());
+        counter.increment();
+        // the built-in request context as well as the activated session context are fresh for each invocation
+        assertNull(requestBean.getThread());
+        requestBean.setThread(Thread.currentThread());
+        assertNull(sessionBean.getThread());
+        sessionBean.setThread(Thread.currentThread());
+        Thread.yield();
+        assertSame(Thread.currentThread(), requestBean.getThread());
+        assertSame(Thread.currentThread(), sessionBean.getThread());
+    }
+
+    @AfterEach
+    public void verifyInvocations() {
+        assertEquals(INVOCATIONS, counter.get());
+        assertEquals(INVOCATIONS, threads.size());
+    }
+
+    @ApplicationScoped
+    public static class Counter {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        public void increment() {
+            count.incrementAndGet();
+        }
+
+        public int get() {
+            return count.get();
+        }
+
+    }
+
+    @RequestScoped
+    public static class RequestBean {
+
+        private volatile Thread thread;
+
+        public Thread getThread() {
+            return thread;
+        }
+
+        public void setThread(Thread thread) {
+            this.thread = thread;
+        }
+
+    }
+
+    @SessionScoped
+    public static class SessionBean implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private volatile transient Thread thread;
+
+        public Thread getThread() {
+            return thread;
+        }
+
+        public void setThread(Thread thread) {
+            this.thread = thread;
+        }
+
+    }
+
+}
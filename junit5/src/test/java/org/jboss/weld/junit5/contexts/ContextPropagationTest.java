@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.contexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+
+@EnableWeld
+public class ContextPropagationTest {
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator.from(RequestBean.class).activate(RequestScoped.class).build();
+
+    @Inject
+    RequestBean requestBean;
+
+    @Test
+    public void testContextAwareExecutor() throws Exception {
+        requestBean.setValue("foo");
+        ExecutorService executor = weld.contextAwareExecutor(Executors.newFixedThreadPool(2));
+        try {
+            assertEquals("foo", executor.submit(requestBean::getValue).get());
+            assertEquals("foo", CompletableFuture.supplyAsync(requestBean::getValue, executor).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testContextAwareThreadFactory() throws Exception {
+        requestBean.setValue("bar");
+        ThreadFactory threadFactory = weld.contextAwareThreadFactory(Executors.defaultThreadFactory());
+        AtomicReference<String> value = new AtomicReference<>();
+        Thread thread = threadFactory.newThread(() -> value.set(requestBean.getValue()));
+        thread.start();
+        thread.join();
+        assertEquals("bar", value.get());
+    }
+
+    @Test
+    public void testContextsNotActiveWithoutPropagation() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertTrue(isActiveOn(weld.contextAwareExecutor(executor)));
+            assertFalse(isActiveOn(executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private boolean isActiveOn(ExecutorService executor) throws Exception {
+        return executor.submit(() -> {
+            try {
+                return weld.getBeanManager().getContext(RequestScoped.class).isActive();
+            } catch (ContextNotActiveException e) {
+                return false;
+            }
+        }).get();
+    }
+
+    @RequestScoped
+    public static class RequestBean {
+
+        private volatile String value;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+    }
+
+}
@@ -28,8 +28,9 @@ public class FooWeldJunitEnricher implements WeldJunitEnricher {
     @Override
     public void enrich(Object testInstance, ExtensionContext context, Weld weld,
             Builder weldInitiatorBuilder) {
-        if (WeldJunitEnricherTest.class.equals(testInstance.getClass())
-                || WeldJunitEnricherDisabledTest.class.equals(testInstance.getClass())) {
+        // there is no test instance if the deployment is built independently of it
+        if (testInstance != null && (WeldJunitEnricherTest.class.equals(testInstance.getClass())
+                || WeldJunitEnricherDisabledTest.class.equals(testInstance.getClass()))) {
             weld.addBeanClass(Foo.class);
         }
     }
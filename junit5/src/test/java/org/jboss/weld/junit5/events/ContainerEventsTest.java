@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.events;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit5.auto.ActivateScopes;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Contexts are only activated, and the activation recorded, if there are scopes to activate.
+ */
+@EnableAutoWeld
+@ActivateScopes(RequestScoped.class)
+public class ContainerEventsTest {
+
+    private static final List<String> EVENT_NAMES = List.of("org.jboss.weld.junit.ClassScan",
+            "org.jboss.weld.junit.WeldContainerBoot", "org.jboss.weld.junit.ContextActivation",
+            "org.jboss.weld.junit.TestInstanceInjection", "org.jboss.weld.junit.ParameterResolution",
+            "org.jboss.weld.junit.WeldContainerShutdown");
+
+    static Recording recording;
+
+    @Inject
+    RecordedBean bean;
+
+    @BeforeAll
+    public static void startRecording() {
+        recording = new Recording();
+        EVENT_NAMES.forEach(recording::enable);
+        recording.start();
+    }
+
+    @Test
+    public void testEventsAreRecorded(RecordedBean parameter) {
+        Assertions.assertEquals(RecordedBean.class.getSimpleName(), bean.ping());
+        Assertions.assertEquals(RecordedBean.class.getSimpleName(), parameter.ping());
+    }
+
+    // the container of the test method was shut down already
+    @AfterAll
+    public static void verifyEvents() throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile(ContainerEventsTest.class.getSimpleName(), ".jfr");
+        try {
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> {
+                        String testId = event.getString("testId");
+                        return testId != null && testId.contains(ContainerEventsTest.class.getName())
+                                && testId.contains("testEventsAreRecorded");
+                    })
+                    .collect(Collectors.toList());
+            Set<String> names = events.stream().map(event -> event.getEventType().getName()).collect(Collectors.toSet());
+            Assertions.assertEquals(Set.copyOf(EVENT_NAMES), names);
+
+            RecordedEvent boot = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("org.jboss.weld.junit.WeldContainerBoot"))
+                    .findFirst().orElseThrow();
+            Assertions.assertNotNull(boot.getString("containerId"));
+            Assertions.assertTrue(boot.getInt("beanCount") > 0);
+        } finally {
+            recording.close();
+            Files.delete(file);
+        }
+    }
+
+    @ApplicationScoped
+    public static class RecordedBean {
+
+        public String ping() {
+            return RecordedBean.class.getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.metadata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.jboss.weld.junit5.ContainerLifecycle;
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.ExplicitParamInjection;
+import org.jboss.weld.junit5.TestClassMetadata;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+public class TestClassMetadataTest {
+
+    @Test
+    public void testMetadataIsMemoized() {
+        assertSame(TestClassMetadata.of(Outer.class), TestClassMetadata.of(Outer.class));
+    }
+
+    @Test
+    public void testTopLevelClass() {
+        TestClassMetadata metadata = TestClassMetadata.of(Outer.class);
+        assertEquals(Lifecycle.PER_METHOD, metadata.getLifecycle());
+        assertEquals(List.of(Outer.class, TestClassMetadataTest.class), metadata.getNestingChain());
+        assertEquals(Optional.of(Boolean.TRUE), metadata.getExplicitParamInjection());
+        assertEquals(List.of("weld"), names(metadata.getWeldSetupFields()));
+        assertEquals(ContainerLifecycle.PER_CLASS_WITH_RESET,
+                metadata.findEnclosingAnnotation(EnableWeld.class).get().containerLifecycle());
+    }
+
+    @Test
+    public void testNestedClass() {
+        TestClassMetadata metadata = TestClassMetadata.of(Outer.Inner.class);
+        assertEquals(Lifecycle.PER_CLASS, metadata.getLifecycle());
+        assertEquals(List.of(Outer.Inner.class, Outer.class, TestClassMetadataTest.class), metadata.getNestingChain());
+        // inherited from the enclosing class
+        assertEquals(Optional.of(Boolean.TRUE), metadata.getExplicitParamInjection());
+        assertEquals(ContainerLifecycle.PER_CLASS_WITH_RESET,
+                metadata.findEnclosingAnnotation(EnableWeld.class).get().containerLifecycle());
+        // declared by the class and its superclass, static and private fields included
+        assertEquals(List.of("innerWeld", "staticWeld"), names(metadata.getWeldSetupFields()));
+    }
+
+    @Test
+    public void testClassWithoutAnnotations() {
+        TestClassMetadata metadata = TestClassMetadata.of(TestClassMetadataTest.class);
+        assertEquals(Lifecycle.PER_METHOD, metadata.getLifecycle());
+        assertFalse(metadata.getExplicitParamInjection().isPresent());
+        assertFalse(metadata.findEnclosingAnnotation(EnableWeld.class).isPresent());
+        assertTrue(metadata.getWeldSetupFields().isEmpty());
+    }
+
+    private static List<String> names(List<Field> fields) {
+        return fields.stream().map(Field::getName).collect(Collectors.toList());
+    }
+
+    @EnableWeld(containerLifecycle = ContainerLifecycle.PER_CLASS_WITH_RESET)
+    @ExplicitParamInjection
+    static class Outer {
+
+        @WeldSetup
+        WeldInitiator weld;
+
+        @TestInstance(Lifecycle.PER_CLASS)
+        class Inner extends Base {
+
+            @WeldSetup
+            private WeldInitiator innerWeld;
+
+        }
+
+    }
+
+    static class Base {
+
+        @WeldSetup
+        static WeldInitiator staticWeld;
+
+    }
+
+}
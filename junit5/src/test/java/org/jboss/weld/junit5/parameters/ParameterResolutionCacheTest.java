@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.parameters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.inject.Named;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+/**
+ * The resolutions of the parameters are cached for the container, the instances are not.
+ */
+@EnableWeld
+@TestInstance(Lifecycle.PER_CLASS)
+public class ParameterResolutionCacheTest {
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator.of(DependentBean.class, SingletonBean.class);
+
+    private final List<DependentBean> dependentBeans = new ArrayList<>();
+
+    private final List<SingletonBean> singletonBeans = new ArrayList<>();
+
+    @RepeatedTest(3)
+    public void testParameters(DependentBean dependentBean, @Named("singleton") SingletonBean singletonBean) {
+        dependentBeans.add(dependentBean);
+        singletonBeans.add(singletonBean);
+        assertEquals(SingletonBean.class.getSimpleName(), singletonBean.ping());
+    }
+
+    @AfterAll
+    public void verifyInstances() {
+        assertEquals(3, dependentBeans.size());
+        assertNotSame(dependentBeans.get(0), dependentBeans.get(1));
+        assertNotSame(dependentBeans.get(1), dependentBeans.get(2));
+        assertEquals(3, singletonBeans.size());
+        assertSame(singletonBeans.get(0).getId(), singletonBeans.get(1).getId());
+        assertSame(singletonBeans.get(1).getId(), singletonBeans.get(2).getId());
+    }
+
+    @Dependent
+    public static class DependentBean {
+    }
+
+    @ApplicationScoped
+    @Named("singleton")
+    public static class SingletonBean {
+
+        private final Object id = new Object();
+
+        public Object getId() {
+            return id;
+        }
+
+        public String ping() {
+            return SingletonBean.class.getSimpleName();
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.preboot;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.junit5.WeldJunit5Extension;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.parallel.Isolated;
+
+/**
+ * Documents that {@link WeldContainer#current()} cannot be used while the container of the next test method is pre-booted.
+ */
+@Isolated
+@EnableAutoWeld
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class PreBootCurrentContainerTest {
+
+    @Inject
+    BeanManager beanManager;
+
+    @BeforeAll
+    public static void prepare() {
+        System.setProperty(WeldJunit5Extension.GLOBAL_CONTAINER_PRE_BOOT, "true");
+        System.setProperty(WeldJunit5Extension.GLOBAL_INSTANCE_INDEPENDENT_DEPLOYMENT, "true");
+    }
+
+    @Test
+    public void first() throws InterruptedException {
+        // the container of the second test method is booted on a worker thread
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (WeldContainer.getRunningContainerIds().size() < 2) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "The next container was not pre-booted");
+            Thread.sleep(10);
+        }
+        Assertions.assertThrows(IllegalStateException.class, WeldContainer::current);
+    }
+
+    @Test
+    public void second() {
+        // the injected bean manager always belongs to the container of the test
+        String contextId = BeanManagerProxy.unwrap(beanManager).getContextId();
+        Assertions.assertTrue(WeldContainer.getRunningContainerIds().contains(contextId));
+    }
+
+    @AfterAll
+    public static void cleanUp() {
+        System.clearProperty(WeldJunit5Extension.GLOBAL_CONTAINER_PRE_BOOT);
+        System.clearProperty(WeldJunit5Extension.GLOBAL_INSTANCE_INDEPENDENT_DEPLOYMENT);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.preboot;
+
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.junit5.WeldJunit5Extension;
+import org.jboss.weld.junit5.auto.AddBeanClasses;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+/**
+ * Note that we cannot be sure which method executes first - only the later ones will do actual verification.
+ */
+@Isolated
+@EnableAutoWeld
+@AddBeanClasses(BootRecorder.class)
+public class PreBootTest {
+
+    static int executedTests = 0;
+
+    @Inject
+    BeanManager beanManager;
+
+    @BeforeAll
+    public static void prepare() {
+        System.setProperty(WeldJunit5Extension.GLOBAL_CONTAINER_PRE_BOOT, "true");
+        System.setProperty(WeldJunit5Extension.GLOBAL_INSTANCE_INDEPENDENT_DEPLOYMENT, "true");
+    }
+
+    @Test
+    public void first() {
+        verifyContainerWasPreBooted();
+    }
+
+    @Test
+    public void second() {
+        verifyContainerWasPreBooted();
+    }
+
+    @Test
+    public void third() {
+        verifyContainerWasPreBooted();
+    }
+
+    private void verifyContainerWasPreBooted() {
+        String bootThread = BootRecorder.BOOT_THREADS.get(BeanManagerProxy.unwrap(beanManager).getContextId());
+        Assertions.assertNotNull(bootThread);
+        if (executedTests++ > 0) {
+            Assertions.assertTrue(bootThread.startsWith("weld-testing-preboot-"), bootThread);
+        }
+    }
+
+    @AfterAll
+    public static void cleanUp() {
+        System.clearProperty(WeldJunit5Extension.GLOBAL_CONTAINER_PRE_BOOT);
+        System.clearProperty(WeldJunit5Extension.GLOBAL_INSTANCE_INDEPENDENT_DEPLOYMENT);
+    }
+}
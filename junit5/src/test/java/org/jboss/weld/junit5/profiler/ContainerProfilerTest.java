@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.profiler;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit.ContainerProfile;
+import org.jboss.weld.junit.ContainerProfiler;
+import org.jboss.weld.junit5.ExtensionContextUtils;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.parallel.Isolated;
+
+@Isolated
+@EnableAutoWeld
+public class ContainerProfilerTest {
+
+    // runs after the test method but before the container is shut down
+    @RegisterExtension
+    static AfterTestExecutionCallback profileVerifier = ContainerProfilerTest::verifyProfile;
+
+    @Inject
+    ProfiledBean bean;
+
+    @BeforeAll
+    public static void prepare() {
+        System.setProperty(ContainerProfiler.PROFILER, "true");
+    }
+
+    @Test
+    public void testPhasesAreRecorded() {
+        Assertions.assertEquals(ProfiledBean.class.getSimpleName(), bean.ping());
+    }
+
+    static void verifyProfile(ExtensionContext context) {
+        ContainerProfile profile = ExtensionContextUtils.getContainerProfileFromStore(context);
+        Assertions.assertNotNull(profile);
+        Assertions.assertTrue(profile.getName().endsWith("#testPhasesAreRecorded()"), profile.getName());
+        Assertions.assertTrue(profile.getDuration(ContainerProfile.Phase.CLASS_SCANNING) > 0, profile.toString());
+        Assertions.assertTrue(profile.getDuration(ContainerProfile.Phase.BOOT) > 0, profile.toString());
+        Assertions.assertTrue(profile.getDuration(ContainerProfile.Phase.INJECTION) > 0, profile.toString());
+    }
+
+    @AfterAll
+    public static void cleanUp() {
+        System.clearProperty(ContainerProfiler.PROFILER);
+    }
+
+    @ApplicationScoped
+    public static class ProfiledBean {
+
+        public String ping() {
+            return ProfiledBean.class.getSimpleName();
+        }
+    }
+}
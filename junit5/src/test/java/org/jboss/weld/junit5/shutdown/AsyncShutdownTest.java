@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.shutdown;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit.AsyncContainerShutdown;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+/**
+ * Note that we cannot be sure which method executes first - only the second one will do actual verification.
+ */
+@Isolated
+@EnableAutoWeld
+public class AsyncShutdownTest {
+
+    static boolean firstTestExecuted = false;
+
+    @Inject
+    ShutdownRecorder recorder;
+
+    @BeforeAll
+    public static void prepare() {
+        System.setProperty(AsyncContainerShutdown.ASYNC_SHUTDOWN, "true");
+    }
+
+    @Test
+    public void first() throws InterruptedException {
+        verifyPreviousContainerIsShutDownInBackground();
+    }
+
+    @Test
+    public void second() throws InterruptedException {
+        verifyPreviousContainerIsShutDownInBackground();
+    }
+
+    private void verifyPreviousContainerIsShutDownInBackground() throws InterruptedException {
+        recorder.ping();
+        if (!firstTestExecuted) {
+            firstTestExecuted = true;
+        } else {
+            Assertions.assertTrue(ShutdownRecorder.DESTROYED.await(10, TimeUnit.SECONDS));
+            Assertions.assertTrue(ShutdownRecorder.destroyingThread.startsWith("weld-testing-shutdown-"),
+                    ShutdownRecorder.destroyingThread);
+        }
+    }
+
+    @AfterAll
+    public static void cleanUp() {
+        System.clearProperty(AsyncContainerShutdown.ASYNC_SHUTDOWN);
+    }
+}
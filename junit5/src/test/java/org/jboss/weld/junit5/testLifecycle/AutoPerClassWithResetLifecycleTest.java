@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.testLifecycle;
+
+import java.util.UUID;
+
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Named;
+
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.junit5.ContainerLifecycle;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+/**
+ * Note that we cannot be sure which method executes first - only one of them will do actual verification.
+ */
+@Isolated
+@EnableAutoWeld(containerLifecycle = ContainerLifecycle.PER_CLASS_WITH_RESET)
+public class AutoPerClassWithResetLifecycleTest {
+
+    static String containerId = null;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Produces
+    @Named("instanceId")
+    String produceInstanceId() {
+        return instanceId;
+    }
+
+    @Test
+    public void first(@Named("instanceId") String producedInstanceId) {
+        verifyContainerIsReset(producedInstanceId);
+    }
+
+    @Test
+    public void second(@Named("instanceId") String producedInstanceId) {
+        verifyContainerIsReset(producedInstanceId);
+    }
+
+    private void verifyContainerIsReset(String producedInstanceId) {
+        // producers are invoked upon the current test instance
+        Assertions.assertEquals(instanceId, producedInstanceId);
+        if (containerId == null) {
+            containerId = WeldContainer.current().getId();
+        } else {
+            Assertions.assertEquals(containerId, WeldContainer.current().getId());
+        }
+    }
+}
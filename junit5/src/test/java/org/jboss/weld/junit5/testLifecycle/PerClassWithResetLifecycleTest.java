@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.junit5.testLifecycle;
+
+import jakarta.inject.Inject;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.junit5.ContainerLifecycle;
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+/**
+ * Note that we cannot be sure which method executes first - only one of them will do actual verification.
+ */
+@Isolated
+@EnableWeld(containerLifecycle = ContainerLifecycle.PER_CLASS_WITH_RESET)
+public class PerClassWithResetLifecycleTest {
+
+    @WeldSetup
+    public static WeldInitiator initiator = WeldInitiator.of(new Weld(String.valueOf(System.nanoTime()))
+            .disableDiscovery().addBeanClasses(PlainBean.class, DependentBean.class));
+
+    static String containerId = null;
+
+    static DependentBean previousDependentBean = null;
+
+    @Inject
+    PlainBean plainBean;
+
+    @Inject
+    DependentBean dependentBean;
+
+    @Test
+    public void first() {
+        verifyContainerIsReset();
+    }
+
+    @Test
+    public void second() {
+        verifyContainerIsReset();
+    }
+
+    private void verifyContainerIsReset() {
+        Assertions.assertNotNull(plainBean);
+        Assertions.assertNotNull(dependentBean);
+        Assertions.assertFalse(dependentBean.destroyed);
+        if (containerId == null) {
+            containerId = WeldContainer.current().getId();
+        } else {
+            Assertions.assertEquals(containerId, WeldContainer.current().getId());
+            // dependent beans of the previous test instance were destroyed
+            Assertions.assertNotSame(previousDependentBean, dependentBean);
+            Assertions.assertTrue(previousDependentBean.destroyed);
+        }
+        previousDependentBean = dependentBean;
+    }
+}
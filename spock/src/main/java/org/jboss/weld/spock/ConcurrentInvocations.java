@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.spock;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation with which the body of a feature is run the given number of times concurrently for each iteration, each
+ * invocation on a virtual thread of its own, or on a platform thread on Java versions without virtual threads.
+ *
+ * <p>
+ * All the invocations share the container and the specification instance of the iteration, but each of them gets a
+ * freshly activated request context and contexts of its own for the scopes activated through
+ * {@link WeldInitiator.Builder#activate(Class...)} or {@link org.jboss.weld.spock.auto.ActivateScopes @ActivateScopes}.
+ * The fixture methods and the parameter injection are performed once, on the thread executing the iteration. The
+ * iteration fails if any of the invocations fails.
+ *
+ * <p>
+ * The invocations also share the mock controller of the iteration, so the feature must not declare interactions itself.
+ * Interactions declared by the fixture methods are verified once all invocations returned.
+ *
+ * <p>
+ * On any method that is not a feature or on a feature for which Weld is not enabled, this annotation is simply ignored
+ * and has no effect.
+ *
+ * @see EnableWeld
+ * @see org.jboss.weld.spock.impl.EnableWeldExtension
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+@Documented
+public @interface ConcurrentInvocations {
+    /**
+     * The number of concurrent invocations.
+     *
+     * @return the number of concurrent invocations
+     */
+    int value();
+}
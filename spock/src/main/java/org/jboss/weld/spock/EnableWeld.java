@@ -90,6 +90,31 @@ public @interface EnableWeld {
      */
     boolean explicitParamInjection() default false;
 
+    /**
+     * Whether to recycle the Weld containers of scope {@code ITERATION}. By default, each iteration boots and shuts down a
+     * container of its own, which for data-driven features with many iterations is mostly Weld bootstrap. If recycling is
+     * enabled, a container is kept running after an iteration and serves the next one: its activated contexts are reset,
+     * the dependent objects created for the previous iteration are destroyed, and the new test instance and method
+     * parameters are injected. Iterations running in parallel each get a container of their own. All the containers are
+     * shut down after the last iteration of the feature.
+     *
+     * <p>
+     * The iterations are still isolated from each other, except for application scoped and singleton beans, which are
+     * shared by all iterations served by the same container.
+     *
+     * <p>
+     * A recycled container must not depend on the specification instance of a single iteration, so discovered
+     * {@link WeldSpockEnricher}s are called without a specification instance. In the automagic mode, a specification
+     * which declares producers, disposers, or observers has to be a bean bound to the instance of its iteration, so each
+     * iteration then boots and shuts down a container of its own as without recycling.
+     *
+     * <p>
+     * If this is enabled for any other scope than {@code ITERATION}, an exception is thrown.
+     *
+     * @return whether to recycle the containers of scope {@code ITERATION}
+     */
+    boolean recycleContainer() default false;
+
     /**
      * The scope for which the Weld container should be valid and used.
      */
@@ -153,6 +178,35 @@ public @interface EnableWeld {
          * This scope can only be selected on a specification or in the Spock configuration file. If it is used
          * for a feature annotation, an exception will be thrown.
          */
-        SPECIFICATION
+        SPECIFICATION,
+
+        /**
+         * Like {@code SPECIFICATION}, but the Weld container is not exclusively used by one specification. Before a
+         * specification, a running container with the very same deployment is taken from a pool shared by all
+         * specifications of the test run, or a new one is started if there is none. After the specification, the
+         * container is suspended, i.e. its activated contexts are deactivated and the injected instances released, and
+         * it is returned to the pool. All containers of the pool are shut down once Spock stops its global extensions.
+         *
+         * <p>
+         * A container only serves one specification at a time, so specifications running in parallel use containers
+         * of their own. Application scoped and singleton beans are shared by all specifications served by the same
+         * container.
+         *
+         * <p>
+         * The deployment is only shared if it can be described independently of the specification, e.g. the default
+         * deployment of the manual mode, or the automagic mode for a specification which declares no producers,
+         * disposers, or observers. Discovered {@link WeldSpockEnricher}s are called without a specification instance. An
+         * initiator provided through a {@link WeldSetup @WeldSetup} field ties the deployment to the specification, its
+         * container is then shut down after the specification as with scope {@code SPECIFICATION}.
+         *
+         * <p>
+         * As the pooled containers keep running, {@code WeldContainer.current()} cannot be used while other containers are
+         * pooled. The idle containers are shut down before an {@link spock.lang.Isolated @Isolated} specification.
+         *
+         * <p>
+         * This scope can only be selected on a specification or in the Spock configuration file. If it is used
+         * for a feature annotation, an exception will be thrown.
+         */
+        GLOBAL
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.spock;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation with which the body of a feature is turned into a micro-benchmark for each iteration, run within the
+ * container booted for the iteration as usual.
+ *
+ * <p>
+ * The body is invoked {@link #operations()} times per benchmark iteration on each of the {@link #threads()}. The
+ * {@link #warmupIterations()} are discarded and the result of the measured {@link #iterations()} is logged: the operations
+ * per second, the mean and percentile latencies and the bytes allocated per operation.
+ *
+ * <p>
+ * The benchmark threads share the contexts active on the thread executing the iteration, unless
+ * {@link #activateContexts()} is set. The fixture methods and the parameter injection are performed once, on the thread
+ * executing the iteration. The iteration fails if any of the invocations fails.
+ *
+ * <p>
+ * All invocations share the mock controller of the iteration, so the feature must not declare interactions itself.
+ * Interactions declared by the fixture methods are verified once the benchmark finished.
+ *
+ * <p>
+ * On any method that is not a feature or on a feature for which Weld is not enabled, this annotation is simply ignored
+ * and has no effect. It must not be combined with {@link ConcurrentInvocations @ConcurrentInvocations}.
+ *
+ * @see EnableWeld
+ * @see org.jboss.weld.spock.impl.EnableWeldExtension
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+@Documented
+public @interface WeldBenchmark {
+    /**
+     * The number of benchmark iterations which are not measured.
+     *
+     * @return the number of warmup iterations
+     */
+    int warmupIterations() default 3;
+
+    /**
+     * The number of measured benchmark iterations.
+     *
+     * @return the number of measured iterations
+     */
+    int iterations() default 5;
+
+    /**
+     * The number of invocations per benchmark iteration and thread.
+     *
+     * @return the number of invocations per benchmark iteration and thread
+     */
+    int operations() default 10000;
+
+    /**
+     * The number of threads invoking the body concurrently.
+     *
+     * @return the number of threads
+     */
+    int threads() default 1;
+
+    /**
+     * Whether each benchmark thread gets a freshly activated request context and contexts of its own for the scopes
+     * activated through {@link WeldInitiator.Builder#activate(Class...)} or
+     * {@link org.jboss.weld.spock.auto.ActivateScopes @ActivateScopes} for each benchmark iteration.
+     *
+     * @return whether to activate fresh contexts for each benchmark iteration
+     */
+    boolean activateContexts() default false;
+}
@@ -38,6 +38,7 @@ import spock.config.ConfigurationObject;
  *   automagic true // default false
  *   scope SPECIFICATION // default ITERATION
  *   explicitParamInjection true // default false
+ *   recycleContainer true // default false, only for scope ITERATION
  * }
  * }</pre>
  *
@@ -50,4 +51,5 @@ public class WeldConfiguration {
     public boolean automagic = false;
     public Scope scope = ITERATION;
     public boolean explicitParamInjection = false;
+    public boolean recycleContainer = false;
 }
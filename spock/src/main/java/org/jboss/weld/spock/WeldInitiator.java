@@ -30,6 +30,10 @@ import jakarta.enterprise.inject.spi.InjectionPoint;
 import org.jboss.weld.environment.se.Weld;
 import org.jboss.weld.environment.se.WeldContainer;
 import org.jboss.weld.junit.AbstractWeldInitiator;
+import org.jboss.weld.junit.AsyncContainerShutdown;
+import org.jboss.weld.junit.ClassIndex;
+import org.jboss.weld.junit.ContainerProfile;
+import org.jboss.weld.junit.DeploymentFingerprint;
 
 /**
  * Weld initiator - can be used to customize the Weld SE container started by
@@ -199,7 +203,7 @@ public class WeldInitiator extends AbstractWeldInitiator {
         Weld weld = WeldInitiator.this.weld;
         if (weld == null) {
             // null in case of fromTestPackage() was used
-            weld = createWeld().addPackage(false, testInstance.getClass());
+            weld = ClassIndex.addPackage(createWeld(), false, testInstance.getClass());
         }
 
         return initWeldContainer(weld);
@@ -208,4 +212,57 @@ public class WeldInitiator extends AbstractWeldInitiator {
     public void shutdownWeld() {
         super.shutdownWeldContainer();
     }
+
+    public AsyncContainerShutdown.PendingShutdown shutdownWeldAsync(String owner) {
+        return super.shutdownWeldContainerAsync(owner);
+    }
+
+    /**
+     * Deactivates the contexts and releases the injected instances but keeps the container running, so that it can serve
+     * another iteration after {@link #resumeWeld()}.
+     */
+    public void suspendWeld() {
+        super.suspendWeldContainer();
+    }
+
+    /**
+     * Activates the contexts and injects the instances to inject into the suspended container again.
+     */
+    public void resumeWeld() {
+        super.resumeWeldContainer();
+    }
+
+    /**
+     * Records the configuration gathered by the builder into the given fingerprint, see
+     * {@link AbstractWeldInitiator#addConfigurationTo(DeploymentFingerprint)}.
+     *
+     * @param fingerprint
+     */
+    public void addConfigurationToFingerprint(DeploymentFingerprint fingerprint) {
+        addConfigurationTo(fingerprint);
+    }
+
+    /**
+     *
+     * @return the deactivation of the contexts activated on the current thread for one of many concurrent invocations
+     */
+    public Runnable activateConcurrentInvocationContexts() {
+        return activateContextsForConcurrentInvocation();
+    }
+
+    /**
+     *
+     * @param profile the profile of the feature or specification the container is used by, may be {@code null}
+     */
+    public void setProfile(ContainerProfile profile) {
+        setContainerProfile(profile);
+    }
+
+    /**
+     *
+     * @param testId the feature or specification the container is used by, may be {@code null}
+     */
+    public void setTestId(String testId) {
+        setCurrentTestId(testId);
+    }
 }
@@ -42,7 +42,7 @@ public interface WeldSpockEnricher {
      * {@link Weld#initialize()} and {@link WeldInitiator.Builder#build()} methods must never be invoked in an enricher!
      *
      * @param testInstance the test instance for which the enricher is called; this is {@code null}
-     *        if the enricher is called from a {@code SPECIFICATION} scoped interceptor of from a
+     *        if the enricher is called from a {@code SPECIFICATION} or {@code GLOBAL} scoped interceptor of from a
      *        {@code FEATURE} scoped interceptor of a data-driven feature
      * @param weld the weld instance to be customized
      * @param weldInitiatorBuilder the weld initiator builder to be customized
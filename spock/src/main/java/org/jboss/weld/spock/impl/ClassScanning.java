@@ -19,31 +19,22 @@ package org.jboss.weld.spock.impl;
 
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
-import static org.junit.platform.commons.support.AnnotationSupport.findAnnotatedFields;
-import static org.junit.platform.commons.support.AnnotationSupport.findAnnotatedMethods;
-import static org.junit.platform.commons.support.AnnotationSupport.isAnnotated;
-import static org.junit.platform.commons.support.HierarchyTraversalMode.BOTTOM_UP;
-import static org.junit.platform.commons.support.ReflectionSupport.findMethods;
 import static org.spockframework.util.Identifiers.CLEANUP_METHOD;
 import static org.spockframework.util.Identifiers.CLEANUP_SPEC_METHOD;
 import static org.spockframework.util.Identifiers.SETUP_METHOD;
 import static org.spockframework.util.Identifiers.SETUP_SPEC_METHOD;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import jakarta.decorator.Decorator;
@@ -52,12 +43,15 @@ import jakarta.enterprise.context.NormalScope;
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Produces;
 import jakarta.enterprise.inject.Stereotype;
-import jakarta.enterprise.inject.spi.Extension;
 import jakarta.inject.Inject;
 import jakarta.inject.Qualifier;
 import jakarta.interceptor.Interceptor;
 
 import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.junit.ClassGraphScanner;
+import org.jboss.weld.junit.ClassMetadata;
+import org.jboss.weld.junit.ClassScanningCache;
+import org.jboss.weld.junit.ScanResult;
 import org.jboss.weld.spock.auto.AddBeanClasses;
 import org.jboss.weld.spock.auto.AddEnabledDecorators;
 import org.jboss.weld.spock.auto.AddEnabledInterceptors;
@@ -67,9 +61,6 @@ import org.jboss.weld.spock.auto.EnableAlternativeStereotypes;
 import org.jboss.weld.spock.auto.EnableAlternatives;
 import org.jboss.weld.spock.auto.ExcludeBean;
 import org.jboss.weld.spock.auto.ExcludeBeanClasses;
-import org.junit.platform.commons.support.AnnotationSupport;
-import org.junit.platform.commons.util.CollectionUtils;
-import org.junit.platform.commons.util.Preconditions;
 import org.spockframework.runtime.model.FeatureMetadata;
 
 /**
@@ -78,146 +69,131 @@ import org.spockframework.runtime.model.FeatureMetadata;
  * @author Björn Kautler
  */
 class ClassScanning {
-    static void scanForRequiredBeanClasses(Class<?> testClass, Weld weld, boolean explicitInjection) {
-        List<Class<?>> classesToProcess = new ArrayList<>();
-        classesToProcess.add(testClass);
-
-        Set<Class<?>> foundClasses = new HashSet<>();
-        Set<Type> excludedBeanTypes = new HashSet<>();
-        Set<Class<?>> excludedBeanClasses = new HashSet<>();
-
-        while (!classesToProcess.isEmpty()) {
-            Class<?> currClass = classesToProcess.remove(0);
-
-            if (foundClasses.contains(currClass) ||
-                    excludedBeanTypes.contains(currClass) || excludedBeanClasses.contains(currClass) ||
-                    currClass.isPrimitive() || currClass.isSynthetic() ||
-                    currClass.getName().startsWith("java") || currClass.getName().startsWith("sun")) {
-                continue;
-            }
-
-            foundClasses.add(currClass);
-
-            findAnnotatedFields(currClass, ExcludeBean.class).stream()
-                    .map(Field::getType)
-                    .forEach(excludedBeanTypes::add);
-
-            findAnnotatedMethods(currClass, ExcludeBean.class, BOTTOM_UP).stream()
-                    .map(Method::getReturnType)
-                    .forEach(excludedBeanTypes::add);
-
-            findAnnotatedFields(currClass, Inject.class).stream()
-                    .map(ClassScanning::unwrapInstanceTypeParameter)
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findAnnotatedMethods(currClass, Inject.class, BOTTOM_UP).stream()
-                    .map(Method::getReturnType)
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findFirstAnnotatedConstructor(currClass, Inject.class)
-                    .map(Stream::of).orElseGet(Stream::empty)
-                    .flatMap(cons -> getExecutableParameterTypes(cons, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findAnnotatedDeclaredFields(currClass, Produces.class).stream()
-                    .map(Field::getType)
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findAnnotatedDeclaredMethods(currClass, Produces.class).stream()
-                    .flatMap(method -> Stream.concat(
-                            getExecutableParameterTypes(method, explicitInjection).stream(),
-                            Stream.of(method.getReturnType())))
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findAnnotatedMethods(currClass, FeatureMetadata.class, BOTTOM_UP).stream()
-                    .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findMethods(currClass, method -> SETUP_SPEC_METHOD.equals(method.getName()), BOTTOM_UP).stream()
-                    .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findMethods(currClass, method -> SETUP_METHOD.equals(method.getName()), BOTTOM_UP).stream()
-                    .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findMethods(currClass, method -> CLEANUP_METHOD.equals(method.getName()), BOTTOM_UP).stream()
-                    .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            findMethods(currClass, method -> CLEANUP_SPEC_METHOD.equals(method.getName()), BOTTOM_UP).stream()
-                    .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
-                    .forEach(cls -> addClassesToProcess(classesToProcess, cls));
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, AddPackages.class)
-                    .forEach(ann -> stream(ann.value())
-                            .distinct()
-                            .forEach(cls -> weld.addPackage(ann.recursively(), cls)));
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, AddBeanClasses.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(it -> {
-                        classesToProcess.add(it);
-                        weld.addBeanClass(it);
-                    });
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, AddExtensions.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .map(ClassScanning::createExtension)
-                    .forEach(weld::addExtension);
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, AddEnabledInterceptors.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(interceptor -> {
-                        classesToProcess.add(interceptor);
-                        weld.addInterceptor(interceptor);
-                        weld.addBeanClass(interceptor);
-                    });
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, AddEnabledDecorators.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(decorator -> {
-                        classesToProcess.add(decorator);
-                        weld.addDecorator(decorator);
-                        weld.addBeanClass(decorator);
-                    });
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, EnableAlternatives.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(weld::addAlternative);
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, EnableAlternativeStereotypes.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(weld::addAlternativeStereotype);
-
-            AnnotationSupport.findRepeatableAnnotations(currClass, ExcludeBeanClasses.class).stream()
-                    .flatMap(ann -> stream(ann.value()))
-                    .distinct()
-                    .forEach(excludedBeanClasses::add);
-        }
-
-        for (Class<?> foundClass : foundClasses) {
-            if (hasBeanDefiningAnnotation(foundClass)) {
-                weld.addBeanClass(foundClass);
-            }
+    private static final Set<String> FIXTURE_METHOD_NAMES = Set.of(SETUP_SPEC_METHOD, SETUP_METHOD, CLEANUP_METHOD,
+            CLEANUP_SPEC_METHOD);
+
+    static ScanResult scanForRequiredBeanClasses(Class<?> testClass, Weld weld, boolean explicitInjection) {
+        ScanResult result = ClassScanningCache.getOrScan("spock", List.of(testClass), explicitInjection,
+                () -> scan(testClass, explicitInjection));
+
+        result.applyTo(weld);
+        weld.addExtension(new ExcludedBeansExtension(new HashSet<>(result.getExcludedBeanTypes()),
+                new HashSet<>(result.getExcludedBeanClasses())));
+        return result;
+    }
+
+    private static ScanResult scan(Class<?> testClass, boolean explicitInjection) {
+        return ClassGraphScanner.scan(List.of(testClass),
+                (currClass, result, classesToProcess) -> visit(currClass, explicitInjection, result, classesToProcess));
+    }
+
+    private static void visit(Class<?> currClass, boolean explicitInjection, ScanResult result,
+            Consumer<Class<?>> classesToProcess) {
+        ClassMetadata metadata = ClassMetadata.of(currClass);
+
+        metadata.getFields(ExcludeBean.class).stream()
+                .map(Field::getType)
+                .forEach(result::addExcludedBeanType);
+
+        metadata.getMethods(ExcludeBean.class).stream()
+                .map(Method::getReturnType)
+                .forEach(result::addExcludedBeanType);
+
+        metadata.getFields(Inject.class).stream()
+                .map(ClassScanning::unwrapInstanceTypeParameter)
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.getMethods(Inject.class).stream()
+                .map(Method::getReturnType)
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.findFirstConstructor(Inject.class)
+                .map(Stream::of).orElseGet(Stream::empty)
+                .flatMap(cons -> getExecutableParameterTypes(cons, explicitInjection).stream())
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.getDeclaredFields(Produces.class).stream()
+                .map(Field::getType)
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.getDeclaredMethods(Produces.class).stream()
+                .flatMap(method -> Stream.concat(
+                        getExecutableParameterTypes(method, explicitInjection).stream(),
+                        Stream.of(method.getReturnType())))
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.getMethods(FeatureMetadata.class).stream()
+                .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.getMethods().stream()
+                .filter(method -> FIXTURE_METHOD_NAMES.contains(method.getName()))
+                .flatMap(method -> getExecutableParameterTypes(method, explicitInjection).stream())
+                .forEach(cls -> addClassesToProcess(classesToProcess, cls));
+
+        metadata.getRepeatableAnnotations(AddPackages.class)
+                .forEach(ann -> stream(ann.value())
+                        .distinct()
+                        .forEach(cls -> result.addPackage(ann.recursively(), cls)));
+
+        metadata.getRepeatableAnnotations(AddBeanClasses.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(it -> {
+                    classesToProcess.accept(it);
+                    result.addBeanClass(it);
+                });
+
+        metadata.getRepeatableAnnotations(AddExtensions.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(result::addExtension);
+
+        metadata.getRepeatableAnnotations(AddEnabledInterceptors.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(interceptor -> {
+                    classesToProcess.accept(interceptor);
+                    result.addInterceptor(interceptor);
+                    result.addBeanClass(interceptor);
+                });
+
+        metadata.getRepeatableAnnotations(AddEnabledDecorators.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(decorator -> {
+                    classesToProcess.accept(decorator);
+                    result.addDecorator(decorator);
+                    result.addBeanClass(decorator);
+                });
+
+        metadata.getRepeatableAnnotations(EnableAlternatives.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(result::addAlternative);
+
+        metadata.getRepeatableAnnotations(EnableAlternativeStereotypes.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(result::addAlternativeStereotype);
+
+        metadata.getRepeatableAnnotations(ExcludeBeanClasses.class).stream()
+                .flatMap(ann -> stream(ann.value()))
+                .distinct()
+                .forEach(result::addExcludedBeanClass);
+
+        if (hasBeanDefiningAnnotation(currClass)) {
+            result.addBeanClass(currClass);
         }
-
-        weld.addExtension(new ExcludedBeansExtension(excludedBeanTypes, excludedBeanClasses));
     }
 
-    private static void addClassesToProcess(Collection<Class<?>> classesToProcess, Type type) {
+    private static void addClassesToProcess(Consumer<Class<?>> classesToProcess, Type type) {
         if (type instanceof Class) {
-            classesToProcess.add((Class<?>) type);
+            classesToProcess.accept((Class<?>) type);
         } else if (type instanceof ParameterizedType) {
             ParameterizedType ptype = (ParameterizedType) type;
 
-            classesToProcess.add((Class<?>) ptype.getRawType());
+            classesToProcess.accept((Class<?>) ptype.getRawType());
 
             for (Type arg : ptype.getActualTypeArguments()) {
                 addClassesToProcess(classesToProcess, arg);
@@ -243,88 +219,15 @@ class ClassScanning {
         return types;
     }
 
-    private static Extension createExtension(Class<? extends Extension> clazz) {
-        try {
-            return clazz.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     private static boolean isBeanParameterAnnotation(Annotation ann) {
-        return isAnnotated(ann.annotationType(), Qualifier.class);
+        return ClassMetadata.of(ann.annotationType()).isAnnotated(Qualifier.class);
     }
 
     private static boolean hasBeanDefiningAnnotation(Class<?> clazz) {
-        return isAnnotated(clazz, NormalScope.class) || isAnnotated(clazz, Dependent.class) ||
-                isAnnotated(clazz, Interceptor.class) || isAnnotated(clazz, Decorator.class) ||
-                isAnnotated(clazz, Stereotype.class);
-    }
-
-    private static List<Field> findAllFieldsInHierarchy(Class<?> clazz) {
-        Preconditions.notNull(clazz, "Class must not be null");
-        List<Field> localFields = getDeclaredFields(clazz).stream().filter((field) -> !field.isSynthetic())
-                .collect(Collectors.toList());
-        List<Field> superclassFields = getSuperclassFields(clazz).stream()
-                .filter((field) -> !isMethodShadowedByLocalFields(field, localFields))
-                .collect(Collectors.toList());
-        List<Field> methods = new ArrayList<>();
-        methods.addAll(superclassFields);
-        methods.addAll(localFields);
-
-        return methods;
-    }
-
-    private static List<Field> getSuperclassFields(Class<?> clazz) {
-        Class<?> superclass = clazz.getSuperclass();
-        return superclass != null && superclass != Object.class ? findAllFieldsInHierarchy(superclass)
-                : Collections.emptyList();
-    }
-
-    private static List<Field> getDeclaredFields(Class<?> clazz) {
-        return asList(clazz.getDeclaredFields());
-    }
-
-    private static List<Method> getDeclaredMethods(Class<?> clazz) {
-        return asList(clazz.getDeclaredMethods());
-    }
-
-    private static boolean isMethodShadowedByLocalFields(Field field, List<Field> localFields) {
-        return localFields.stream()
-                .anyMatch((local) -> isFieldShadowedBy(field, local));
-    }
-
-    private static boolean isFieldShadowedBy(Field upper, Field lower) {
-        return upper.getType().equals(lower.getType());
-    }
-
-    private static List<Field> findAnnotatedDeclaredFields(Class<?> clazz, Class<? extends Annotation> annotationType) {
-        return getDeclaredFields(clazz).stream()
-                .filter((field) -> isAnnotated(field, annotationType))
-                .collect(CollectionUtils.toUnmodifiableList());
-    }
-
-    private static List<Method> findAnnotatedDeclaredMethods(Class<?> clazz, Class<? extends Annotation> annotationType) {
-        return getDeclaredMethods(clazz).stream()
-                .filter((field) -> isAnnotated(field, annotationType))
-                .collect(CollectionUtils.toUnmodifiableList());
-    }
-
-    private static List<Constructor<?>> getDeclaredConstructors(Class<?> clazz) {
-        return asList(clazz.getDeclaredConstructors());
-    }
-
-    private static Optional<Constructor<?>> findFirstAnnotatedConstructor(Class<?> clazz,
-            Class<? extends Annotation> annotationType) {
-        Optional<Constructor<?>> found = getDeclaredConstructors(clazz).stream()
-                .filter((cons) -> isAnnotated(cons, annotationType))
-                .findFirst();
-
-        if (found.isPresent() || clazz.getSuperclass() == null) {
-            return found;
-        }
-
-        return findFirstAnnotatedConstructor(clazz.getSuperclass(), annotationType);
+        ClassMetadata metadata = ClassMetadata.of(clazz);
+        return metadata.isAnnotated(NormalScope.class) || metadata.isAnnotated(Dependent.class) ||
+                metadata.isAnnotated(Interceptor.class) || metadata.isAnnotated(Decorator.class) ||
+                metadata.isAnnotated(Stereotype.class);
     }
 
     private static Class<?> unwrapInstanceTypeParameter(Field field) {
@@ -22,10 +22,22 @@ import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.weld.spock.impl.ClassScanning.scanForRequiredBeanClasses;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.util.Arrays;
 import java.util.List;
 
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Produces;
+
 import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.junit.ContainerEvents;
+import org.jboss.weld.junit.ContainerProfile;
+import org.jboss.weld.junit.DeploymentFingerprint;
+import org.jboss.weld.junit.ScanResult;
 import org.jboss.weld.spock.EnableWeld;
 import org.jboss.weld.spock.WeldInitiator;
 import org.jboss.weld.spock.WeldSetup;
@@ -86,7 +98,8 @@ class EnableWeldAutoInterceptor extends EnableWeldInterceptor {
     }
 
     @Override
-    protected WeldInitiator weldInit(IMethodInvocation invocation) {
+    protected WeldInitiator weldInit(IMethodInvocation invocation, ContainerProfile profile,
+            DeploymentFingerprint fingerprint) {
         Specification testInstance = (Specification) invocation.getInstance();
 
         SpecInfo spec = invocation.getSpec();
@@ -109,10 +122,23 @@ class EnableWeldAutoInterceptor extends EnableWeldInterceptor {
         Weld weld = WeldInitiator.createWeld();
         WeldInitiator.Builder builder = WeldInitiator.from(weld);
 
-        scanForRequiredBeanClasses(spec.getReflection(), weld, explicitParamInjection);
+        ScanResult scanResult = ContainerProfile.call(profile, ContainerProfile.Phase.CLASS_SCANNING,
+                () -> ContainerEvents.scanClasses(getOwner(invocation),
+                        () -> scanForRequiredBeanClasses(spec.getReflection(), weld, explicitParamInjection)));
+        if (fingerprint != null) {
+            fingerprint.add(DeploymentFingerprint.OPTION, getClass().getName());
+            scanResult.addTo(fingerprint);
+        }
 
-        weld.addBeanClasses(spec.getReflection());
-        weld.addExtension(new TestInstanceInjectionExtension<>(testInstance));
+        // A shared or recycled container can serve other specifications or iterations as long as the specification is not
+        // needed as a bean, the specification instances are then only injected non-contextually
+        if ((fingerprint == null) || isBeanRequiredForSpec(spec.getReflection())) {
+            weld.addBeanClasses(spec.getReflection());
+            weld.addExtension(new TestInstanceInjectionExtension<>(testInstance));
+            if (fingerprint != null) {
+                fingerprint.markNotReusable();
+            }
+        }
 
         spec
                 .getSpecsBottomToTop()
@@ -124,13 +150,50 @@ class EnableWeldAutoInterceptor extends EnableWeldInterceptor {
                 .forEach(builder::activate);
 
         // Apply discovered enrichers
-        for (WeldSpockEnricher enricher : weldSpockEnrichers) {
-            String property = System.getProperty(enricher.getClass().getName());
-            if (property == null || Boolean.parseBoolean(property)) {
-                enricher.enrich((testInstance == invocation.getSharedInstance()) ? null : testInstance, weld, builder);
+        ContainerProfile.run(profile, ContainerProfile.Phase.ENRICHMENT, () -> {
+            for (WeldSpockEnricher enricher : weldSpockEnrichers) {
+                String property = System.getProperty(enricher.getClass().getName());
+                if (property == null || Boolean.parseBoolean(property)) {
+                    // a shared or recycled container is enriched without a specification instance, so the contribution
+                    // of an enricher does not depend on the specification
+                    enricher.enrich(((testInstance == invocation.getSharedInstance()) || (fingerprint != null)) ? null
+                            : testInstance, weld, builder);
+                    if (fingerprint != null) {
+                        fingerprint.add(DeploymentFingerprint.ENRICHER, enricher.getClass());
+                    }
+                }
             }
+        });
+
+        WeldInitiator weldInitiator = builder.build();
+        if (fingerprint != null) {
+            weldInitiator.addConfigurationToFingerprint(fingerprint);
         }
+        return weldInitiator;
+    }
 
-        return builder.build();
+    /**
+     * The specification has to be a bean if it declares producers, disposers or observers.
+     */
+    private static boolean isBeanRequiredForSpec(Class<?> specClass) {
+        for (Class<?> clazz = specClass; (clazz != null) && (clazz != Specification.class); clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Produces.class)) {
+                    return true;
+                }
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Produces.class)) {
+                    return true;
+                }
+                for (Parameter parameter : method.getParameters()) {
+                    if (parameter.isAnnotationPresent(Observes.class) || parameter.isAnnotationPresent(ObservesAsync.class)
+                            || parameter.isAnnotationPresent(Disposes.class)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
     }
 }
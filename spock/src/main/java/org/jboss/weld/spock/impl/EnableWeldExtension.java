@@ -18,17 +18,25 @@
 package org.jboss.weld.spock.impl;
 
 import static org.jboss.weld.spock.EnableWeld.Scope.FEATURE;
+import static org.jboss.weld.spock.EnableWeld.Scope.GLOBAL;
 import static org.jboss.weld.spock.EnableWeld.Scope.ITERATION;
 import static org.jboss.weld.spock.EnableWeld.Scope.SPECIFICATION;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Stream;
 
+import org.jboss.weld.junit.AsyncContainerShutdown;
+import org.jboss.weld.junit.BenchmarkRunner;
+import org.jboss.weld.spock.ConcurrentInvocations;
 import org.jboss.weld.spock.DisableWeld;
 import org.jboss.weld.spock.EnableWeld;
 import org.jboss.weld.spock.EnableWeld.Scope;
+import org.jboss.weld.spock.WeldBenchmark;
 import org.jboss.weld.spock.WeldConfiguration;
 import org.jboss.weld.spock.WeldSpockEnricher;
 import org.jboss.weld.util.collections.ImmutableList;
@@ -37,6 +45,7 @@ import org.spockframework.runtime.extension.IGlobalExtension;
 import org.spockframework.runtime.model.FeatureInfo;
 import org.spockframework.runtime.model.MethodInfo;
 import org.spockframework.runtime.model.SpecInfo;
+import org.spockframework.runtime.model.parallel.ResourceAccessMode;
 
 import spock.lang.Shared;
 
@@ -47,9 +56,9 @@ import spock.lang.Shared;
  * <p>
  * If a feature has an {@code @EnableWeld} or {@code @DisableWeld} annotation applied, this is what is effective.
  * If Weld is disabled, no container will be started for the feature or the iterations and no non-{@link Shared @Shared}
- * fields, or method parameters will be injected. However, if a for the specification a {@code SPECIFICATION} scoped
- * Weld was booted due to annotation or configuration file options, this container will have injected instances into
- * the {@code @Shared} fields already.
+ * fields, or method parameters will be injected. However, if a for the specification a {@code SPECIFICATION} or
+ * {@code GLOBAL} scoped Weld was booted due to annotation or configuration file options, this container will have
+ * injected instances into the {@code @Shared} fields already.
  *
  * <p>
  * If a feature has neither of the two annotations applied, the configuration of the specification is inherited.
@@ -57,8 +66,8 @@ import spock.lang.Shared;
  * <p>
  * If a specification has an {@code @EnableWeld} or {@code @DisableWeld} annotation applied, this is effective for
  * all features that do not have an own annotation. It will have the same effect as if the annotation is copied to all
- * features that have none of the two annotations already, except if scope {@code SPECIFICATION} is selected, as this
- * is only valid in a specification level annotation or the Spock configuration file.
+ * features that have none of the two annotations already, except if scope {@code SPECIFICATION} or {@code GLOBAL} is
+ * selected, as these are only valid in a specification level annotation or the Spock configuration file.
  *
  * <p>
  * If a specification has neither of the two annotations applied, the super specifications are searched in order
@@ -74,8 +83,13 @@ import spock.lang.Shared;
  * @see WeldConfiguration
  */
 public class EnableWeldExtension implements IGlobalExtension {
+    private static final Logger LOGGER = Logger.getLogger(EnableWeldExtension.class.getName());
+    // the key of the lock which @Isolated acquires exclusively
+    private static final String ISOLATED_LOCK = "org.junit.platform.engine.support.hierarchical.ExclusiveResource.GLOBAL_KEY";
+
     private final WeldConfiguration weldConfiguration;
     private volatile List<WeldSpockEnricher> weldSpockEnrichers;
+    private volatile GlobalContainers globalContainers;
 
     public EnableWeldExtension(WeldConfiguration weldConfiguration) {
         this.weldConfiguration = weldConfiguration;
@@ -86,10 +100,49 @@ public class EnableWeldExtension implements IGlobalExtension {
         ImmutableList.Builder<WeldSpockEnricher> enrichers = ImmutableList.builder();
         ServiceLoader.load(WeldSpockEnricher.class).forEach(enrichers::add);
         weldSpockEnrichers = enrichers.build();
+        globalContainers = new GlobalContainers();
+    }
+
+    @Override
+    public void stop() {
+        globalContainers.close();
+        // the failures of these shutdowns cannot be attributed to a specification anymore
+        try {
+            AsyncContainerShutdown.awaitAll();
+        } catch (IllegalStateException e) {
+            LOGGER.log(Level.WARNING, "Unable to shut down Weld container", e);
+        }
     }
 
     @Override
     public void visitSpec(SpecInfo spec) {
+        // an isolated specification expects its own containers to be the only ones running, e.g. for
+        // WeldContainer.current(), and as it runs alone, all containers of the pool are idle at that time
+        spec.addInterceptor(invocation -> {
+            if (isIsolated(invocation.getSpec())) {
+                globalContainers.shutdownIdle();
+            }
+            invocation.proceed();
+        });
+
+        // await the containers shut down asynchronously for this specification, so that failures are reported for it
+        List<EnableWeldInterceptor> enableWeldInterceptors = new ArrayList<>();
+        if (AsyncContainerShutdown.isEnabled()) {
+            spec.addInterceptor(invocation -> {
+                try {
+                    invocation.proceed();
+                } catch (Throwable t) {
+                    try {
+                        awaitPendingShutdowns(enableWeldInterceptors);
+                    } catch (IllegalStateException e) {
+                        t.addSuppressed(e);
+                    }
+                    throw t;
+                }
+                awaitPendingShutdowns(enableWeldInterceptors);
+            });
+        }
+
         Optional<SpecInfo> optionalAnnotatedSpec = spec
                 .getSpecsBottomToTop()
                 .stream()
@@ -101,6 +154,7 @@ public class EnableWeldExtension implements IGlobalExtension {
         boolean specAutomagic;
         Scope specScope;
         boolean specExplicitParamInjection;
+        boolean specRecycleContainer;
         if (optionalAnnotatedSpec.isPresent()) {
             SpecInfo annotatedSpec = optionalAnnotatedSpec.get();
             EnableWeld enableWeld = annotatedSpec.getAnnotation(EnableWeld.class);
@@ -117,26 +171,39 @@ public class EnableWeldExtension implements IGlobalExtension {
                 specAutomagic = enableWeld.automagic();
                 specScope = enableWeld.scope();
                 specExplicitParamInjection = enableWeld.explicitParamInjection();
+                specRecycleContainer = enableWeld.recycleContainer();
             } else {
                 doEnableWeldForSpec = false;
                 specAutomagic = false;
                 specScope = null;
                 specExplicitParamInjection = false;
+                specRecycleContainer = false;
             }
         } else {
             doEnableWeldForSpec = weldConfiguration.enabled;
             specAutomagic = weldConfiguration.automagic;
             specScope = weldConfiguration.scope == null ? ITERATION : weldConfiguration.scope;
             specExplicitParamInjection = weldConfiguration.explicitParamInjection;
+            specRecycleContainer = weldConfiguration.recycleContainer;
+        }
+
+        if (doEnableWeldForSpec && specRecycleContainer && (specScope != ITERATION)) {
+            throw new InvalidSpecException("Containers can only be recycled with scope ITERATION, but scope " + specScope
+                    + " is configured for spec: " + spec.getDisplayName());
         }
 
         // boot Weld around specification and inject shared fields
         EnableWeldInterceptor enableWeldInterceptorForSpec;
-        if (doEnableWeldForSpec && (specScope == SPECIFICATION)) {
+        if (doEnableWeldForSpec && ((specScope == SPECIFICATION) || (specScope == GLOBAL))) {
             enableWeldInterceptorForSpec = specAutomagic
                     ? new EnableWeldAutoInterceptor(weldSpockEnrichers, specExplicitParamInjection)
                     : new EnableWeldManualInterceptor(weldSpockEnrichers);
+            if (specScope == GLOBAL) {
+                // take a running container with the same deployment from the pool shared by all specifications
+                enableWeldInterceptorForSpec.shareContainers(globalContainers);
+            }
             spec.addInterceptor(enableWeldInterceptorForSpec);
+            enableWeldInterceptors.add(enableWeldInterceptorForSpec);
 
             // inject parameters for specification fixture methods
             Stream
@@ -152,11 +219,22 @@ public class EnableWeldExtension implements IGlobalExtension {
         spec
                 .getAllFeatures()
                 .forEach(feature -> visitFeature(feature, doEnableWeldForSpec, specAutomagic, specScope,
-                        specExplicitParamInjection, enableWeldInterceptorForSpec));
+                        specExplicitParamInjection, specRecycleContainer, enableWeldInterceptorForSpec,
+                        enableWeldInterceptors));
+    }
+
+    private static boolean isIsolated(SpecInfo spec) {
+        return spec
+                .getBottomSpec()
+                .getExclusiveResources()
+                .stream()
+                .anyMatch(resource -> ISOLATED_LOCK.equals(resource.getKey())
+                        && (resource.getMode() == ResourceAccessMode.READ_WRITE));
     }
 
     private void visitFeature(FeatureInfo feature, boolean doEnableWeldForSpec, boolean specAutomagic, Scope specScope,
-            boolean specExplicitParamInjection, EnableWeldInterceptor enableWeldInterceptorForSpec) {
+            boolean specExplicitParamInjection, boolean specRecycleContainer,
+            EnableWeldInterceptor enableWeldInterceptorForSpec, List<EnableWeldInterceptor> enableWeldInterceptors) {
         MethodInfo featureMethod = feature.getFeatureMethod();
         EnableWeld enableWeld = featureMethod.getAnnotation(EnableWeld.class);
         boolean enableWeldForFeature = enableWeld != null;
@@ -171,6 +249,7 @@ public class EnableWeldExtension implements IGlobalExtension {
         boolean featureAutomagic;
         Scope featureScope;
         boolean featureExplicitParamInjection;
+        boolean featureRecycleContainer;
         if (enableWeldForFeature) {
             doEnableWeldForFeature = true;
             featureAutomagic = enableWeld.automagic();
@@ -180,16 +259,23 @@ public class EnableWeldExtension implements IGlobalExtension {
                         + feature.getDisplayName());
             }
             featureExplicitParamInjection = enableWeld.explicitParamInjection();
+            featureRecycleContainer = enableWeld.recycleContainer();
+            if (featureRecycleContainer && (featureScope != ITERATION)) {
+                throw new InvalidSpecException("Containers can only be recycled with scope ITERATION, but scope "
+                        + featureScope + " is configured for feature: " + feature.getDisplayName());
+            }
         } else if (disableWeldForFeature) {
             doEnableWeldForFeature = false;
             featureAutomagic = false;
             featureScope = null;
             featureExplicitParamInjection = false;
+            featureRecycleContainer = false;
         } else {
             doEnableWeldForFeature = doEnableWeldForSpec;
             featureAutomagic = specAutomagic;
             featureScope = specScope;
             featureExplicitParamInjection = specExplicitParamInjection;
+            featureRecycleContainer = specRecycleContainer;
         }
 
         if (doEnableWeldForFeature) {
@@ -198,6 +284,7 @@ public class EnableWeldExtension implements IGlobalExtension {
             // boot Weld around feature or iteration and inject shared fields
             switch (featureScope) {
                 case SPECIFICATION:
+                case GLOBAL:
                     enableWeldInterceptorForFeature = enableWeldInterceptorForSpec;
                     enableWeldInterceptorForFeature.handleFeature(feature);
                     break;
@@ -208,6 +295,7 @@ public class EnableWeldExtension implements IGlobalExtension {
                             : new EnableWeldManualInterceptor(weldSpockEnrichers);
                     enableWeldInterceptorForFeature.handleFeature(feature);
                     feature.addInterceptor(enableWeldInterceptorForFeature);
+                    enableWeldInterceptors.add(enableWeldInterceptorForFeature);
                     break;
 
                 case ITERATION:
@@ -215,7 +303,13 @@ public class EnableWeldExtension implements IGlobalExtension {
                             ? new EnableWeldAutoInterceptor(weldSpockEnrichers, featureExplicitParamInjection)
                             : new EnableWeldManualInterceptor(weldSpockEnrichers);
                     enableWeldInterceptorForFeature.handleFeature(feature);
+                    if (featureRecycleContainer) {
+                        // the containers are suspended between the iterations and shut down after the feature
+                        enableWeldInterceptorForFeature.recycleContainers();
+                        feature.addInterceptor(enableWeldInterceptorForFeature.getRecycledContainersShutdown());
+                    }
                     feature.addIterationInterceptor(enableWeldInterceptorForFeature);
+                    enableWeldInterceptors.add(enableWeldInterceptorForFeature);
                     break;
 
                 default:
@@ -234,16 +328,61 @@ public class EnableWeldExtension implements IGlobalExtension {
                     .build()
                     .forEach(method -> attachParameterInjector(method, enableWeldInterceptorForFeature,
                             featureExplicitParamInjection));
+
+            // run the feature method concurrently, after its parameters were injected
+            ConcurrentInvocations concurrentInvocations = featureMethod.getAnnotation(ConcurrentInvocations.class);
+            if (concurrentInvocations != null) {
+                if (concurrentInvocations.value() < 1) {
+                    throw new InvalidSpecException("@ConcurrentInvocations must have a positive value on feature: "
+                            + feature.getDisplayName());
+                }
+                featureMethod.addInterceptor(enableWeldInterceptorForFeature.getConcurrentInvoker(
+                        concurrentInvocations.value()));
+            }
+
+            // benchmark the feature method, after its parameters were injected
+            WeldBenchmark weldBenchmark = featureMethod.getAnnotation(WeldBenchmark.class);
+            if (weldBenchmark != null) {
+                if (concurrentInvocations != null) {
+                    throw new InvalidSpecException("@ConcurrentInvocations and @WeldBenchmark must not be used on the "
+                            + "same feature: " + feature.getDisplayName());
+                }
+                BenchmarkRunner benchmarkRunner;
+                try {
+                    benchmarkRunner = new BenchmarkRunner(weldBenchmark.warmupIterations(), weldBenchmark.iterations(),
+                            weldBenchmark.operations(), weldBenchmark.threads(), weldBenchmark.activateContexts());
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidSpecException(e.getMessage() + " on feature: " + feature.getDisplayName());
+                }
+                featureMethod.addInterceptor(enableWeldInterceptorForFeature.getBenchmarkRunner(benchmarkRunner));
+            }
+        }
+    }
+
+    private static void awaitPendingShutdowns(List<EnableWeldInterceptor> enableWeldInterceptors) {
+        IllegalStateException failure = null;
+        for (EnableWeldInterceptor enableWeldInterceptor : enableWeldInterceptors) {
+            try {
+                enableWeldInterceptor.awaitPendingShutdowns();
+            } catch (IllegalStateException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
     }
 
     private void attachParameterInjector(MethodInfo method, EnableWeldInterceptor enableWeldInterceptor,
             boolean explicitParamInjection) {
-        int amountOfParameters = method.getReflection().getParameters().length;
-        int amountOfDataVariables = method.getFeature() == null ? 0 : method.getFeature().getDataVariables().size();
+        InjectionPlan injectionPlan = InjectionPlan.of(method);
         // only attach if there could be injectable arguments
-        if (amountOfParameters > amountOfDataVariables) {
-            method.addInterceptor(enableWeldInterceptor.getParameterInjector(explicitParamInjection));
+        if (injectionPlan != null) {
+            method.addInterceptor(enableWeldInterceptor.getParameterInjector(injectionPlan, explicitParamInjection));
         }
     }
 }
@@ -17,26 +17,38 @@
 
 package org.jboss.weld.spock.impl;
 
-import static java.util.Collections.synchronizedMap;
-import static java.util.stream.Collectors.toList;
-import static org.spockframework.runtime.model.MethodInfo.MISSING_ARGUMENT;
-
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Parameter;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.Instance;
 
-import org.jboss.weld.inject.WeldInstance;
+import org.jboss.weld.junit.AsyncContainerShutdown;
+import org.jboss.weld.junit.AsyncContainerShutdown.PendingShutdowns;
+import org.jboss.weld.junit.BenchmarkResult;
+import org.jboss.weld.junit.BenchmarkRunner;
+import org.jboss.weld.junit.ConcurrentInvoker;
+import org.jboss.weld.junit.ContainerProfile;
+import org.jboss.weld.junit.ContainerProfiler;
+import org.jboss.weld.junit.DeploymentFingerprint;
 import org.jboss.weld.spock.WeldInitiator;
 import org.jboss.weld.spock.WeldSpockEnricher;
+import org.spockframework.mock.runtime.MockController;
 import org.spockframework.runtime.extension.IMethodInterceptor;
 import org.spockframework.runtime.extension.IMethodInvocation;
 import org.spockframework.runtime.model.FeatureInfo;
+import org.spockframework.runtime.model.IterationInfo;
+
+import spock.lang.Specification;
 
 /**
  * A Spock interceptor, that serves as base for the manual and automatic interceptors and has the common logic.
@@ -48,38 +60,332 @@ import org.spockframework.runtime.model.FeatureInfo;
  * @author Björn Kautler
  */
 abstract class EnableWeldInterceptor implements IMethodInterceptor {
+    private static final Logger LOGGER = Logger.getLogger(EnableWeldInterceptor.class.getName());
+
     protected final List<WeldSpockEnricher> weldSpockEnrichers;
-    private final Map<Object, WeldInitiator> weldInitiators = synchronizedMap(new WeakHashMap<>());
-    private final List<FeatureInfo> handledFeatures = new CopyOnWriteArrayList<>();
+    // the initiator of a specification or feature scoped interceptor, which serves all iterations
+    private volatile WeldInitiator sharedWeldInitiator;
+    // the initiators of an iteration scoped interceptor, keyed by the identity of the running iterations
+    private final Map<IterationInfo, WeldInitiator> iterationWeldInitiators = new ConcurrentHashMap<>();
+    // the idle containers of an iteration scoped interceptor recycling its containers, null if they are not recycled
+    private volatile Deque<WeldInitiator> idleWeldInitiators;
+    private final Queue<WeldInitiator> recycledWeldInitiators = new ConcurrentLinkedQueue<>();
+    // the dependent objects injected into method parameters of the running iterations of recycled containers
+    private final Map<IterationInfo, Collection<Instance.Handle<?>>> iterationDependents = new ConcurrentHashMap<>();
+    // the pool of a GLOBAL scoped interceptor, null if containers are not shared between specifications
+    private volatile GlobalContainers globalContainers;
+    private final Set<FeatureInfo> handledFeatures = ConcurrentHashMap.newKeySet();
+    private final List<InjectionPlan> injectionPlans = new CopyOnWriteArrayList<>();
+    private final PendingShutdowns pendingShutdowns = new PendingShutdowns();
 
     public EnableWeldInterceptor(List<WeldSpockEnricher> weldSpockEnrichers) {
         this.weldSpockEnrichers = weldSpockEnrichers;
     }
 
-    protected abstract WeldInitiator weldInit(IMethodInvocation invocation);
+    /**
+     *
+     * @param invocation
+     * @param profile the profile to record class scanning and enrichment to, may be {@code null}
+     * @param fingerprint records every contribution to the deployment, may be {@code null}
+     * @return the initiator
+     */
+    protected abstract WeldInitiator weldInit(IMethodInvocation invocation, ContainerProfile profile,
+            DeploymentFingerprint fingerprint);
+
+    /**
+     * Called before a recycled container serves another iteration, e.g. to make its initiator visible to the test instance.
+     *
+     * @param invocation the invocation of the iteration
+     * @param weldInitiator the initiator of the recycled container
+     */
+    protected void recycle(IMethodInvocation invocation, WeldInitiator weldInitiator) {
+    }
+
+    /**
+     * Whether a container may serve further iterations of the feature, i.e. its deployment does not depend on the
+     * specification instance of the iteration it was booted for.
+     *
+     * @param fingerprint the fingerprint of the deployment of the container
+     * @return <code>true</code> if the container may be recycled, <code>false</code> if it has to be shut down after the
+     *         iteration
+     */
+    protected boolean isRecyclable(DeploymentFingerprint fingerprint) {
+        return fingerprint.isReusable();
+    }
+
+    /**
+     * Makes this iteration scoped interceptor recycle its containers, which must then be shut down by the
+     * {@link #getRecycledContainersShutdown()} interceptor around the feature.
+     */
+    public void recycleContainers() {
+        idleWeldInitiators = new ConcurrentLinkedDeque<>();
+    }
+
+    /**
+     * Makes this specification scoped interceptor take its containers from the given pool and return them to it.
+     *
+     * @param globalContainers
+     * @see org.jboss.weld.spock.EnableWeld.Scope#GLOBAL
+     */
+    void shareContainers(GlobalContainers globalContainers) {
+        this.globalContainers = globalContainers;
+    }
 
     @Override
     public void intercept(IMethodInvocation invocation) throws Throwable {
-        WeldInitiator weldInitiator = weldInit(invocation);
-        weldInitiator.addObjectToInjectInto(invocation.getSharedInstance());
-        weldInitiator.initWeld(invocation.getInstance());
+        if (globalContainers != null) {
+            interceptGlobal(invocation);
+            return;
+        }
+        if (idleWeldInitiators != null && invocation.getIteration() != null) {
+            interceptRecycling(invocation);
+            return;
+        }
+        ContainerProfile profile = ContainerProfiler.start(getOwner(invocation));
         try {
-            Object id = (invocation.getIteration() == null) ? null : invocation.getInstance();
-            weldInitiators.put(id, weldInitiator);
-            invocation.proceed();
+            WeldInitiator weldInitiator = weldInit(invocation, profile, null);
+            weldInitiator.setProfile(profile);
+            weldInitiator.setTestId(getOwner(invocation));
+            weldInitiator.addObjectToInjectInto(invocation.getSharedInstance());
+            weldInitiator.initWeld(invocation.getInstance());
+            IterationInfo iteration = invocation.getIteration();
+            try {
+                if (iteration == null) {
+                    sharedWeldInitiator = weldInitiator;
+                } else {
+                    iterationWeldInitiators.put(iteration, weldInitiator);
+                }
+                if (profile != null) {
+                    profile.start(ContainerProfile.Phase.TEST);
+                }
+                invocation.proceed();
+            } finally {
+                if (iteration == null) {
+                    sharedWeldInitiator = null;
+                } else {
+                    iterationWeldInitiators.remove(iteration);
+                }
+                if (profile != null) {
+                    profile.stop(ContainerProfile.Phase.TEST);
+                }
+                if (AsyncContainerShutdown.isEnabled()) {
+                    pendingShutdowns.add(weldInitiator.shutdownWeldAsync(getOwner(invocation)));
+                } else {
+                    weldInitiator.shutdownWeld();
+                }
+                weldInitiator.setProfile(null);
+                weldInitiator.setTestId(null);
+                // the resolutions must not keep the container alive
+                injectionPlans.forEach(InjectionPlan::reset);
+            }
         } finally {
-            weldInitiator.shutdownWeld();
+            // Spock offers no report entries, the profile is logged instead
+            ContainerProfiler.log(profile);
+            ContainerProfiler.finish(profile);
         }
     }
 
-    public IMethodInterceptor getTestInstanceInjector() {
-        return invocation -> {
-            Object testInstance = invocation.getInstance();
+    private void interceptGlobal(IMethodInvocation invocation) throws Throwable {
+        ContainerProfile profile = ContainerProfiler.start(getOwner(invocation));
+        try {
+            DeploymentFingerprint fingerprint = new DeploymentFingerprint();
+            WeldInitiator weldInitiator = weldInit(invocation, profile, fingerprint);
+            boolean reusable = fingerprint.isReusable();
+            WeldInitiator runningWeldInitiator = reusable ? globalContainers.acquire(fingerprint) : null;
+            if (runningWeldInitiator != null) {
+                weldInitiator = runningWeldInitiator;
+            }
+            weldInitiator.setProfile(profile);
+            weldInitiator.setTestId(getOwner(invocation));
+            if (runningWeldInitiator != null) {
+                weldInitiator.resumeWeld();
+            } else {
+                weldInitiator.initWeld(invocation.getInstance());
+            }
+            sharedWeldInitiator = weldInitiator;
+            boolean suspended = false;
+            // the shared instance is injected non-contextually, so that the container does not keep it after the spec
+            try (AutoCloseable sharedInstanceReleaser = weldInitiator.injectNonContextual(invocation.getSharedInstance())) {
+                if (profile != null) {
+                    profile.start(ContainerProfile.Phase.TEST);
+                }
+                invocation.proceed();
+            } finally {
+                sharedWeldInitiator = null;
+                if (profile != null) {
+                    profile.stop(ContainerProfile.Phase.TEST);
+                }
+                try {
+                    if (reusable) {
+                        weldInitiator.suspendWeld();
+                        suspended = true;
+                    }
+                } finally {
+                    // a container which could not be suspended cleanly is not returned to the pool, it is only shut down
+                    if (!suspended) {
+                        if (AsyncContainerShutdown.isEnabled()) {
+                            pendingShutdowns.add(weldInitiator.shutdownWeldAsync(getOwner(invocation)));
+                        } else {
+                            weldInitiator.shutdownWeld();
+                        }
+                    }
+                    weldInitiator.setProfile(null);
+                    weldInitiator.setTestId(null);
+                    // the resolutions must not keep the container alive
+                    injectionPlans.forEach(InjectionPlan::reset);
+                    // only released once this specification is done with it, as another one may take it right away
+                    if (suspended) {
+                        globalContainers.release(fingerprint, weldInitiator);
+                    }
+                }
+            }
+        } finally {
+            ContainerProfiler.log(profile);
+            ContainerProfiler.finish(profile);
+        }
+    }
 
-            WeldInitiator weldInitiator = weldInitiators.get(null);
+    private void interceptRecycling(IMethodInvocation invocation) throws Throwable {
+        ContainerProfile profile = ContainerProfiler.start(getOwner(invocation));
+        try {
+            WeldInitiator weldInitiator = idleWeldInitiators.pollFirst();
+            // all iterations have the same deployment, so there is no idle container if it cannot be recycled
+            boolean recyclable = true;
             if (weldInitiator == null) {
-                weldInitiator = weldInitiators.get(testInstance);
+                DeploymentFingerprint fingerprint = new DeploymentFingerprint();
+                weldInitiator = weldInit(invocation, profile, fingerprint);
+                recyclable = isRecyclable(fingerprint);
+                weldInitiator.setProfile(profile);
+                weldInitiator.setTestId(getOwner(invocation));
+                weldInitiator.addObjectToInjectInto(invocation.getSharedInstance());
+                weldInitiator.initWeld(invocation.getInstance());
+                if (recyclable) {
+                    recycledWeldInitiators.add(weldInitiator);
+                }
+            } else {
+                weldInitiator.setProfile(profile);
+                weldInitiator.setTestId(getOwner(invocation));
+                recycle(invocation, weldInitiator);
+                weldInitiator.resumeWeld();
             }
+            IterationInfo iteration = invocation.getIteration();
+            Collection<Instance.Handle<?>> dependents = new ConcurrentLinkedQueue<>();
+            iterationDependents.put(iteration, dependents);
+            iterationWeldInitiators.put(iteration, weldInitiator);
+            boolean suspended = false;
+            try {
+                if (profile != null) {
+                    profile.start(ContainerProfile.Phase.TEST);
+                }
+                invocation.proceed();
+            } finally {
+                iterationWeldInitiators.remove(iteration);
+                iterationDependents.remove(iteration);
+                if (profile != null) {
+                    profile.stop(ContainerProfile.Phase.TEST);
+                }
+                try {
+                    dependents.forEach(Instance.Handle::destroy);
+                    if (recyclable) {
+                        weldInitiator.suspendWeld();
+                        suspended = true;
+                    } else if (AsyncContainerShutdown.isEnabled()) {
+                        pendingShutdowns.add(weldInitiator.shutdownWeldAsync(getOwner(invocation)));
+                    } else {
+                        weldInitiator.shutdownWeld();
+                    }
+                } finally {
+                    weldInitiator.setProfile(null);
+                    weldInitiator.setTestId(null);
+                    // a container which could not be suspended cleanly is not recycled, it is only shut down
+                    if (suspended) {
+                        idleWeldInitiators.addFirst(weldInitiator);
+                    } else if (!recyclable) {
+                        // the resolutions must not keep the container alive
+                        injectionPlans.forEach(InjectionPlan::reset);
+                    }
+                }
+            }
+        } finally {
+            ContainerProfiler.log(profile);
+            ContainerProfiler.finish(profile);
+        }
+    }
+
+    /**
+     *
+     * @return the interceptor around a feature shutting down the containers recycled for its iterations
+     * @see #recycleContainers()
+     */
+    public IMethodInterceptor getRecycledContainersShutdown() {
+        return invocation -> {
+            try {
+                invocation.proceed();
+            } finally {
+                idleWeldInitiators.clear();
+                RuntimeException failure = null;
+                WeldInitiator weldInitiator;
+                while ((weldInitiator = recycledWeldInitiators.poll()) != null) {
+                    try {
+                        if (AsyncContainerShutdown.isEnabled()) {
+                            pendingShutdowns.add(weldInitiator.shutdownWeldAsync(getOwner(invocation)));
+                        } else {
+                            weldInitiator.shutdownWeld();
+                        }
+                    } catch (RuntimeException e) {
+                        if (failure == null) {
+                            failure = e;
+                        } else {
+                            failure.addSuppressed(e);
+                        }
+                    }
+                }
+                // the resolutions must not keep the containers alive
+                injectionPlans.forEach(InjectionPlan::reset);
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+        };
+    }
+
+    /**
+     * Waits for the containers of this interceptor which are shut down asynchronously.
+     *
+     * @throws IllegalStateException if any of the shutdowns failed
+     */
+    public void awaitPendingShutdowns() {
+        pendingShutdowns.await();
+    }
+
+    /**
+     *
+     * @param invocation
+     * @return the sole initiator of this interceptor in case it is around a specification or feature, or the initiator of the
+     *         current iteration, or {@code null} if this interceptor has no running container for the invocation
+     */
+    private WeldInitiator getWeldInitiator(IMethodInvocation invocation) {
+        WeldInitiator weldInitiator = sharedWeldInitiator;
+        if (weldInitiator == null && invocation.getIteration() != null) {
+            weldInitiator = iterationWeldInitiators.get(invocation.getIteration());
+        }
+        return weldInitiator;
+    }
+
+    static String getOwner(IMethodInvocation invocation) {
+        if (invocation.getIteration() != null) {
+            return invocation.getIteration().getDisplayName();
+        }
+        if (invocation.getFeature() != null) {
+            return invocation.getFeature().getDisplayName();
+        }
+        return invocation.getSpec().getDisplayName();
+    }
+
+    public IMethodInterceptor getTestInstanceInjector() {
+        return invocation -> {
+            Object testInstance = invocation.getInstance();
+            WeldInitiator weldInitiator = getWeldInitiator(invocation);
 
             try (AutoCloseable contextReleaser = weldInitiator.injectNonContextual(testInstance)) {
                 invocation.proceed();
@@ -91,7 +397,69 @@ abstract class EnableWeldInterceptor implements IMethodInterceptor {
         handledFeatures.add(feature);
     }
 
-    public IMethodInterceptor getParameterInjector(boolean explicitParamInjection) {
+    /**
+     *
+     * @param invocations the number of concurrent invocations
+     * @return the interceptor running the feature method the given number of times concurrently
+     * @see org.jboss.weld.spock.ConcurrentInvocations
+     */
+    public IMethodInterceptor getConcurrentInvoker(int invocations) {
+        return invocation -> {
+            WeldInitiator weldInitiator = getWeldInitiator(invocation);
+
+            // the feature method is invoked directly on each of the threads instead of proceeding
+            MockController mockController = getMockController(invocation);
+            ConcurrentInvoker.invoke(invocations, invocation.getFeature().getName(),
+                    weldInitiator::activateConcurrentInvocationContexts,
+                    () -> invokeFeatureMethod(invocation, mockController));
+            mockController.leaveScope();
+        };
+    }
+
+    /**
+     *
+     * @param benchmarkRunner the configured runner
+     * @return the interceptor benchmarking the feature method and logging the result
+     * @see org.jboss.weld.spock.WeldBenchmark
+     */
+    public IMethodInterceptor getBenchmarkRunner(BenchmarkRunner benchmarkRunner) {
+        return invocation -> {
+            WeldInitiator weldInitiator = getWeldInitiator(invocation);
+
+            // the feature method is invoked directly on each of the threads instead of proceeding
+            MockController mockController = getMockController(invocation);
+            BenchmarkResult result = benchmarkRunner.run(weldInitiator, invocation.getFeature().getName(),
+                    () -> invokeFeatureMethod(invocation, mockController));
+            mockController.leaveScope();
+            // Spock offers no report entries, the result is logged instead
+            LOGGER.log(Level.INFO, "Weld benchmark of {0}: {1}", new Object[] { getOwner(invocation), result });
+        };
+    }
+
+    private static MockController getMockController(IMethodInvocation invocation) {
+        return (MockController) ((Specification) invocation.getInstance()).getSpecificationContext().getMockController();
+    }
+
+    /**
+     * Invokes the feature method once more for the current iteration. Spock enters the root interaction scope of the
+     * iteration before the feature method and the feature method leaves it when it returns, so each invocation enters a
+     * scope of its own and the caller leaves the root scope once all invocations returned. The scopes of invocations
+     * running at the same time are not kept apart, so the feature must not declare interactions itself.
+     */
+    private static void invokeFeatureMethod(IMethodInvocation invocation, MockController mockController)
+            throws Throwable {
+        mockController.enterScope();
+        invocation.getMethod().invoke(invocation.getTarget(), invocation.getArguments());
+    }
+
+    /**
+     *
+     * @param injectionPlan the plan of the method the injector is attached to
+     * @param explicitParamInjection whether only parameters with qualifiers are injected
+     * @return the interceptor injecting the parameters of the method
+     */
+    public IMethodInterceptor getParameterInjector(InjectionPlan injectionPlan, boolean explicitParamInjection) {
+        injectionPlans.add(injectionPlan);
         return invocation -> {
             // this is necessary so that a specification scoped interceptor
             // does not inject into a feature or iteration scoped fixture method call
@@ -103,21 +471,13 @@ abstract class EnableWeldInterceptor implements IMethodInterceptor {
             }
 
             // only continue if there still are missing arguments
-            if (Arrays.stream(invocation.getArguments())
-                    .noneMatch(argument -> argument == MISSING_ARGUMENT)) {
+            Object[] arguments = invocation.getArguments();
+            if (!injectionPlan.hasMissingArguments(arguments)) {
                 invocation.proceed();
                 return;
             }
 
-            Object testInstance = invocation.getInstance();
-
-            // get the sole weld initiator of this interceptor
-            // in case it is around a specification or parameterized feature
-            WeldInitiator weldInitiator = weldInitiators.get(null);
-            // or get the weld initiator for the current iteration
-            if (weldInitiator == null) {
-                weldInitiator = weldInitiators.get(testInstance);
-            }
+            WeldInitiator weldInitiator = getWeldInitiator(invocation);
             // the fixture method interceptors for all features are triggered for each iteration
             // so if there are multiple features not all have a matching initiator of course
             if (weldInitiator == null) {
@@ -125,36 +485,10 @@ abstract class EnableWeldInterceptor implements IMethodInterceptor {
                 return;
             }
 
-            BeanManager beanManager = weldInitiator.getBeanManager();
-            Parameter[] parameters = invocation.getMethod().getReflection().getParameters();
-            Object[] arguments = invocation.getArguments();
-            for (int i = 0; i < arguments.length; i++) {
-                Object argument = arguments[i];
-                if (argument != MISSING_ARGUMENT) {
-                    continue;
-                }
-
-                Parameter parameter = parameters[i];
-                List<Annotation> qualifiers = Arrays
-                        .stream(parameter.getAnnotations())
-                        .filter(annotation -> beanManager.isQualifier(annotation.annotationType()))
-                        .collect(toList());
-
-                if (explicitParamInjection) {
-                    if (qualifiers.isEmpty()) {
-                        continue;
-                    }
-                    arguments[i] = weldInitiator
-                            .select(parameter.getType(), qualifiers.toArray(new Annotation[0]))
-                            .get();
-                } else {
-                    WeldInstance<?> candidates = weldInitiator
-                            .select(parameter.getType(), qualifiers.toArray(new Annotation[0]));
-                    if (candidates.isResolvable()) {
-                        arguments[i] = candidates.get();
-                    }
-                }
-            }
+            // the dependent objects of a recycled container are destroyed after the iteration
+            IterationInfo iteration = invocation.getIteration();
+            Collection<Instance.Handle<?>> dependents = (iteration == null) ? null : iterationDependents.get(iteration);
+            injectionPlan.inject(weldInitiator, arguments, explicitParamInjection, dependents);
 
             invocation.proceed();
         };
@@ -24,6 +24,9 @@ import static java.util.stream.Collectors.toList;
 import java.util.List;
 
 import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.junit.ClassIndex;
+import org.jboss.weld.junit.ContainerProfile;
+import org.jboss.weld.junit.DeploymentFingerprint;
 import org.jboss.weld.spock.EnableWeld;
 import org.jboss.weld.spock.WeldInitiator;
 import org.jboss.weld.spock.WeldSetup;
@@ -39,9 +42,9 @@ import spock.lang.Specification;
  * A Spock interceptor that is used for manual configuration of the booted Weld container.
  *
  * <p>
- * If the interceptor is for scope {@code SPECIFICATION}, or for a data-driven feature with scope {@code FEATURE},
- * {@link Shared @Shared} fields of the specification and its super specifications are searched for exactly one
- * field that is annotated with {@link WeldSetup @WeldSetup}.
+ * If the interceptor is for scope {@code SPECIFICATION} or {@code GLOBAL}, or for a data-driven feature with scope
+ * {@code FEATURE}, {@link Shared @Shared} fields of the specification and its super specifications are searched for
+ * exactly one field that is annotated with {@link WeldSetup @WeldSetup}.
  *
  * <p>
  * If multiple such fields are found, an exception is thrown.
@@ -67,34 +70,45 @@ class EnableWeldManualInterceptor extends EnableWeldInterceptor {
     }
 
     @Override
-    protected WeldInitiator weldInit(IMethodInvocation invocation) {
+    protected WeldInitiator weldInit(IMethodInvocation invocation, ContainerProfile profile,
+            DeploymentFingerprint fingerprint) {
         Specification spec = (Specification) invocation.getInstance();
         boolean shared = spec == invocation.getSharedInstance();
 
-        List<FieldInfo> weldSetupFields = invocation
-                .getSpec()
-                .getAllFields()
-                .stream()
-                .filter(field -> (field.isShared() || field.isStatic()) == shared)
-                .filter(field -> field.isAnnotationPresent(WeldSetup.class))
-                .collect(toList());
+        List<FieldInfo> weldSetupFields = getWeldSetupFields(invocation, shared);
 
         switch (weldSetupFields.size()) {
             case 0:
                 Weld weld = WeldInitiator.createWeld();
                 WeldInitiator.Builder builder = WeldInitiator.from(weld);
 
-                weld.addPackage(false, invocation.getSpec().getReflection());
+                ClassIndex.addPackage(weld, false, invocation.getSpec().getReflection());
+                if (fingerprint != null) {
+                    fingerprint.add(DeploymentFingerprint.OPTION, getClass().getName());
+                    fingerprint.add(DeploymentFingerprint.PACKAGE,
+                            invocation.getSpec().getReflection().getPackage().getName());
+                }
 
                 // Apply discovered enrichers
-                for (WeldSpockEnricher enricher : weldSpockEnrichers) {
-                    String property = System.getProperty(enricher.getClass().getName());
-                    if (property == null || Boolean.parseBoolean(property)) {
-                        enricher.enrich(shared ? null : spec, weld, builder);
+                ContainerProfile.run(profile, ContainerProfile.Phase.ENRICHMENT, () -> {
+                    for (WeldSpockEnricher enricher : weldSpockEnrichers) {
+                        String property = System.getProperty(enricher.getClass().getName());
+                        if (property == null || Boolean.parseBoolean(property)) {
+                            // a shared or recycled container is enriched without a specification instance, so the
+                            // contribution of an enricher does not depend on the specification
+                            enricher.enrich((shared || fingerprint != null) ? null : spec, weld, builder);
+                            if (fingerprint != null) {
+                                fingerprint.add(DeploymentFingerprint.ENRICHER, enricher.getClass());
+                            }
+                        }
                     }
-                }
+                });
 
-                return builder.build();
+                WeldInitiator weldInitiator = builder.build();
+                if (fingerprint != null) {
+                    weldInitiator.addConfigurationToFingerprint(fingerprint);
+                }
+                return weldInitiator;
 
             case 1:
                 FieldInfo weldSetupField = weldSetupFields.get(0);
@@ -108,6 +122,10 @@ class EnableWeldManualInterceptor extends EnableWeldInterceptor {
                             ((weldSetupCandidate == null) ? "null" : weldSetupCandidate.getClass()),
                             weldSetupField.getParent().getDisplayName()));
                 }
+                if (fingerprint != null) {
+                    // an arbitrary initiator cannot be described independently of the specification
+                    fingerprint.markNotReusable();
+                }
                 return (WeldInitiator) weldSetupCandidate;
 
             default:
@@ -119,4 +137,34 @@ class EnableWeldManualInterceptor extends EnableWeldInterceptor {
                                 "Multiple @WeldSetup annotated fields found, only one is allowed! Fields found:\n", "")));
         }
     }
+
+    /**
+     * The initiator of a {@link WeldSetup @WeldSetup} field cannot be shared with other specifications, but it can serve the
+     * later iterations of a feature, see {@link #recycle(IMethodInvocation, WeldInitiator)}.
+     */
+    @Override
+    protected boolean isRecyclable(DeploymentFingerprint fingerprint) {
+        return true;
+    }
+
+    /**
+     * Makes the recycled initiator the value of the {@link WeldSetup @WeldSetup} field of the new specification instance, so
+     * that the iteration refers to the running container instead of the unused initiator of its own instance.
+     */
+    @Override
+    protected void recycle(IMethodInvocation invocation, WeldInitiator weldInitiator) {
+        for (FieldInfo weldSetupField : getWeldSetupFields(invocation, false)) {
+            weldSetupField.writeValue(invocation.getInstance(), weldInitiator);
+        }
+    }
+
+    private static List<FieldInfo> getWeldSetupFields(IMethodInvocation invocation, boolean shared) {
+        return invocation
+                .getSpec()
+                .getAllFields()
+                .stream()
+                .filter(field -> (field.isShared() || field.isStatic()) == shared)
+                .filter(field -> field.isAnnotationPresent(WeldSetup.class))
+                .collect(toList());
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.spock.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.weld.junit.DeploymentFingerprint;
+import org.jboss.weld.spock.EnableWeld.Scope;
+import org.jboss.weld.spock.WeldInitiator;
+
+/**
+ * Run-wide pool of running containers of scope {@link Scope#GLOBAL GLOBAL} keyed by {@link DeploymentFingerprint}. A
+ * container is either leased by exactly one specification or idle, so specifications running in parallel never share a
+ * container at the same time.
+ *
+ * <p>
+ * The pool is held by the {@link EnableWeldExtension} and all containers are shut down once Spock stops it, i.e. after
+ * all specifications were executed. The idle containers are also shut down before an {@link spock.lang.Isolated @Isolated}
+ * specification, so that {@link org.jboss.weld.environment.se.WeldContainer#current()} works there as without pool.
+ *
+ * @see Scope#GLOBAL
+ */
+class GlobalContainers {
+    private static final Logger LOGGER = Logger.getLogger(GlobalContainers.class.getName());
+
+    private final Map<DeploymentFingerprint, Deque<WeldInitiator>> idleInitiators = new HashMap<>();
+    private final List<WeldInitiator> allInitiators = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     *
+     * @param fingerprint
+     * @return an idle initiator with a running container for the given fingerprint or {@code null} if there is none
+     */
+    synchronized WeldInitiator acquire(DeploymentFingerprint fingerprint) {
+        Deque<WeldInitiator> initiators = idleInitiators.get(fingerprint);
+        while ((initiators != null) && !initiators.isEmpty()) {
+            WeldInitiator initiator = initiators.pollFirst();
+            if (initiator.isRunning()) {
+                return initiator;
+            }
+            allInitiators.remove(initiator);
+        }
+        return null;
+    }
+
+    /**
+     * Returns a suspended initiator to the pool. If the pool was already closed, the container is shut down right away.
+     *
+     * @param fingerprint
+     * @param initiator
+     */
+    void release(DeploymentFingerprint fingerprint, WeldInitiator initiator) {
+        synchronized (this) {
+            if (!closed) {
+                if (!allInitiators.contains(initiator)) {
+                    allInitiators.add(initiator);
+                }
+                idleInitiators.computeIfAbsent(fingerprint, key -> new ArrayDeque<>()).addFirst(initiator);
+                return;
+            }
+        }
+        initiator.shutdownWeld();
+    }
+
+    /**
+     * Shuts down the idle containers of the pool, e.g. before an isolated specification which expects its own container to
+     * be the only one running.
+     */
+    void shutdownIdle() {
+        List<WeldInitiator> toShutdown = new ArrayList<>();
+        synchronized (this) {
+            idleInitiators.values().forEach(toShutdown::addAll);
+            idleInitiators.clear();
+            allInitiators.removeAll(toShutdown);
+        }
+        for (WeldInitiator initiator : toShutdown) {
+            try {
+                initiator.shutdownWeld();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Unable to shut down global Weld container", e);
+            }
+        }
+    }
+
+    /**
+     * Shuts down all containers of the pool.
+     */
+    void close() {
+        List<WeldInitiator> toShutdown;
+        synchronized (this) {
+            closed = true;
+            toShutdown = new ArrayList<>(allInitiators);
+            allInitiators.clear();
+            idleInitiators.clear();
+        }
+        for (WeldInitiator initiator : toShutdown) {
+            try {
+                initiator.shutdownWeld();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Unable to shut down global Weld container", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.spock.impl;
+
+import static org.spockframework.runtime.model.MethodInfo.MISSING_ARGUMENT;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.inject.WeldInstance;
+import org.jboss.weld.spock.WeldInitiator;
+import org.spockframework.runtime.model.MethodInfo;
+
+/**
+ * The parameters of a fixture or feature method which may be injected by Weld, computed once when the specification is
+ * visited. The qualifiers and the selected instances of the parameters are cached for the container the method was last
+ * invoked with, so that the iterations of a data-driven feature sharing a container only look up the beans once. The
+ * cache is reset once the container is shut down.
+ *
+ * @see EnableWeldInterceptor#getParameterInjector(InjectionPlan, boolean)
+ */
+final class InjectionPlan {
+
+    private final int[] indexes;
+    private final Class<?>[] types;
+    private final Annotation[][] annotations;
+
+    private volatile Resolutions resolutions;
+
+    private InjectionPlan(int[] indexes, Class<?>[] types, Annotation[][] annotations) {
+        this.indexes = indexes;
+        this.types = types;
+        this.annotations = annotations;
+    }
+
+    /**
+     *
+     * @param method
+     * @return the plan of the given method, or {@code null} if it has no parameters which could be injected
+     */
+    static InjectionPlan of(MethodInfo method) {
+        Parameter[] parameters = method.getReflection().getParameters();
+        Set<String> dataVariables = method.getFeature() == null
+                ? Set.of()
+                : new HashSet<>(method.getFeature().getDataVariables());
+        // only attach if there could be injectable arguments
+        if (parameters.length <= dataVariables.size()) {
+            return null;
+        }
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < parameters.length; i++) {
+            // if the parameter names were not compiled in, a data variable is only recognized at invocation time
+            if (!parameters[i].isNamePresent() || !dataVariables.contains(parameters[i].getName())) {
+                candidates.add(i);
+            }
+        }
+        int[] indexes = new int[candidates.size()];
+        Class<?>[] types = new Class<?>[indexes.length];
+        Annotation[][] annotations = new Annotation[indexes.length][];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = candidates.get(i);
+            types[i] = parameters[indexes[i]].getType();
+            annotations[i] = parameters[indexes[i]].getAnnotations();
+        }
+        return new InjectionPlan(indexes, types, annotations);
+    }
+
+    /**
+     *
+     * @param arguments the arguments of an invocation of the method
+     * @return <code>true</code> if any of the parameters of this plan is still missing an argument, <code>false</code>
+     *         otherwise
+     */
+    boolean hasMissingArguments(Object[] arguments) {
+        for (int index : indexes) {
+            if (arguments[index] == MISSING_ARGUMENT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Injects all parameters which are still missing an argument.
+     *
+     * @param weldInitiator the initiator with the running container
+     * @param arguments the arguments of an invocation of the method
+     * @param explicitParamInjection whether only parameters with qualifiers are injected
+     * @param dependents collects the handles of the injected {@link Dependent} objects, which are then destroyed by the
+     *        caller rather than by the container shutdown, may be {@code null}
+     */
+    void inject(WeldInitiator weldInitiator, Object[] arguments, boolean explicitParamInjection,
+            Collection<Instance.Handle<?>> dependents) {
+        Resolutions current = getResolutions(weldInitiator);
+        for (int i = 0; i < indexes.length; i++) {
+            if (arguments[indexes[i]] != MISSING_ARGUMENT) {
+                continue;
+            }
+            if (explicitParamInjection) {
+                if (current.qualifiers[i].length == 0) {
+                    continue;
+                }
+                arguments[indexes[i]] = get(current.getInstance(weldInitiator, i), dependents);
+            } else {
+                WeldInstance<?> candidates = current.getInstance(weldInitiator, i);
+                if (candidates.isResolvable()) {
+                    arguments[indexes[i]] = get(candidates, dependents);
+                }
+            }
+        }
+    }
+
+    private static Object get(WeldInstance<?> instance, Collection<Instance.Handle<?>> dependents) {
+        if (dependents == null) {
+            return instance.get();
+        }
+        Instance.Handle<?> handle = instance.getHandle();
+        Object object = handle.get();
+        if (handle.getBean().getScope() == Dependent.class) {
+            dependents.add(handle);
+        }
+        return object;
+    }
+
+    /**
+     * Drops the resolutions of a container which was shut down.
+     */
+    void reset() {
+        resolutions = null;
+    }
+
+    Resolutions getResolutions(WeldInitiator weldInitiator) {
+        WeldContainer container = weldInitiator.container();
+        Resolutions current = resolutions;
+        if (current == null || current.container != container) {
+            current = new Resolutions(container);
+            resolutions = current;
+        }
+        return current;
+    }
+
+    /**
+     * The resolutions of the parameters for a single container, identified by the {@link WeldContainer} itself as Weld SE
+     * returns a new {@link BeanManager} proxy on each call.
+     */
+    final class Resolutions {
+
+        private final WeldContainer container;
+        private final Annotation[][] qualifiers;
+        private final AtomicReferenceArray<WeldInstance<?>> instances;
+
+        private Resolutions(WeldContainer container) {
+            this.container = container;
+            BeanManager beanManager = container.getBeanManager();
+            this.qualifiers = new Annotation[indexes.length][];
+            for (int i = 0; i < indexes.length; i++) {
+                List<Annotation> parameterQualifiers = new ArrayList<>();
+                for (Annotation annotation : annotations[i]) {
+                    if (beanManager.isQualifier(annotation.annotationType())) {
+                        parameterQualifiers.add(annotation);
+                    }
+                }
+                qualifiers[i] = parameterQualifiers.toArray(new Annotation[0]);
+            }
+            this.instances = new AtomicReferenceArray<>(indexes.length);
+        }
+
+        private WeldInstance<?> getInstance(WeldInitiator weldInitiator, int i) {
+            WeldInstance<?> instance = instances.get(i);
+            if (instance == null) {
+                instance = weldInitiator.select(types[i], qualifiers[i]);
+                instances.set(i, instance);
+            }
+            return instance;
+        }
+
+    }
+
+}
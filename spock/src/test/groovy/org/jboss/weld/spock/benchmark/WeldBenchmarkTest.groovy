@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.spock.benchmark
+
+import java.util.concurrent.atomic.AtomicInteger
+
+import jakarta.enterprise.context.ApplicationScoped
+import jakarta.enterprise.context.RequestScoped
+import jakarta.inject.Inject
+import org.jboss.weld.spock.EnableWeld
+import org.jboss.weld.spock.WeldBenchmark
+import org.jboss.weld.spock.WeldInitiator
+import org.jboss.weld.spock.WeldSetup
+import spock.lang.Specification
+
+@EnableWeld
+class WeldBenchmarkTest extends Specification {
+    @WeldSetup
+    def weld = WeldInitiator
+            .from(Counter, RequestBean)
+            .activate(RequestScoped)
+            .build()
+
+    @Inject
+    Counter counter
+
+    @Inject
+    RequestBean requestBean
+
+    def setup() {
+        requestBean.value = 'test'
+    }
+
+    @WeldBenchmark(warmupIterations = 1, iterations = 2, operations = 100, threads = 2)
+    def 'benchmark threads should share the contexts of the iteration'() {
+        expect:
+            counter.increment() > 0
+            requestBean.value == 'test'
+    }
+
+    @WeldBenchmark(warmupIterations = 1, iterations = 2, operations = 100, threads = 2, activateContexts = true)
+    def 'benchmark threads should get fresh contexts'() {
+        expect:
+            counter.increment() > 0
+            requestBean.value == null
+    }
+
+    def cleanup() {
+        assert counter.get() == (1 + 2) * 100 * 2
+    }
+
+    @ApplicationScoped
+    static class Counter {
+        private final AtomicInteger count = new AtomicInteger()
+
+        int increment() {
+            count.incrementAndGet()
+        }
+
+        int get() {
+            count.get()
+        }
+    }
+
+    @RequestScoped
+    static class RequestBean {
+        volatile String value
+    }
+}
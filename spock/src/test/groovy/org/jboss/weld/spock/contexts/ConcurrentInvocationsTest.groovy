@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.spock.contexts
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+import jakarta.enterprise.context.ApplicationScoped
+import jakarta.enterprise.context.RequestScoped
+import jakarta.enterprise.context.SessionScoped
+import jakarta.inject.Inject
+import org.jboss.weld.spock.ConcurrentInvocations
+import org.jboss.weld.spock.EnableWeld
+import org.jboss.weld.spock.WeldInitiator
+import org.jboss.weld.spock.WeldSetup
+import spock.lang.Specification
+
+@EnableWeld
+class ConcurrentInvocationsTest extends Specification {
+    @WeldSetup
+    def weld = WeldInitiator
+            .from(Counter, RequestBean, SessionBean)
+            .activate(SessionScoped)
+            .build()
+
+    @Inject
+    Counter counter
+
+    @Inject
+    RequestBean requestBean
+
+    @Inject
+    SessionBean sessionBean
+
+    def threads = ConcurrentHashMap.newKeySet()
+
+    @ConcurrentInvocations(200)
+    def 'each invocation should get contexts of its own'() {
+        when:
+            threads.add(Thread.currentThread())
+            counter.increment()
+
+        then:
+            requestBean.thread == null
+            sessionBean.thread == null
+
+        when:
+            requestBean.thread = Thread.currentThread()
+            sessionBean.thread = Thread.currentThread()
+            Thread.yield()
+
+        then:
+            requestBean.thread.is(Thread.currentThread())
+            sessionBean.thread.is(Thread.currentThread())
+    }
+
+    def cleanup() {
+        assert counter.get() == 200
+        assert threads.size() == 200
+    }
+
+    @ApplicationScoped
+    static class Counter {
+        private final AtomicInteger count = new AtomicInteger()
+
+        void increment() {
+            count.incrementAndGet()
+        }
+
+        int get() {
+            count.get()
+        }
+    }
+
+    @RequestScoped
+    static class RequestBean {
+        volatile Thread thread
+    }
+
+    @SessionScoped
+    static class SessionBean implements Serializable {
+        volatile transient Thread thread
+    }
+}
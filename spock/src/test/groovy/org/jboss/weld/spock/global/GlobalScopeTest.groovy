@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.spock.global
+
+import java.util.concurrent.ConcurrentHashMap
+
+import jakarta.inject.Inject
+import org.jboss.weld.spock.EnableWeld
+import spock.lang.ResourceLock
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static org.jboss.weld.spock.EnableWeld.Scope.GLOBAL
+
+abstract class GlobalScopeTest extends Specification {
+    static final Set<String> GLOBAL_BEAN_IDS = ConcurrentHashMap.newKeySet()
+
+    @Inject
+    @Shared
+    GlobalBean sharedGlobalBean
+
+    @Inject
+    GlobalBean globalBean
+
+    def setupSpec() {
+        GLOBAL_BEAN_IDS << sharedGlobalBean.id
+    }
+
+    def 'specifications with the same deployment should share a container'() {
+        expect:
+            GLOBAL_BEAN_IDS.size() == 1
+            globalBean.id == sharedGlobalBean.id
+    }
+}
+
+// the lock makes the second specification take the container the first one returned to the pool
+@EnableWeld(scope = GLOBAL)
+@ResourceLock('org.jboss.weld.spock.global.GlobalScopeTest')
+class FirstGlobalScopeTest extends GlobalScopeTest {
+}
+
+@EnableWeld(scope = GLOBAL)
+@ResourceLock('org.jboss.weld.spock.global.GlobalScopeTest')
+class SecondGlobalScopeTest extends GlobalScopeTest {
+}
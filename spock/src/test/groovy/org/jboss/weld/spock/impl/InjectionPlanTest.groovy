@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.weld.spock.impl
+
+import java.lang.annotation.Annotation
+
+import jakarta.enterprise.context.ApplicationScoped
+
+import org.jboss.weld.spock.WeldInitiator
+import spock.lang.Specification
+
+import static org.spockframework.runtime.model.MethodInfo.MISSING_ARGUMENT
+
+class InjectionPlanTest extends Specification {
+    def 'resolutions should be cached for the container'() {
+        given:
+            def plan = new InjectionPlan([0] as int[], [CachedBean] as Class[], [[] as Annotation[]] as Annotation[][])
+            def weld = WeldInitiator.of(CachedBean)
+            weld.initWeld(this)
+
+        when:
+            def firstArguments = [MISSING_ARGUMENT] as Object[]
+            plan.inject(weld, firstArguments, false, null)
+            def firstResolutions = plan.getResolutions(weld)
+            def secondArguments = [MISSING_ARGUMENT] as Object[]
+            plan.inject(weld, secondArguments, false, null)
+
+        then: 'a new bean manager proxy does not invalidate the resolutions'
+            !weld.beanManager.is(weld.beanManager)
+            plan.getResolutions(weld).is(firstResolutions)
+            firstArguments[0] instanceof CachedBean
+
+        when:
+            weld.shutdownWeld()
+            weld.initWeld(this)
+
+        then: 'another container gets resolutions of its own'
+            !plan.getResolutions(weld).is(firstResolutions)
+
+        cleanup:
+            weld.shutdownWeld()
+    }
+
+    @ApplicationScoped
+    static class CachedBean {
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.spock.scope
+
+import java.util.concurrent.ConcurrentHashMap
+
+import jakarta.inject.Inject
+import org.jboss.weld.spock.EnableWeld
+import org.jboss.weld.spock.WeldInitiator
+import org.jboss.weld.spock.WeldSetup
+import spock.lang.Execution
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static org.spockframework.runtime.model.parallel.ExecutionMode.CONCURRENT
+
+@EnableWeld
+@Execution(CONCURRENT)
+class ParallelIterationsTest extends Specification {
+    @WeldSetup
+    def initiator = WeldInitiator.of(PlainBean)
+
+    @Inject
+    PlainBean fieldBean
+
+    @Shared
+    def containerIds = ConcurrentHashMap.newKeySet()
+
+    def 'each parallel iteration should be injected from its own container'(int i, PlainBean plainBean) {
+        given:
+            containerIds << initiator.container().id
+            Thread.sleep(10)
+
+        expect:
+            fieldBean.toString() == initiator.select(PlainBean).get().toString()
+            plainBean.toString() == fieldBean.toString()
+
+        where:
+            i << (1..16)
+    }
+
+    def cleanupSpec() {
+        assert containerIds.size() == 16
+    }
+}
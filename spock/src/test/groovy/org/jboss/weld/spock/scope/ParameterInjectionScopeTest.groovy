@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.spock.scope
+
+import org.jboss.weld.environment.se.Weld
+import org.jboss.weld.spock.EnableWeld
+import org.jboss.weld.spock.WeldInitiator
+import org.jboss.weld.spock.WeldSetup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static org.jboss.weld.spock.EnableWeld.Scope.FEATURE
+
+class ParameterInjectionScopeTest extends Specification {
+    @WeldSetup
+    def initiator = WeldInitiator.of(new Weld(String.valueOf(System.nanoTime()))
+            .disableDiscovery().addBeanClass(PlainBean))
+
+    @Shared
+    def featureBeans = []
+
+    @Shared
+    def iterationBeans = []
+
+    @EnableWeld(scope = FEATURE)
+    def 'all iterations should get the bean of the same container with scope FEATURE'(int i, PlainBean plainBean) {
+        given:
+            featureBeans << plainBean.toString()
+
+        expect:
+            featureBeans.unique(false).size() == 1
+
+        where:
+            i << (1..3)
+    }
+
+    @EnableWeld
+    def 'each iteration should get the bean of its own container with scope ITERATION'(int i, PlainBean plainBean) {
+        given:
+            iterationBeans << plainBean.toString()
+
+        expect:
+            iterationBeans.unique(false).size() == i
+
+        where:
+            i << (1..3)
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.spock.scope
+
+import jakarta.enterprise.event.Event
+import jakarta.enterprise.event.Observes
+import jakarta.enterprise.inject.spi.BeanManager
+import jakarta.inject.Inject
+import org.jboss.weld.bean.builtin.BeanManagerProxy
+import org.jboss.weld.spock.EnableWeld
+import spock.lang.Execution
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static org.spockframework.runtime.model.parallel.ExecutionMode.SAME_THREAD
+
+/**
+ * The specification declares an observer, so it has to be a bean bound to the instance of each iteration and the
+ * containers cannot be recycled.
+ */
+@EnableWeld(automagic = true, recycleContainer = true)
+@Execution(SAME_THREAD)
+class RecycleContainerObserverTest extends Specification {
+    @Inject
+    Event<Ping> event
+
+    @Inject
+    BeanManager beanManager
+
+    @Shared
+    def containerIds = []
+
+    def pings = []
+
+    def 'iterations should not be served by a container bound to another specification instance'(int i) {
+        given:
+            containerIds << BeanManagerProxy.unwrap(beanManager).contextId
+
+        when:
+            event.fire(new Ping())
+
+        then:
+            pings.size() == 1
+
+        where:
+            i << (1..5)
+    }
+
+    def cleanupSpec() {
+        assert containerIds.unique().size() == 5
+    }
+
+    void observe(@Observes Ping ping) {
+        pings << ping
+    }
+
+    static class Ping {
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.spock.scope
+
+import jakarta.enterprise.context.RequestScoped
+import jakarta.inject.Inject
+import org.jboss.weld.spock.EnableWeld
+import org.jboss.weld.spock.WeldInitiator
+import org.jboss.weld.spock.WeldSetup
+import org.jboss.weld.spock.contexts.Foo
+import spock.lang.Execution
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static org.spockframework.runtime.model.parallel.ExecutionMode.SAME_THREAD
+
+@EnableWeld(recycleContainer = true)
+@Execution(SAME_THREAD)
+class RecycleContainerTest extends Specification {
+    @WeldSetup
+    def weld = WeldInitiator
+            .from(Foo, PlainBean, DependentBean)
+            .activate(RequestScoped)
+            .build()
+
+    @Inject
+    PlainBean plainBean
+
+    @Shared
+    def containerIds = []
+
+    @Shared
+    def plainBeans = []
+
+    @Shared
+    def fooIds = []
+
+    def 'iterations should be served by a recycled container'(int i, DependentBean dependentBean) {
+        given:
+            containerIds << weld.container().id
+            plainBeans << plainBean.toString()
+            fooIds << weld.select(Foo).get().id
+
+        expect:
+            weld.isRunning()
+            dependentBean != null
+            DependentBean.DESTROYED.get() == i - 1
+
+        where:
+            i << (1..5)
+    }
+
+    def cleanupSpec() {
+        assert containerIds.unique().size() == 1
+        assert plainBeans.unique().size() == 1
+        assert fooIds.unique().size() == 5
+        assert DependentBean.DESTROYED.get() == 5
+    }
+}